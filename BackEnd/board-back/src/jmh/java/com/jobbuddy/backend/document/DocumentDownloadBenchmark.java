@@ -0,0 +1,116 @@
+package com.jobbuddy.backend.document;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다운로드 한 건이 힙에 올리는 양 (gc 프로파일러의 gc.alloc.rate.norm, 8 스레드 동시 다운로드).
+ *  - byteArrayResource   : 예전 방식 (ByteArrayOutputStream → toByteArray → ByteArrayResource → 응답으로 복사)
+ *  - renderThroughSpill  : 렌더링을 SpillingOutputStream 으로 (threshold 를 넘으면 파일로)
+ *  - streamFromMemory    : 메모리 캐시 hit 를 응답으로 씀
+ *  - streamFromDisk      : 디스크 캐시 hit 를 FileChannel.transferTo 로 씀
+ *  - rangeFromDisk       : 뒤쪽 1/4 만 이어받기 (Range)
+ * 응답 스트림은 버리는 스트림으로 대신함. 본문 길이(chars)를 바꿔 가며 큰 파일일수록 차이가 벌어지는지 확인.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class DocumentDownloadBenchmark {
+
+    private static final String FONT_PATH = "/fonts/NanumGothicLight.ttf";
+
+    @Param({"5000", "200000"})
+    public int chars;
+
+    private PdfFontPool fontPool;
+    private PdfCoverLetterRenderer renderer;
+    private String text;
+    private Path dir;
+    private RenderedDocument inMemory;
+    private RenderedDocument onDisk;
+
+    @Setup
+    public void setUp() throws IOException {
+        fontPool = new PdfFontPool(FONT_PATH, 8, 10_000);
+        renderer = new PdfCoverLetterRenderer(fontPool);
+        StringBuilder sb = new StringBuilder("제목: 백엔드 개발자 지원\n\n");
+        while (sb.length() < chars) {
+            sb.append("저는 팀 프로젝트에서 API 서버를 맡아 응답 시간을 줄이는 작업을 했습니다. ");
+            if (sb.length() % 1000 < 40) {
+                sb.append("\n\n");
+            }
+        }
+        text = sb.toString();
+
+        dir = Files.createTempDirectory("download-bench");
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        renderer.render(text, rendered);
+        byte[] bytes = rendered.toByteArray();
+        DocumentKey key = new DocumentKey(1L, LocalDateTime.now(), null, "pdf");
+        inMemory = RenderedDocument.inMemory(key, bytes);
+        Path file = Files.write(dir.resolve(key.fileName()), bytes);
+        onDisk = RenderedDocument.onDisk(key, file, bytes.length);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public long byteArrayResource() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderer.render(text, baos);
+        byte[] bytes = baos.toByteArray();
+        try (InputStream in = new ByteArrayResource(bytes).getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public long renderThroughSpill() throws IOException {
+        SpillingOutputStream out = new SpillingOutputStream(dir, 64 * 1024);
+        try {
+            renderer.render(text, out);
+            out.close();
+            return out.size();
+        } finally {
+            out.discard();
+        }
+    }
+
+    @Benchmark
+    public long streamFromMemory() throws IOException {
+        inMemory.writeTo(OutputStream.nullOutputStream(), 0, inMemory.length());
+        return inMemory.length();
+    }
+
+    @Benchmark
+    public long streamFromDisk() throws IOException {
+        onDisk.writeTo(OutputStream.nullOutputStream(), 0, onDisk.length());
+        return onDisk.length();
+    }
+
+    @Benchmark
+    public long rangeFromDisk() throws IOException {
+        long start = onDisk.length() * 3 / 4;
+        long count = onDisk.length() - start;
+        onDisk.writeTo(OutputStream.nullOutputStream(), start, count);
+        return count;
+    }
+}
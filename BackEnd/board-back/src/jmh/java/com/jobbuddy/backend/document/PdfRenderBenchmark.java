@@ -0,0 +1,88 @@
+package com.jobbuddy.backend.document;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 다운로드 한 건의 렌더링 비용 (할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 확인).
+ *  - loadFontPerDocument : 예전 방식 (요청마다 TTF 를 읽고 PDType0Font.load(document, stream, true))
+ *  - pooledFont          : PdfFontPool 에서 파싱된 폰트를 빌려 subset 만 (줄바꿈 + 여러 페이지)
+ *  - layoutOnly          : 줄바꿈 / 페이지 계산만 (PdfTextLayout)
+ * 본문은 5문항, 5,000자 정도의 자소서.
+ * loadFontPerDocument 는 예전처럼 한 페이지에 줄바꿈 없이 그리므로 페이지 수 차이만큼은 pooledFont 가 불리함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfRenderBenchmark {
+
+    private static final String FONT_PATH = "/fonts/NanumGothicLight.ttf";
+
+    private PdfFontPool fontPool;
+    private PdfCoverLetterRenderer renderer;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        fontPool = new PdfFontPool(FONT_PATH, 1, 10_000);
+        renderer = new PdfCoverLetterRenderer(fontPool);
+        StringBuilder sb = new StringBuilder("제목: 백엔드 개발자 지원\n\n");
+        for (int q = 1; q <= 5; q++) {
+            sb.append(q).append(". 지원 동기와 입사 후 포부를 작성해 주십시오.\n");
+            int end = sb.length() + 1000;
+            while (sb.length() < end) {
+                sb.append("저는 팀 프로젝트에서 API 서버를 맡아 응답 시간을 줄이는 작업을 했습니다. ");
+            }
+            sb.append("\n\n");
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public byte[] loadFontPerDocument() throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+
+            InputStream fontStream = getClass().getResourceAsStream(FONT_PATH);
+            PDType0Font font = PDType0Font.load(document, fontStream, true);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(font, 11);
+                contentStream.setLeading(14.5f);
+                contentStream.newLineAtOffset(50, 750);
+                for (String line : text.split("\\r?\\n")) {
+                    contentStream.showText(line);
+                    contentStream.newLine();
+                }
+                contentStream.endText();
+            }
+
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] pooledFont() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(text, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public PdfTextLayout layoutOnly() {
+        return PdfTextLayout.layout(text, fontPool.glyphWidths(), 11f, 495f, 51);
+    }
+}
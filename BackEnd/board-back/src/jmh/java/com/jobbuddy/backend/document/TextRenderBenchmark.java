@@ -0,0 +1,60 @@
+package com.jobbuddy.backend.document;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 텍스트 계열 렌더러(html / md / txt) 한 번에 걸리는 시간 (마이크로초, 할당량은 gc.alloc.rate.norm).
+ * 본문은 DocxTemplateBenchmark 와 같은 5,000자 자소서, 출력은 버리는 스트림 (캐시 / 응답 쓰기 제외).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextRenderBenchmark {
+
+    @Param({"html", "md", "txt"})
+    public String format;
+
+    private DocumentRenderer renderer;
+    private DocumentContent content;
+    private OutputStream out;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        renderer = switch (format) {
+            case "html" -> new HtmlDocumentRenderer();
+            case "md" -> new MarkdownDocumentRenderer();
+            default -> new TextDocumentRenderer();
+        };
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 5000) {
+            sb.append("저는 팀 프로젝트에서 API 서버를 맡아 응답 시간을 줄이는 작업을 했습니다. ");
+            if (sb.length() % 1000 < 40) {
+                sb.append("\n\n");
+            }
+        }
+        content = new DocumentContent("백엔드 개발자 지원", "잡버디", "백엔드 개발",
+                List.of(new DocumentContent.Section("지원 동기와 입사 후 포부를 작성해 주십시오.", sb.toString())));
+        out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        };
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        renderer.render("basic", content, out);
+    }
+}
@@ -0,0 +1,218 @@
+package com.jobbuddy.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보관함 500건 삭제: 예전처럼 한 건씩 DELETE /{id} 를 부르는 경우 vs POST /bulk/delete.
+ *  - perItem : 원래 deleteCoverLetter 그대로 요청마다 트랜잭션 하나 × 500
+ *              findByIdAndOwnerId (sections JSON 까지 전체 row) → repository.delete
+ *              = Hibernate 가 보내는 cover_letter_questions 삭제 + cover_letters 삭제
+ *  - bulk    : 지금의 일괄 삭제, 한 트랜잭션에서 findOwnedIds(IN 500) + softDeleteOwned(IN 500)
+ * 각 경로가 실제로 보내는 SQL 을 JDBC 로 직접 보내고, cover_letters / cover_letter_questions 와 같은 모양의
+ * 벤치 전용 테이블에서 돌림 (측정마다 같은 id 로 다시 채움).
+ * 실제 MySQL 이 필요함: application.properties 의 spring.datasource.* 또는
+ * -Dbench.db.url / -Dbench.db.username / -Dbench.db.password 로 지정.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkDeleteBenchmark {
+
+    private static final long OWNER = 1L;
+    private static final long OTHER_OWNER = 2L;
+    private static final int QUESTIONS_PER_LETTER = 5;
+    private static final String SECTIONS =
+            "{\"intro\": \"" + "지원 동기와 경험을 정리한 문단입니다. ".repeat(40) + "\"}";
+
+    @Param({"500"})
+    public int count;
+
+    private Connection connection;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        Properties app = new Properties();
+        try (InputStream in = BulkDeleteBenchmark.class.getResourceAsStream("/application.properties")) {
+            if (in != null) {
+                app.load(in);
+            }
+        }
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", app.getProperty("spring.datasource.url")),
+                System.getProperty("bench.db.username", app.getProperty("spring.datasource.username")),
+                System.getProperty("bench.db.password", app.getProperty("spring.datasource.password")));
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table if exists bench_cover_letter_questions");
+            st.execute("drop table if exists bench_cover_letters");
+            st.execute("create table bench_cover_letters (" +
+                    "id bigint primary key, user_id bigint not null, title varchar(255), tone varchar(255), " +
+                    "length_per_question int, status varchar(32), preview_url varchar(255), archived bit not null, " +
+                    "created_at datetime(6), updated_at datetime(6), target_company varchar(255), " +
+                    "target_job varchar(255), template_id varchar(255), sections json, " +
+                    "version bigint not null, deleted_at datetime(6), " +
+                    "index idx_bench_owner (user_id))");
+            st.execute("create table bench_cover_letter_questions (" +
+                    "cover_letter_id bigint not null, question_order int not null, question varchar(255), " +
+                    "primary key (cover_letter_id, question_order))");
+        }
+
+        ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(1_000_000L + i);
+        }
+        // 다른 사용자 자소서도 섞어 둠 (소유권 조건이 실제로 걸러내도록), 측정 중에는 건드리지 않음
+        List<Long> others = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            others.add(2_000_000L + i);
+        }
+        insertLetters(OTHER_OWNER, others);
+    }
+
+    // 매 측정 전에 같은 id 로 다시 채움 (perItem 은 row 를 지우고, bulk 는 툼스톤을 남김)
+    @Setup(Level.Invocation)
+    public void restore() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("delete from bench_cover_letter_questions where cover_letter_id between 1000000 and 1999999");
+            st.executeUpdate("delete from bench_cover_letters where user_id = " + OWNER);
+        }
+        insertLetters(OWNER, ids);
+    }
+
+    private void insertLetters(long owner, List<Long> letterIds) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement letters = connection.prepareStatement(
+                "insert into bench_cover_letters (id, user_id, title, tone, length_per_question, status, archived, " +
+                        "created_at, updated_at, target_company, target_job, sections, version) " +
+                        "values (?, ?, ?, '진중함', 1000, 'SUCCESS', true, ?, ?, '회사', '백엔드', ?, 0)");
+             PreparedStatement questions = connection.prepareStatement(
+                     "insert into bench_cover_letter_questions (cover_letter_id, question_order, question) " +
+                             "values (?, ?, ?)")) {
+            for (Long id : letterIds) {
+                letters.setLong(1, id);
+                letters.setLong(2, owner);
+                letters.setString(3, "자소서 " + id);
+                letters.setTimestamp(4, now);
+                letters.setTimestamp(5, now);
+                letters.setString(6, SECTIONS);
+                letters.addBatch();
+                for (int q = 0; q < QUESTIONS_PER_LETTER; q++) {
+                    questions.setLong(1, id);
+                    questions.setInt(2, q);
+                    questions.setString(3, "문항 " + q);
+                    questions.addBatch();
+                }
+            }
+            letters.executeBatch();
+            questions.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table if exists bench_cover_letter_questions");
+            st.execute("drop table if exists bench_cover_letters");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int perItem() throws SQLException {
+        int deleted = 0;
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement(
+                "select * from bench_cover_letters where id = ? and user_id = ?");
+             PreparedStatement deleteQuestions = connection.prepareStatement(
+                     "delete from bench_cover_letter_questions where cover_letter_id = ?");
+             PreparedStatement deleteLetter = connection.prepareStatement(
+                     "delete from bench_cover_letters where id = ?")) {
+            for (Long id : ids) {
+                try {
+                    select.setLong(1, id);
+                    select.setLong(2, OWNER);
+                    boolean found;
+                    try (ResultSet row = select.executeQuery()) {
+                        found = row.next();
+                        if (found) {
+                            row.getString("sections"); // 엔티티를 만들 때처럼 JSON 까지 읽음
+                        }
+                    }
+                    if (found) {
+                        deleteQuestions.setLong(1, id);
+                        deleteQuestions.executeUpdate();
+                        deleteLetter.setLong(1, id);
+                        deleted += deleteLetter.executeUpdate();
+                    }
+                    connection.commit(); // 요청 하나 = 트랜잭션 하나
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return deleted;
+    }
+
+    @Benchmark
+    public int bulk() throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        connection.setAutoCommit(false);
+        try {
+            List<Long> owned = new ArrayList<>(ids.size());
+            try (PreparedStatement select = connection.prepareStatement(
+                    "select id from bench_cover_letters where user_id = ? and id in (" + in + ") " +
+                            "and deleted_at is null")) {
+                select.setLong(1, OWNER);
+                for (int i = 0; i < ids.size(); i++) {
+                    select.setLong(i + 2, ids.get(i));
+                }
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        owned.add(rows.getLong(1));
+                    }
+                }
+            }
+            int deleted;
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update bench_cover_letters set deleted_at = ?, updated_at = ?, version = version + 1 " +
+                            "where user_id = ? and id in (" + String.join(",", Collections.nCopies(owned.size(), "?")) + ") " +
+                            "and deleted_at is null")) {
+                update.setTimestamp(1, now);
+                update.setTimestamp(2, now);
+                update.setLong(3, OWNER);
+                for (int i = 0; i < owned.size(); i++) {
+                    update.setLong(i + 4, owned.get(i));
+                }
+                deleted = update.executeUpdate();
+            }
+            connection.commit();
+            return deleted;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jobbuddy.backend.tiering;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cold tier 자소서를 읽을 때 늘어나는 비용.
+ *  - hotParse  : 지금처럼 json 컬럼 문자열을 Map 으로 파싱
+ *  - coldThaw  : 압축 해제 + 파싱 (CoverLetter.getSections 가 cold row 에서 하는 일)
+ *  - freeze    : 압축 (ColdTierJob 이 자소서 한 건마다 하는 일)
+ * 압축 후 크기는 setUp 에서 한 번 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColdSectionsBenchmark {
+
+    @Param({"2000", "8000"})
+    public int letterChars;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String json;
+    private byte[] cold;
+
+    @Setup
+    public void setUp() throws Exception {
+        String sentence = "저는 팀 프로젝트를 진행하며 협업 과정에서 문제를 해결하기 위해 노력하였습니다. ";
+        StringBuilder letter = new StringBuilder();
+        while (letter.length() < letterChars) {
+            letter.append(sentence).append(letter.length() % 7).append("번째 경험을 바탕으로 성장할 수 있었습니다. ");
+        }
+        json = mapper.writeValueAsString(Map.of("generatedCoverLetter", letter.toString()));
+        cold = ColdSections.compress(json);
+        System.out.printf("%n[cold tier] %d chars: json %d bytes -> cold %d bytes%n",
+                letterChars, json.getBytes("UTF-8").length, cold.length);
+    }
+
+    @Benchmark
+    public Map<String, Object> hotParse() throws Exception {
+        return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+    }
+
+    @Benchmark
+    public Map<String, Object> coldThaw() {
+        return ColdSections.decompress(cold);
+    }
+
+    @Benchmark
+    public byte[] freeze() {
+        return ColdSections.compress(json);
+    }
+}
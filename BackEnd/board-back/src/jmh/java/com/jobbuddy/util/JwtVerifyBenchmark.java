@@ -0,0 +1,51 @@
+package com.jobbuddy.util;
+
+import com.jobbuddy.backend.config.JwtUserPrincipal;
+import com.jobbuddy.backend.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 1건당 JWT 인증 비용 비교.
+ *  - twoParses : 예전 필터 흐름 (validateToken 후 다시 파싱 → 서명 검증 2번)
+ *  - singleVerify : verify() 한 번, 캐시 없음
+ *  - cachedVerify : verify() + 최근 검증 토큰 캐시 (같은 토큰 반복 = 실제 세션 패턴)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerifyBenchmark {
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(0);
+        cached = new JwtUtil(10_000);
+
+        User user = new User() {
+            @Override
+            public Long getId() { return 42L; }
+        };
+        user.setUsername("bench-user");
+        token = uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtUserPrincipal twoParses() {
+        return uncached.validateToken(token) ? uncached.getPrincipal(token) : null;
+    }
+
+    @Benchmark
+    public JwtUserPrincipal singleVerify() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtUserPrincipal cachedVerify() {
+        return cached.verify(token);
+    }
+}
@@ -0,0 +1,168 @@
+package com.jobbuddy.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.model.CacheInvalidation;
+import com.jobbuddy.backend.repository.CacheInvalidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 로컬 캐시 무효화 전달.
+ *  - 같은 노드: 트랜잭션 커밋 직후 바로 지움 (롤백되면 지우지 않음)
+ *  - 다른 노드: 같은 트랜잭션에서 cache_invalidations 에 한 줄 insert → 각 노드가 주기적으로 읽어서 지움
+ *    (cache.invalidation.cluster.enabled=true 일 때만, 단일 서버면 DB 쓰기 없음)
+ * 샤딩 시 메시지는 데이터가 바뀐 샤드에 같이 쓰이므로, 폴링도 샤드마다 따로 한다.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final int POLL_BATCH = 500;
+
+    private final CacheInvalidationRepository repository;
+    private final ShardBinding shardBinding;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean clusterEnabled;
+    private final Duration retention;
+    // 커밋 지연 + 노드 간 시계 차이를 덮을 만큼의 재조회 구간
+    private final Duration overlap;
+
+    // 이 노드 식별자 (재시작하면 바뀜)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+    // 이미 적용한 다른 노드 메시지 ("샤드:id"), overlap 두 배 동안만 기억
+    private final Cache<String, Boolean> applied;
+
+    public CacheInvalidationBus(CacheInvalidationRepository repository,
+                                ShardBinding shardBinding,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cache.invalidation.cluster.enabled:false}") boolean clusterEnabled,
+                                @Value("${cache.invalidation.retention:PT10M}") Duration retention,
+                                @Value("${cache.invalidation.overlap:PT30S}") Duration overlap) {
+        this.repository = repository;
+        this.shardBinding = shardBinding;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterEnabled = clusterEnabled;
+        this.retention = retention;
+        this.overlap = overlap;
+        this.applied = Caffeine.newBuilder()
+                .expireAfterWrite(overlap.multipliedBy(2))
+                .build();
+    }
+
+    // 캐시마다 "키 문자열 → 로컬에서 지우기" 를 등록
+    public void register(String cacheName, Consumer<String> evictor) {
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 (이 노드 + 다른 노드에서) 지운다.
+     * 트랜잭션 밖에서 부르면 즉시 지운다.
+     */
+    public void invalidate(String cacheName, String key) {
+        if (clusterEnabled) {
+            // 트랜잭션이 있으면 거기에 참여 → 커밋돼야 다른 노드에 보임
+            repository.save(new CacheInvalidation(cacheName, key, nodeId));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(cacheName, key);
+                }
+            });
+        } else {
+            evictLocal(cacheName, key);
+        }
+    }
+
+    private void evictLocal(String cacheName, String key) {
+        Consumer<String> evictor = evictors.get(cacheName);
+        if (evictor != null) {
+            evictor.accept(key);
+        }
+    }
+
+    // ===== 다른 노드 메시지 폴링 =====
+    //  - id 커서 대신 "최근 overlap 동안 생긴 메시지" 를 매번 다시 읽는다
+    //    (IDENTITY id 는 커밋 순서와 달라서, 늦게 커밋된 작은 id 를 커서가 건너뛸 수 있음)
+    //  - 이미 적용한 메시지는 (샤드, id) 로 걸러냄
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:PT1S}")
+    public void poll() {
+        if (!clusterEnabled) {
+            return;
+        }
+        forEachShard(this::pollShard);
+    }
+
+    private void pollShard(int shard) {
+        LocalDateTime since = LocalDateTime.now().minus(overlap);
+        long afterId = 0;
+        while (true) {
+            List<CacheInvalidation> batch = repository
+                    .findByCreatedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(since, afterId, Limit.of(POLL_BATCH));
+            for (CacheInvalidation message : batch) {
+                afterId = message.getId();
+                if (nodeId.equals(message.getOriginNode())) {
+                    continue;
+                }
+                if (applied.asMap().putIfAbsent(shard + ":" + message.getId(), Boolean.TRUE) == null) {
+                    evictLocal(message.getCacheName(), message.getCacheKey());
+                }
+            }
+            if (batch.size() < POLL_BATCH) {
+                return;
+            }
+        }
+    }
+
+    // 다른 노드들이 이미 읽었을 만큼 지난 메시지 정리
+    @Scheduled(fixedDelayString = "${cache.invalidation.cleanup-interval:PT5M}")
+    public void cleanup() {
+        if (!clusterEnabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        forEachShard(shard -> {
+            Integer deleted = transactionTemplate.execute(status -> repository.deleteOlderThan(cutoff));
+            if (deleted != null && deleted > 0) {
+                log.debug("Removed {} old cache invalidation messages on shard {}", deleted, shard);
+            }
+        });
+    }
+
+    private void forEachShard(Consumer<Integer> action) {
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                action.accept(shard);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation task failed on shard {}", shard, e);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+}
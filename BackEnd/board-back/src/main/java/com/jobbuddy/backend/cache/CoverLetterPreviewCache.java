@@ -0,0 +1,90 @@
+package com.jobbuddy.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobbuddy.backend.dto.CoverLetterPreviewResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 자소서 미리보기 DTO 캐시 (key = 자소서 id + 소유자 id).
+ *  - 에디터에 머무는 동안 반복되는 미리보기 조회를 DB 없이 응답
+ *  - Caffeine 기본 정책 = W-TinyLFU (한 번 보고 마는 문서가 자주 보는 문서를 밀어내지 않음)
+ *  - 바꾸는 쪽은 evict 를 트랜잭션 안에서 호출 → 커밋 후 이 노드 / 다른 노드에서 제거
+ *  - 무효화 메시지에 커밋된 version 을 실어 key 별 최저 version 으로 기억 → 무효화와 겹친 로딩이나
+ *    지연된 replica 에서 읽은 그보다 오래된 값은 응답만 하고 캐시에 담지 않음
+ *  - TTL 은 무효화를 놓쳤을 때의 안전장치
+ */
+@Component
+public class CoverLetterPreviewCache {
+
+    public static final String NAME = "cover-letter-preview";
+
+    private final Cache<Key, CoverLetterPreviewResponse> cache;
+    // key 별로 마지막 무효화가 알려준 version (이보다 오래된 값은 캐시하지 않음)
+    //  - 크기 제한을 두면 새 항목이 W-TinyLFU 에 밀려 바로 사라질 수 있어 TTL 로만 정리
+    //    (TTL 이 지나면 그 전에 담긴 값도 이미 만료)
+    private final Cache<Key, Long> versionFloors;
+    private final CacheInvalidationBus invalidationBus;
+
+    public CoverLetterPreviewCache(CacheInvalidationBus invalidationBus,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${cache.preview.max-size:10000}") long maxSize,
+                                   @Value("${cache.preview.ttl:PT10M}") Duration ttl) {
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.versionFloors = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        invalidationBus.register(NAME, this::invalidateLocal);
+    }
+
+    // 없으면 loader 로 읽어서 채움 (loader 예외는 캐시하지 않고 그대로 전달)
+    public CoverLetterPreviewResponse get(Long coverLetterId, Long ownerId,
+                                          Supplier<CoverLetterPreviewResponse> loader) {
+        CoverLetterPreviewResponse[] loaded = new CoverLetterPreviewResponse[1];
+        CoverLetterPreviewResponse cached = cache.get(new Key(coverLetterId, ownerId), key -> {
+            loaded[0] = loader.get();
+            // null 을 돌려주면 Caffeine 이 담지 않음
+            return isCurrent(key, loaded[0]) ? loaded[0] : null;
+        });
+        return cached != null ? cached : loaded[0];
+    }
+
+    /**
+     * @param version 이 트랜잭션이 커밋하는 version (모르면 null → 지우기만 함)
+     */
+    public void evict(Long coverLetterId, Long ownerId, Long version) {
+        String message = coverLetterId + ":" + ownerId + (version != null ? ":" + version : "");
+        invalidationBus.invalidate(NAME, message);
+    }
+
+    // 메시지 = "자소서id:소유자id[:version]" (version 없는 예전 형식은 지우기만)
+    //  - 최저 version 을 먼저 올리고 지움 → 진행 중인 로딩이 먼저 담더라도 뒤의 invalidate 가 지움
+    private void invalidateLocal(String message) {
+        String[] parts = message.split(":");
+        Key key = new Key(Long.valueOf(parts[0]), Long.valueOf(parts[1]));
+        if (parts.length > 2) {
+            versionFloors.asMap().merge(key, Long.valueOf(parts[2]), Math::max);
+        }
+        cache.invalidate(key);
+    }
+
+    private boolean isCurrent(Key key, CoverLetterPreviewResponse response) {
+        Long floor = versionFloors.getIfPresent(key);
+        return floor == null || (response != null && response.getVersion() != null && response.getVersion() >= floor);
+    }
+
+    record Key(Long coverLetterId, Long ownerId) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.jobbuddy.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobbuddy.backend.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * username → User 캐시 (내 정보 조회용, 읽기 전용으로만 사용).
+ * 프로필 / 비밀번호 변경 시 evict. 없는 사용자는 캐시하지 않는다.
+ */
+@Component
+public class UserCache {
+
+    public static final String NAME = "users";
+
+    private final Cache<String, User> cache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public UserCache(CacheInvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry,
+                     @Value("${cache.user.max-size:10000}") long maxSize,
+                     @Value("${cache.user.ttl:PT10M}") Duration ttl) {
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        invalidationBus.register(NAME, cache::invalidate);
+    }
+
+    public User get(String username, Function<String, Optional<User>> loader) {
+        if (username == null) {
+            return null;
+        }
+        return cache.get(username, name -> loader.apply(name).orElse(null));
+    }
+
+    public void evict(String username) {
+        invalidationBus.invalidate(NAME, username);
+    }
+}
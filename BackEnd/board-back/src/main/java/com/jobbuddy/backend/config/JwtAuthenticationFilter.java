@@ -11,7 +11,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.io.IOException;
 import java.util.List;
@@ -20,9 +19,11 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenVersionCache tokenVersionCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenVersionCache tokenVersionCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -37,14 +38,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.getUsername(token);
+            // ✅ 파싱 + 서명 검증 한 번 (최근 검증한 토큰이면 캐시에서 바로)
+            JwtUserPrincipal principal = jwtUtil.verify(token);
+
+            // ✅ 사용자 id 가 들어 있고, 폐기되지 않은 토큰만 인증 (버전 확인은 캐시 → 보통 DB 조회 없음)
+            if (principal != null
+                    && tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())) {
 
                 // ✅ 기본 권한을 ROLE_USER 하나 넣어줌
                 List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
+                // principal 에 사용자 id 까지 담아서 → 컨트롤러에서 username 으로 다시 조회할 필요 없음
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        username,
+                        principal,
                         null,
                         authorities);
 
@@ -0,0 +1,36 @@
+package com.jobbuddy.backend.config;
+
+import java.security.Principal;
+
+/**
+ * JWT 에서 꺼낸 로그인 사용자 정보.
+ * 필터에서 한 번 만들어 Authentication 의 principal 로 넣어두면,
+ * 컨트롤러는 DB 조회 없이 사용자 id 를 바로 쓸 수 있다.
+ */
+public class JwtUserPrincipal implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final int tokenVersion;
+
+    public JwtUserPrincipal(Long id, String username, int tokenVersion) {
+        this.id = id;
+        this.username = username;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public int getTokenVersion() { return tokenVersion; }
+
+    // authentication.getName() 이 기존처럼 username 을 돌려주도록
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,10 @@
+package com.jobbuddy.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 배치 작업(삭제 정리 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -72,6 +72,8 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag", "Idempotent-Replayed", "Retry-After", // ETag: 부분 수정 시 If-Match 로 돌려보낼 버전
+                "Accept-Ranges", "Content-Range", "Content-Disposition")); // 다운로드 이어받기 / 파일 이름
         config.setAllowCredentials(true); // Authorization, 쿠키 허용
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,53 @@
+package com.jobbuddy.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobbuddy.backend.cache.CacheInvalidationBus;
+import com.jobbuddy.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 현재 토큰 버전 캐시 (토큰 폐기 확인용).
+ * 비밀번호 변경 등으로 버전이 올라가면 그 전에 발급된 토큰은 거부된다.
+ * 캐시에 있으면 요청마다 DB 를 보지 않는다.
+ * 버전이 바뀌면 다른 노드에도 무효화를 보내서 TTL 을 기다리지 않고 다시 읽게 한다.
+ */
+@Component
+public class TokenVersionCache {
+
+    public static final String NAME = "token-version";
+
+    // 없는 사용자 표시 (어떤 토큰 버전과도 일치하지 않음)
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+    private final CacheInvalidationBus invalidationBus;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             CacheInvalidationBus invalidationBus,
+                             @Value("${jwt.token-version-cache.max-size:10000}") long maxSize,
+                             @Value("${jwt.token-version-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        invalidationBus.register(NAME, key -> versions.invalidate(Long.valueOf(key)));
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId, id ->
+                userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+        return current != null && current == tokenVersion;
+    }
+
+    // 버전을 올린 뒤 호출: 이 노드 / 다른 노드 모두 다음 요청에서 DB(primary) 값을 다시 읽음
+    public void evict(Long userId) {
+        invalidationBus.invalidate(NAME, String.valueOf(userId));
+    }
+}
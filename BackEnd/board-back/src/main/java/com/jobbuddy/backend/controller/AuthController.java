@@ -3,8 +3,11 @@ package com.jobbuddy.backend.controller;
 import com.jobbuddy.backend.dto.ApiResponse;
 import com.jobbuddy.backend.dto.AuthDto;
 import com.jobbuddy.backend.model.User;
+import com.jobbuddy.backend.security.TooManyRequestsException;
 import com.jobbuddy.backend.service.UserService;
 import com.jobbuddy.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,15 +34,23 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(400, e.getMessage(), null));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         }
     }
 
     // ===== 로그인 (JWT 발급) =====
     @PostMapping("/auth/login")
-    public ResponseEntity<ApiResponse<AuthDto.LoginResponse>> login(@RequestBody AuthDto.LoginRequest request) {
-        boolean success = userService.login(request.getUsername(), request.getPassword());
-        if (success) {
-            String token = jwtUtil.generateToken(request.getUsername());
+    public ResponseEntity<ApiResponse<AuthDto.LoginResponse>> login(@RequestBody AuthDto.LoginRequest request,
+                                                                    HttpServletRequest httpRequest) {
+        User user;
+        try {
+            user = userService.login(request.getUsername(), request.getPassword(), httpRequest.getRemoteAddr());
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
+        }
+        if (user != null) {
+            String token = jwtUtil.generateToken(user);
             return ResponseEntity.ok(
                     new ApiResponse<>(
                             200,
@@ -87,28 +98,42 @@ public class AuthController {
 
     // ===== 비밀번호 변경 (JWT 필요) =====
     @PatchMapping("/users/me/password")
-    public ResponseEntity<ApiResponse<Void>> changePassword(
+    public ResponseEntity<ApiResponse<AuthDto.LoginResponse>> changePassword(
             Authentication authentication,
             @RequestBody AuthDto.PasswordRequest request) {
         String username = authentication.getName(); // ← 여기도 동일
 
         try {
-            userService.changePassword(
+            User user = userService.changePassword(
                     username,
                     request.getCurrentPassword(),
                     request.getNewPassword(),
                     request.getConfirmPassword());
+
+            // 기존 토큰은 폐기되므로 새 토큰을 같이 내려줌
             return ResponseEntity.ok(
-                    new ApiResponse<>(200, "비밀번호가 성공적으로 변경되었습니다.", null));
+                    new ApiResponse<>(
+                            200,
+                            "비밀번호가 성공적으로 변경되었습니다.",
+                            new AuthDto.LoginResponse("Bearer", jwtUtil.generateToken(user))));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(400, e.getMessage(), null));
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(401, e.getMessage(), null));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         }
     }
 
+    // 시도 제한 / 해싱 풀 포화 → 429 + Retry-After
+    private <T> ResponseEntity<ApiResponse<T>> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse<>(429, e.getMessage(), null));
+    }
+
     // ===== 내 정보 조회 (JWT 필요) =====
     @GetMapping("/users/me")
     public ResponseEntity<ApiResponse<User>> getMe(Authentication authentication) {
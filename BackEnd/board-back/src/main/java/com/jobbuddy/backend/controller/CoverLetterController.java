@@ -1,40 +1,77 @@
 package com.jobbuddy.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.document.ArchiveExporter;
+import com.jobbuddy.backend.document.DocumentKey;
+import com.jobbuddy.backend.document.DocumentRenderer;
+import com.jobbuddy.backend.document.DocumentRenderers;
+import com.jobbuddy.backend.document.RenderOverloadedException;
+import com.jobbuddy.backend.document.RenderedDocument;
+import com.jobbuddy.backend.document.ThumbnailStore;
 import com.jobbuddy.backend.dto.ApiResponse;
+import com.jobbuddy.backend.dto.BulkOperationResponse;
 import com.jobbuddy.backend.dto.CoverLetterListItemResponse;
 import com.jobbuddy.backend.dto.CoverLetterPreviewResponse;
 import com.jobbuddy.backend.dto.CoverLetterReqDto;
 import com.jobbuddy.backend.dto.PageResponse;
 import com.jobbuddy.backend.service.CoverLetterService;
-import com.jobbuddy.backend.repository.UserRepository;
-import com.jobbuddy.backend.model.User;
+import com.jobbuddy.backend.service.IdempotencyService;
+import com.jobbuddy.backend.config.JwtUserPrincipal;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/cover-letters")
 public class CoverLetterController {
 
     private final CoverLetterService coverLetterService;
-    private final UserRepository userRepository;
+    private final ShardBinding shardBinding;
+    private final IdempotencyService idempotencyService;
+    private final ThumbnailStore thumbnailStore;
+    private final ArchiveExporter archiveExporter;
+    private final DocumentRenderers documentRenderers;
 
     public CoverLetterController(
             CoverLetterService coverLetterService,
-            UserRepository userRepository) {
+            ShardBinding shardBinding,
+            IdempotencyService idempotencyService,
+            ThumbnailStore thumbnailStore,
+            ArchiveExporter archiveExporter,
+            DocumentRenderers documentRenderers) {
         this.coverLetterService = coverLetterService;
-        this.userRepository = userRepository;
+        this.shardBinding = shardBinding;
+        this.idempotencyService = idempotencyService;
+        this.thumbnailStore = thumbnailStore;
+        this.archiveExporter = archiveExporter;
+        this.documentRenderers = documentRenderers;
     }
 
     // ===== 공통: Authentication -> userId(Long) 변환 (정식용) =====
@@ -44,70 +81,175 @@ public class CoverLetterController {
         if (authentication == null
                 || !authentication.isAuthenticated()
                 || authentication instanceof AnonymousAuthenticationToken
-                || "anonymousUser".equals(authentication.getName())) {
+                || !(authentication.getPrincipal() instanceof JwtUserPrincipal)) {
             throw new ResponseStatusException(
                     HttpStatus.UNAUTHORIZED,
                     "로그인이 필요합니다."
             );
         }
 
-        // 2) 정상적인 JWT 인증이 된 경우 → username 으로 User 조회
-        String username = authentication.getName();
+        // 2) 정상적인 JWT 인증이 된 경우 → 토큰에 들어있는 사용자 id 사용 (DB 조회 없음)
+        Long userId = ((JwtUserPrincipal) authentication.getPrincipal()).getId();
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.UNAUTHORIZED,
-                        "사용자를 찾을 수 없습니다: " + username
-                ));
-
-        return user.getId();
+        // 3) 이후 자소서 쿼리는 이 사용자의 샤드로 (샤딩 꺼져 있으면 무시됨)
+        shardBinding.bindUser(userId);
+        return userId;
     }
 
     // ===== 1. 자소서 초안 작성 (POST /api/cover-letters) =====
+    //  - Idempotency-Key 가 있으면 재시도해도 한 번만 생성 (같은 키 → 처음 응답 재전송)
     @PostMapping
-    public ResponseEntity<ApiResponse<CoverLetterReqDto.IdResponse>> createCoverLetter(
+    public ResponseEntity<?> createCoverLetter(
             Authentication authentication,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody CoverLetterReqDto.SaveRequest request) {
         Long userId = getUserId(authentication);
-        Long id = coverLetterService.saveOrUpdateCoverLetter(userId, null, request);
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
-                        200,
-                        "자기소개서 작성 정보가 저장되었습니다.",
-                        new CoverLetterReqDto.IdResponse(id)));
+        return idempotencyService.execute(userId, "create", idempotencyKey, request, () -> {
+            Long id = coverLetterService.saveOrUpdateCoverLetter(userId, null, request);
+            return ResponseEntity.ok(
+                    new ApiResponse<>(
+                            200,
+                            "자기소개서 작성 정보가 저장되었습니다.",
+                            new CoverLetterReqDto.IdResponse(id)));
+        });
     }
 
     // ===== 1-2. 자소서 수정 (PATCH /api/cover-letters/{coverLetterId}) =====
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 바로 반영 (아니면 412), 없으면 자동 저장 버퍼로
     @PatchMapping("/{coverLetterId}")
     public ResponseEntity<ApiResponse<CoverLetterReqDto.IdResponse>> updateCoverLetter(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody CoverLetterReqDto.SaveRequest request) {
         Long userId = getUserId(authentication);
-        Long id = coverLetterService.saveOrUpdateCoverLetter(userId, coverLetterId, request);
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
-                        200,
-                        "자기소개서 작성 정보가 업데이트 되었습니다.",
-                        new CoverLetterReqDto.IdResponse(id)));
+        try {
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            if (expectedVersion != null) {
+                ok.eTag(toETag(coverLetterService.updateCoverLetter(userId, coverLetterId, request, expectedVersion)));
+            } else {
+                coverLetterService.saveOrUpdateCoverLetter(userId, coverLetterId, request);
+            }
+
+            return ok.body(
+                    new ApiResponse<>(
+                            200,
+                            "자기소개서 작성 정보가 업데이트 되었습니다.",
+                            new CoverLetterReqDto.IdResponse(coverLetterId)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "해당 자기소개서를 찾을 수 없습니다.", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
+        }
+    }
+
+    // ===== 1-3. 자소서 부분 수정 (PATCH /api/cover-letters/{coverLetterId}, application/merge-patch+json) =====
+    //  - 바뀐 필드 / 섹션만 보냄 (RFC 7396), If-Match 에 ETag(버전)를 주면 그 버전일 때만 수정 (아니면 412)
+    @PatchMapping(value = "/{coverLetterId}", consumes = "application/merge-patch+json")
+    public ResponseEntity<ApiResponse<CoverLetterReqDto.IdResponse>> patchCoverLetter(
+            Authentication authentication,
+            @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        Long userId = getUserId(authentication);
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+
+        try {
+            Long version = coverLetterService.mergePatchCoverLetter(userId, coverLetterId, patch, expectedVersion);
+
+            return ResponseEntity.ok()
+                    .eTag(toETag(version))
+                    .body(new ApiResponse<>(
+                            200,
+                            "자기소개서 작성 정보가 업데이트 되었습니다.",
+                            new CoverLetterReqDto.IdResponse(coverLetterId)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "해당 자기소개서를 찾을 수 없습니다.", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
+        }
+    }
+
+    // If-Match 를 보냈으면 412, 아니면 동시 수정 충돌 409
+    private <T> ResponseEntity<ApiResponse<T>> versionConflict(Long expectedVersion) {
+        HttpStatus status = expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status)
+                .body(new ApiResponse<>(status.value(), "다른 곳에서 먼저 수정되었습니다. 새로고침 후 다시 시도해주세요.", null));
+    }
+
+    // ETag = "버전" (W/ 접두어도 허용), * 이면 버전 확인 안 함
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header.");
+        }
+    }
+
+    private String toETag(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
     }
 
     // ===== 2. 템플릿 선택 (PUT /api/cover-letters/{coverLetterId}/template) =====
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 수정 (아니면 412)
     @PutMapping("/{coverLetterId}/template")
     public ResponseEntity<ApiResponse<Map<String, Object>>> selectTemplate(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody TemplateRequest request) {
         Long userId = getUserId(authentication);
-        coverLetterService.updateTemplate(userId, coverLetterId, request.getTemplateId());
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
-                        200,
-                        "템플릿이 적용되었습니다.",
-                        Map.of("coverLetterId", coverLetterId, "templateId", request.getTemplateId())));
+        try {
+            Long version = coverLetterService.updateTemplate(userId, coverLetterId, request.getTemplateId(), expectedVersion);
+
+            return ResponseEntity.ok()
+                    .eTag(toETag(version))
+                    .body(new ApiResponse<>(
+                            200,
+                            "템플릿이 적용되었습니다.",
+                            Map.of("coverLetterId", coverLetterId, "templateId", request.getTemplateId())));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "해당 자기소개서를 찾을 수 없습니다.", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
+        }
     }
 
     // ===== 3. 자소서 미리보기 조회 (GET /api/cover-letters/{coverLetterId}) =====
@@ -119,8 +261,10 @@ public class CoverLetterController {
         try {
             CoverLetterPreviewResponse response = coverLetterService.getCoverLetterPreview(coverLetterId, userId);
 
-            return ResponseEntity.ok(
-                    new ApiResponse<>(200, "자소서 조회 성공.", response));
+            // ETag = 버전 → 부분 수정(PATCH) 시 If-Match 로 그대로 돌려보내면 됨
+            return ResponseEntity.ok()
+                    .eTag(toETag(response.getVersion()))
+                    .body(new ApiResponse<>(200, "자소서 조회 성공.", response));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(404, "Cover letter not found.", null));
@@ -128,21 +272,39 @@ public class CoverLetterController {
     }
 
     // ===== 4. 구성 설정 저장 (POST /api/cover-letters/{coverLetterId}/settings) =====
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 수정 (아니면 412)
     @PostMapping("/{coverLetterId}/settings")
     public ResponseEntity<ApiResponse<Map<String, Object>>> saveSettings(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody SettingsRequest request) {
         Long userId = getUserId(authentication);
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
 
-        coverLetterService.updateSettings(
-                userId,
-                coverLetterId,
-                request.getQuestions(),
-                request.getTone(),
-                request.getLengthPerQuestion());
+        Long version;
+        try {
+            version = coverLetterService.updateSettings(
+                    userId,
+                    coverLetterId,
+                    request.getQuestions(),
+                    request.getTone(),
+                    request.getLengthPerQuestion(),
+                    expectedVersion);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "해당 자기소개서를 찾을 수 없습니다.", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
+        }
 
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().eTag(toETag(version)).body(
                 new ApiResponse<>(
                         200,
                         "자소서 설정이 저장되었습니다.",
@@ -153,64 +315,245 @@ public class CoverLetterController {
     }
 
     // ===== 5. 생성 요청 (POST /api/cover-letters/{coverLetterId}/generate) =====
+    //  - Idempotency-Key 가 있으면 재시도해도 AI 호출은 한 번만
     @PostMapping("/{coverLetterId}/generate")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> generateCoverLetter(
+    public ResponseEntity<?> generateCoverLetter(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody(required = false) GenerateRequest request) {
         Long userId = getUserId(authentication);
-        coverLetterService.generateCoverLetter(userId, coverLetterId);
 
-        return ResponseEntity.status(HttpStatus.ACCEPTED)
-                .body(new ApiResponse<>(
-                        200,
-                        "자소서 생성 요청이 접수되었습니다.",
-                        Map.of("coverLetterId", coverLetterId, "status", "PROCESSING")));
+        return idempotencyService.execute(userId, "generate:" + coverLetterId, idempotencyKey, request, () -> {
+            coverLetterService.generateCoverLetter(userId, coverLetterId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(
+                            200,
+                            "자소서 생성 요청이 접수되었습니다.",
+                            Map.of("coverLetterId", coverLetterId, "status", "PROCESSING")));
+        });
     }
 
-    // ===== 6. 파일 다운로드 (GET /api/cover-letters/{coverLetterId}/download?format=pdf|word) =====
+    // ===== 6. 파일 다운로드 (GET /api/cover-letters/{coverLetterId}/download?format=pdf|word|html|md|txt) =====
+    //  - 형식은 ?format= 우선, 없으면 Accept 헤더로 (등록된 DocumentRenderer 중에서)
+    //  - ETag = 자소서 + 수정 시각 + 템플릿 + 형식, 바뀌지 않았으면 파일을 만들지 않고 304
+    //  - 캐시에 없으면 렌더링 전용 풀에서 만들고 (요청 스레드는 바로 반환), 풀이 꽉 차면 503 + Retry-After
+    //  - Range 하나면 206 (이어받기), If-Range 가 지금 ETag / 수정 시각과 다르면 전체 200
+    //  - 본문은 StreamingResponseBody 로 캐시(메모리 / 파일)에서 바로 씀
     @GetMapping("/{coverLetterId}/download")
-    public ResponseEntity<Resource> downloadCoverLetter(
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> downloadCoverLetter(
             Authentication authentication,
             @PathVariable Long coverLetterId,
-            @RequestParam String format) {
+            @RequestParam(required = false) String format,
+            WebRequest webRequest) {
         Long userId = getUserId(authentication);
         try {
-            Resource file = coverLetterService.downloadCoverLetter(coverLetterId, format, userId);
+            DocumentKey key = coverLetterService.describeDownload(
+                    coverLetterId, format, webRequest.getHeader(HttpHeaders.ACCEPT), userId);
+            long lastModified = key.updatedAt() != null
+                    ? key.updatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : -1;
+            if (webRequest.checkNotModified(key.eTag(), lastModified)) {
+                // 304 (비동기 응답이라 상태 / 헤더를 직접 채움)
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(key.eTag())
+                        .lastModified(lastModified)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .<StreamingResponseBody>build());
+            }
+
+            // Range 관련 헤더는 풀 스레드에서 읽지 않도록 미리 꺼내 둠
+            String rangeHeader = webRequest.getHeader(HttpHeaders.RANGE);
+            String ifRange = webRequest.getHeader(HttpHeaders.IF_RANGE);
+            return coverLetterService.downloadCoverLetter(key, userId)
+                    .thenApply(file -> fileResponse(coverLetterId, key, file, lastModified, rangeHeader, ifRange))
+                    .exceptionally(e -> downloadError(e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause()
+                            : e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(downloadError(e));
+        }
+    }
 
-            String contentType = format.equalsIgnoreCase("pdf")
-                    ? "application/pdf"
-                    : "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private ResponseEntity<StreamingResponseBody> fileResponse(Long coverLetterId, DocumentKey key,
+                                                               RenderedDocument file, long lastModified,
+                                                               String rangeHeader, String ifRange) {
+        DocumentRenderer renderer = documentRenderers.find(key.format())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported format."));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(renderer.mediaType());
+        // ?format= 없이 Accept 로 형식을 고를 수 있으므로
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        headers.setETag(file.eTag());
+        headers.setLastModified(lastModified);
+        // 브라우저가 저장은 하되 매번 ETag 로 확인하게 함 (개인 문서라 공유 캐시 금지)
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.set(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"cover-letter-" + coverLetterId + renderer.extension() + "\"");
+
+        long length = file.length();
+        HttpRange range = requestedRange(rangeHeader, ifRange, file.eTag(), lastModified);
+        if (range == null) {
+            headers.setContentLength(length);
+            return new ResponseEntity<>(out -> file.writeTo(out, 0, length), headers, HttpStatus.OK);
+        }
 
-            String extension = format.equalsIgnoreCase("pdf") ? ".pdf" : ".docx";
+        long start = range.getRangeStart(length);
+        long end = range.getRangeEnd(length);
+        if (start >= length || start > end) {
+            // 파일 길이를 넘는 Range → 416 + 실제 길이 (HttpRange 는 시작 위치가 길이 이상이어도 예외를 던지지 않음)
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        }
+        long count = end - start + 1;
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        headers.setContentLength(count);
+        return new ResponseEntity<>(out -> file.writeTo(out, start, count), headers, HttpStatus.PARTIAL_CONTENT);
+    }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(
-                            HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"cover-letter-" + coverLetterId + extension + "\"")
-                    .body(file);
-        } catch (NoSuchElementException e) {
+    // 다운로드 실패 → 상태 코드 (렌더링 풀 포화는 503 + Retry-After)
+    private ResponseEntity<StreamingResponseBody> downloadError(Throwable e) {
+        if (e instanceof RenderOverloadedException overloaded) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(overloaded.getRetryAfterSeconds()))
+                    .build();
+        }
+        if (e instanceof NoSuchElementException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (e instanceof IllegalStateException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (e instanceof RuntimeException re) {
+            throw re;
+        }
+        throw new IllegalStateException("Failed to render document", e);
+    }
+
+    // 응답할 구간 (없으면 전체). 여러 구간 / 형식이 잘못된 Range 는 무시하고 전체를 보냄 (RFC 9110 허용)
+    private HttpRange requestedRange(String rangeHeader, String ifRange, String eTag, long lastModified) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        if (ifRange != null && !ifRangeMatches(ifRange.trim(), eTag, lastModified)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // If-Range: 강한 ETag 가 같거나, 날짜가 Last-Modified 와 정확히 같을 때만 이어받기 허용
+    private boolean ifRangeMatches(String ifRange, String eTag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return date == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // ===== 6-2. 보관함 전체 내보내기 (GET /api/cover-letters/export?format=pdf|word|html|md|txt) =====
+    //  - 보관함의 생성 완료 자소서를 파일 하나씩 ZIP 으로 묶어 바로 스트리밍 (Content-Length 없음, chunked)
+    //  - 렌더링은 다운로드와 같은 DocumentRenderExecutor 풀에서 병렬로 (꽉 찼으면 503), ZIP 에는 id 순서대로 / 캐시에 있는 파일은 그대로 씀
+    //  - 본문은 다른 스레드에서 쓰므로 샤드를 거기서 다시 지정
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArchive(
+            Authentication authentication,
+            @RequestParam String format) {
+        Long userId = getUserId(authentication);
+        Iterator<ArchiveExporter.Entry> entries;
+        try {
+            entries = coverLetterService.archiveExportEntries(userId, format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        // 렌더링 풀이 이미 꽉 찼으면 스트리밍을 시작하지 않고 다운로드와 똑같이 503 + Retry-After
+        try {
+            archiveExporter.ensureCapacity();
+        } catch (RenderOverloadedException e) {
+            return downloadError(e);
+        }
+
+        StreamingResponseBody body = out -> {
+            shardBinding.bindUser(userId);
+            try {
+                archiveExporter.export(entries, out);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .cacheControl(CacheControl.noStore())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cover-letters-" + format.toLowerCase() + ".zip\"")
+                .body(body);
+    }
+
+    // ===== 6-1. 썸네일 (GET /api/cover-letters/thumbnails/{hash}.png) =====
+    //  - 파일 이름이 내용의 hash 라 바뀌지 않음 → 1년 캐시 (immutable)
+    //  - <img> 로 바로 불러오도록 로그인 확인 없음 (hash 를 모르면 받을 수 없음)
+    @GetMapping("/thumbnails/{fileName:[0-9a-f]+\\.png}") // hash 형식(64자)은 ThumbnailStore 가 확인
+    public ResponseEntity<Resource> getThumbnail(@PathVariable String fileName, WebRequest webRequest) {
+        String hash = fileName.substring(0, fileName.length() - ".png".length());
+        String eTag = "\"" + hash + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304
+        }
+        return thumbnailStore.find(hash)
+                .map(path -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_PNG)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                        .<Resource>body(new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // ===== 7. 보관함 저장 (POST /api/cover-letters/{coverLetterId}/archive) =====
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 수정 (아니면 412)
     @PostMapping("/{coverLetterId}/archive")
     public ResponseEntity<ApiResponse<Map<String, Object>>> archiveCoverLetter(
             Authentication authentication,
-            @PathVariable Long coverLetterId) {
+            @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Long userId = getUserId(authentication);
+        Long expectedVersion;
         try {
-            coverLetterService.archiveCoverLetter(coverLetterId, userId);
-            return ResponseEntity.ok(
-                    new ApiResponse<>(
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+
+        try {
+            Long version = coverLetterService.archiveCoverLetter(coverLetterId, userId, expectedVersion);
+            return ResponseEntity.ok()
+                    .eTag(toETag(version))
+                    .body(new ApiResponse<>(
                             200,
                             "보관함에 저장되었습니다.",
                             Map.of("coverLetterId", coverLetterId, "archived", true)));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(404, "Not found", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
         }
     }
 
@@ -248,18 +591,92 @@ public class CoverLetterController {
         }
     }
 
+    // ===== 9-1. 삭제 취소 (POST /api/cover-letters/{coverLetterId}/restore) =====
+    @PostMapping("/{coverLetterId}/restore")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> restoreCoverLetter(
+            Authentication authentication,
+            @PathVariable Long coverLetterId) {
+        Long userId = getUserId(authentication);
+        try {
+            coverLetterService.restoreCoverLetter(userId, coverLetterId);
+            return ResponseEntity.ok(
+                    new ApiResponse<>(
+                            200,
+                            "삭제가 취소되었습니다.",
+                            Map.of("coverLetterId", coverLetterId)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "복구할 수 있는 자기소개서가 없습니다.", null));
+        }
+    }
+
+    // ===== 9-2. 보관함 일괄 삭제 / 보관 / 톤 변경 (POST /api/cover-letters/bulk/{delete|archive|retag}) =====
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteCoverLetters(
+            Authentication authentication,
+            @RequestBody CoverLetterReqDto.BulkRequest request) {
+        Long userId = getUserId(authentication);
+        try {
+            BulkOperationResponse result = coverLetterService.deleteCoverLetters(userId, request.getIds());
+            return ResponseEntity.ok(new ApiResponse<>(200, "일괄 삭제가 완료되었습니다.", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/bulk/archive")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> archiveCoverLetters(
+            Authentication authentication,
+            @RequestBody CoverLetterReqDto.BulkRequest request) {
+        Long userId = getUserId(authentication);
+        try {
+            BulkOperationResponse result = coverLetterService.archiveCoverLetters(userId, request.getIds());
+            return ResponseEntity.ok(new ApiResponse<>(200, "일괄 보관함 저장이 완료되었습니다.", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/bulk/retag")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> retagCoverLetters(
+            Authentication authentication,
+            @RequestBody CoverLetterReqDto.BulkRequest request) {
+        Long userId = getUserId(authentication);
+        try {
+            BulkOperationResponse result =
+                    coverLetterService.retagCoverLetters(userId, request.getIds(), request.getTone());
+            return ResponseEntity.ok(new ApiResponse<>(200, "일괄 톤 변경이 완료되었습니다.", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+
     // ===== 10. 보관함 문서 이름 변경 (PATCH /api/cover-letters/{coverLetterId}/title) =====
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 수정 (아니면 412)
     @PatchMapping("/{coverLetterId}/title")
     public ResponseEntity<ApiResponse<Map<String, Object>>> updateTitle(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody TitleUpdateRequest request) {
         Long userId = getUserId(authentication);
+        Long expectedVersion;
         try {
-            coverLetterService.updateTitle(userId, coverLetterId, request.getTitle());
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
 
-            return ResponseEntity.ok(
-                    new ApiResponse<>(
+        try {
+            Long version = coverLetterService.updateTitle(userId, coverLetterId, request.getTitle(), expectedVersion);
+
+            return ResponseEntity.ok()
+                    .eTag(toETag(version))
+                    .body(new ApiResponse<>(
                             200,
                             "자기소개서 제목이 성공적으로 변경되었습니다.",
                             Map.of("coverLetterId", coverLetterId, "title", request.getTitle())));
@@ -269,6 +686,8 @@ public class CoverLetterController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(400, "제목은 1자 이상 100자 이하로 입력해주세요.", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
         }
     }
 
@@ -345,19 +764,42 @@ public class CoverLetterController {
     }
 
     // 완성된 자소서 내용 수정 (PUT /api/cover-letters/{id}/content)
+    //  - If-Match 에 ETag(버전)를 주면 그 버전일 때만 바로 반영 (아니면 412), 없으면 자동 저장 버퍼로
     @PutMapping("/{coverLetterId}/content")
     public ResponseEntity<ApiResponse<Void>> updateCoverLetterContent(
             Authentication authentication,
             @PathVariable Long coverLetterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody ContentUpdateRequest request) {
         Long userId = getUserId(authentication);
-        coverLetterService.updateGeneratedContent(userId, coverLetterId, request.getContent());
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
-                        200,
-                        "자기소개서 내용이 수정되었습니다.",
-                        null));
+        try {
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            if (expectedVersion != null) {
+                ok.eTag(toETag(coverLetterService.updateGeneratedContent(
+                        userId, coverLetterId, request.getContent(), expectedVersion)));
+            } else {
+                coverLetterService.updateGeneratedContent(userId, coverLetterId, request.getContent());
+            }
+
+            return ok.body(
+                    new ApiResponse<>(
+                            200,
+                            "자기소개서 내용이 수정되었습니다.",
+                            null));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(404, "해당 자기소개서를 찾을 수 없습니다.", null));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(expectedVersion);
+        }
     }
 
     // 내부 DTO
@@ -1,14 +1,15 @@
 package com.jobbuddy.backend.controller;
 
+import com.jobbuddy.backend.config.JwtUserPrincipal;
+import com.jobbuddy.backend.datasource.ShardBinding;
 import com.jobbuddy.backend.dto.ApiResponse;
 import com.jobbuddy.backend.dto.CoverLetterReqDto;
 import com.jobbuddy.backend.service.CoverLetterService;
-import com.jobbuddy.backend.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -18,11 +19,22 @@ import java.util.NoSuchElementException;
 public class ResumeController {
 
     private final CoverLetterService coverLetterService;
-    private final UserService userService;
+    private final ShardBinding shardBinding;
 
-    public ResumeController(CoverLetterService coverLetterService, UserService userService) {
+    public ResumeController(CoverLetterService coverLetterService,
+                            ShardBinding shardBinding) {
         this.coverLetterService = coverLetterService;
-        this.userService = userService;
+        this.shardBinding = shardBinding;
+    }
+
+    // 로그인 사용자 id (JWT 에 들어 있음 → DB 조회 없음) + 해당 사용자 샤드 선택
+    private Long resolveUserId(JwtUserPrincipal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        Long userId = principal.getId();
+        shardBinding.bindUser(userId);
+        return userId;
     }
 
     // 1. 템플릿 선택 API (PUT /api/resumes/{resumeId}/template)
@@ -30,13 +42,13 @@ public class ResumeController {
     public ResponseEntity<ApiResponse<CoverLetterReqDto.IdResponse>> selectTemplate(
             @PathVariable Long resumeId,
             @RequestBody Map<String, String> requestBody, // {"templateId": "..."}
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal JwtUserPrincipal principal
     ) {
         try {
-            Long userId = userService.getUserByUsername(userDetails.getUsername()).getId();
+            Long userId = resolveUserId(principal);
             String templateId = requestBody.get("templateId");
             
-            coverLetterService.updateTemplate(userId, resumeId, templateId);
+            coverLetterService.updateTemplate(userId, resumeId, templateId, null);
             
             return ResponseEntity.ok(new ApiResponse<>(200, "템플릿이 적용되었습니다.", 
                     new CoverLetterReqDto.IdResponse(resumeId)));
@@ -50,10 +62,10 @@ public class ResumeController {
     @DeleteMapping("/{resumeId}")
     public ResponseEntity<ApiResponse<Void>> deleteResume(
             @PathVariable Long resumeId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal JwtUserPrincipal principal
     ) {
         try {
-            Long userId = userService.getUserByUsername(userDetails.getUsername()).getId();
+            Long userId = resolveUserId(principal);
             coverLetterService.deleteCoverLetter(userId, resumeId);
             
             return ResponseEntity.ok(new ApiResponse<>(200, "자기소개서가 성공적으로 삭제되었습니다.", null));
@@ -71,7 +83,7 @@ public class ResumeController {
     public ResponseEntity<ApiResponse<CoverLetterReqDto.IdResponse>> updateResumeTitle(
             @PathVariable Long resumeId,
             @RequestBody CoverLetterReqDto.UpdateTitleRequest request,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal JwtUserPrincipal principal
     ) {
         try {
             if (request.getTitle() == null || request.getTitle().isEmpty() || request.getTitle().length() > 100) {
@@ -79,8 +91,8 @@ public class ResumeController {
                     .body(new ApiResponse<>(400, "제목은 1자 이상 100자 이하로 입력해주세요.", null));
             }
 
-            Long userId = userService.getUserByUsername(userDetails.getUsername()).getId();
-            coverLetterService.updateTitle(userId, resumeId, request.getTitle());
+            Long userId = resolveUserId(principal);
+            coverLetterService.updateTitle(userId, resumeId, request.getTitle(), null);
 
             return ResponseEntity.ok(new ApiResponse<>(200, "자기소개서 제목이 성공적으로 변경되었습니다.", 
                     new CoverLetterReqDto.IdResponse(resumeId, request.getTitle())));
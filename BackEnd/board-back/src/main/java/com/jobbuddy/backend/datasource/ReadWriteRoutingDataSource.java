@@ -0,0 +1,76 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 성격에 따라 커넥션을 고르는 DataSource.
+ *  - readOnly 트랜잭션 → replica (단, 복제 지연이 크거나 방금 본인이 쓴 경우는 primary)
+ *  - 그 외 → primary, 커밋되면 그 사용자를 read-your-writes 창에 올림 (롤백되면 올리지 않음)
+ * LazyConnectionDataSourceProxy 로 감싸서 써야 트랜잭션 속성이 정해진 뒤에 라우팅된다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        String principal = currentPrincipal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWriteOnCommit(principal);
+            return PRIMARY;
+        }
+
+        if (readYourWrites.isSticky(principal) || !lagMonitor.isReplicaUsable()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    // 커밋 전에 올리면 커밋 전 / 롤백된 쓰기 때문에 읽기가 primary 로 몰림 → afterCommit 에서 기록 (트랜잭션당 한 번)
+    private void markWriteOnCommit(String principal) {
+        if (principal == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWrites.markWrite(principal);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(readYourWrites)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(readYourWrites, principal);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.markWrite(principal);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(readYourWrites);
+            }
+        });
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jobbuddy.backend.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자가 쓰기를 한 직후 일정 시간 동안은 그 사용자의 읽기도 primary 로 보낸다.
+ * (replica 에 아직 반영 안 된 자기 데이터를 못 보는 문제 방지, 노드 단위)
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void markWrite(String principal) {
+        if (principal != null) {
+            lastWriteNanos.put(principal, System.nanoTime());
+        }
+    }
+
+    public boolean isSticky(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        Long last = lastWriteNanos.get(principal);
+        return last != null && System.nanoTime() - last < windowNanos;
+    }
+
+    // 창이 지난 항목 정리 (ReplicaLagMonitor 주기에 맞춰 호출)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(last -> now - last >= windowNanos);
+    }
+}
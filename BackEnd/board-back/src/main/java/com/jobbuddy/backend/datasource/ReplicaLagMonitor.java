@@ -0,0 +1,89 @@
+package com.jobbuddy.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * replica 의 복제 지연을 주기적으로 확인한다.
+ * 지연이 허용치를 넘거나, 복제가 멈췄거나, 접속이 안 되면 읽기도 primary 로 돌린다.
+ * SHOW REPLICA STATUS 는 MySQL 8.0.22 부터라, 문법 오류가 나면 SHOW SLAVE STATUS 로 바꿔서 계속 쓴다.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbc;
+    private final long maxLagSeconds;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private volatile String statusQuery = "SHOW REPLICA STATUS";
+    private volatile boolean replicaUsable = false;
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds, ReadYourWritesTracker readYourWrites) {
+        this.replicaJdbc = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWrites = readYourWrites;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        readYourWrites.evictExpired();
+
+        boolean usable;
+        try {
+            List<Map<String, Object>> rows = replicaStatus();
+            if (rows.isEmpty()) {
+                // 복제 설정이 없는 인스턴스 (로컬 테스트용 두 번째 DB 등) → 지연 없음으로 취급
+                lastLagSeconds = 0;
+                usable = true;
+            } else {
+                Object lag = rows.get(0).get("Seconds_Behind_Source");
+                if (lag == null) {
+                    lag = rows.get(0).get("Seconds_Behind_Master");
+                }
+                // null = 복제 스레드가 멈춘 상태
+                lastLagSeconds = lag != null ? ((Number) lag).longValue() : -1;
+                usable = lag != null && lastLagSeconds <= maxLagSeconds;
+            }
+        } catch (Exception e) {
+            lastLagSeconds = -1;
+            usable = false;
+            log.warn("Replica health check failed, routing reads to primary: {}", e.getMessage());
+        }
+
+        if (usable != replicaUsable) {
+            log.info("Replica {} (lag={}s)", usable ? "enabled for reads" : "disabled for reads", lastLagSeconds);
+        }
+        replicaUsable = usable;
+    }
+
+    private List<Map<String, Object>> replicaStatus() {
+        try {
+            return replicaJdbc.queryForList(statusQuery);
+        } catch (BadSqlGrammarException e) {
+            if (!"SHOW REPLICA STATUS".equals(statusQuery)) {
+                throw e;
+            }
+            // 8.0.22 이전 (또는 MariaDB 10.5 이전)
+            log.info("SHOW REPLICA STATUS is not supported by the replica, using SHOW SLAVE STATUS");
+            statusQuery = "SHOW SLAVE STATUS";
+            return replicaJdbc.queryForList(statusQuery);
+        }
+    }
+}
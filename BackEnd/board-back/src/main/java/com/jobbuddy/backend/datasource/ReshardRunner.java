@@ -0,0 +1,27 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+/**
+ * 실행 인자로 리샤딩 요청이 들어오면 기동 직후 수행한다.
+ *   --reshard.user-id=42 --reshard.target-shard=1
+ */
+public class ReshardRunner implements ApplicationRunner {
+
+    private final UserShardMover mover;
+
+    public ReshardRunner(UserShardMover mover) {
+        this.mover = mover;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("reshard.user-id") || !args.containsOption("reshard.target-shard")) {
+            return;
+        }
+        long userId = Long.parseLong(args.getOptionValues("reshard.user-id").get(0));
+        int targetShard = Integer.parseInt(args.getOptionValues("reshard.target-shard").get(0));
+        mover.move(userId, targetShard);
+    }
+}
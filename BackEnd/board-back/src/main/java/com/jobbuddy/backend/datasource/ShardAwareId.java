@@ -0,0 +1,17 @@
+package com.jobbuddy.backend.datasource;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// 샤딩이 켜져 있으면 IDENTITY 대신 ShardIdSequence 로 id 를 미리 발급 (샤드 간 id 충돌 없음 + insert 배치 가능)
+@IdGeneratorType(ShardAwareIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ShardAwareId {
+}
@@ -0,0 +1,16 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// @ShardAwareId 가 샤딩 여부를 알 수 있도록 sharding.enabled 를 Hibernate 설정으로 넘김 (꺼져 있으면 IDENTITY)
+@Configuration
+public class ShardAwareIdConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer shardAwareIdSettings(@Value("${sharding.enabled:false}") boolean shardingEnabled) {
+        return properties -> properties.put(ShardAwareIdGenerator.SHARDING_ENABLED, shardingEnabled);
+    }
+}
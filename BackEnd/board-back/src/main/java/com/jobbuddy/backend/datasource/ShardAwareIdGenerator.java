@@ -0,0 +1,68 @@
+package com.jobbuddy.backend.datasource;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.OnExecutionGenerator;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.PostInsertIdentityPersister;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
+
+import java.lang.reflect.Member;
+
+/**
+ * sharding.enabled=true 면 현재 스레드의 샤드 번호를 넣어서 id 를 insert 전에 발급하고,
+ * 꺼져 있으면 기존처럼 AUTO_INCREMENT(IDENTITY) 로 DB 가 발급한다.
+ * 켜짐 여부는 ShardAwareIdConfig 가 Hibernate 설정(SHARDING_ENABLED)으로 넘겨준다.
+ */
+public class ShardAwareIdGenerator implements IdentifierGenerator, OnExecutionGenerator {
+
+    public static final String SHARDING_ENABLED = "jobbuddy.sharding.enabled";
+
+    private final boolean sharded;
+    private final IdentityGenerator identity = new IdentityGenerator();
+
+    public ShardAwareIdGenerator(ShardAwareId config,
+                                 Member member,
+                                 CustomIdGeneratorCreationContext context) {
+        this.sharded = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSetting(SHARDING_ENABLED, StandardConverters.BOOLEAN, false);
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return !sharded;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return ShardIdSequence.next(ShardContextHolder.currentOrDefault());
+    }
+
+    // ===== sharding.enabled=false: IDENTITY 와 동일 =====
+
+    @Override
+    public boolean referenceColumnsInSql(Dialect dialect) {
+        return identity.referenceColumnsInSql(dialect);
+    }
+
+    @Override
+    public boolean writePropertyValue() {
+        return identity.writePropertyValue();
+    }
+
+    @Override
+    public String[] getReferencedColumnValues(Dialect dialect) {
+        return identity.getReferencedColumnValues(dialect);
+    }
+
+    @Override
+    @SuppressWarnings("removal") // 인터페이스 시그니처가 PostInsertIdentityPersister 를 받음
+    public InsertGeneratedIdentifierDelegate getGeneratedIdentifierDelegate(PostInsertIdentityPersister persister) {
+        return identity.getGeneratedIdentifierDelegate(persister);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 사용자 id → 샤드 선택을 현재 스레드에 묶어준다.
+ * sharding.enabled=false 면 ShardRouter 가 없으므로 아무 것도 하지 않는다 (단일 DB).
+ */
+@Component
+public class ShardBinding {
+
+    private final ShardRouter router;
+
+    public ShardBinding(ObjectProvider<ShardRouter> router) {
+        this.router = router.getIfAvailable();
+    }
+
+    public void bindUser(Long userId) {
+        if (router != null && userId != null) {
+            ShardContextHolder.set(router.shardFor(userId));
+        }
+    }
+
+    // 배치 작업처럼 모든 샤드를 돌아야 하는 경우용
+    public List<Integer> shards() {
+        return router != null ? router.shards() : List.of(0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jobbuddy.backend.datasource;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호.
+ * 요청 처리 중에는 로그인 사용자 기준으로 ShardBinding 이 채우고, ShardContextFilter 가 비운다.
+ * 값이 없으면 0번(디렉터리) 샤드를 쓴다.
+ */
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    public static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    public static Integer get() {
+        return CURRENT.get();
+    }
+
+    public static int currentOrDefault() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
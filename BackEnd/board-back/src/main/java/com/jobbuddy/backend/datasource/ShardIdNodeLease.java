@@ -0,0 +1,111 @@
+package com.jobbuddy.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * sharding.node-id 를 디렉터리(0번 샤드)의 id_node_leases 에 등록해서 인스턴스끼리 노드 번호가 겹치지 않게 한다.
+ *  - node-id 가 없거나, 다른 인스턴스가 heartbeat 중인 번호면 기동 실패
+ *  - heartbeat 마다 "지금 + reserve-ahead" 초를 high_water 로 먼저 기록하고, 그만큼만 ShardIdSequence 에 예약
+ *  - 재시작(또는 죽은 인스턴스의 번호를 넘겨받을 때)은 high_water 다음 초부터 발급 → 같은 초 재사용 없음
+ *  - heartbeat 에서 번호를 빼앗긴 걸 알면 발급을 멈춤
+ */
+public class ShardIdNodeLease implements InitializingBean, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardIdNodeLease.class);
+
+    private final JdbcTemplate directoryJdbc;
+    private final Integer nodeId;
+    private final long leaseTimeoutSeconds;
+    private final long reserveAheadSeconds;
+    private final String instance = UUID.randomUUID().toString();
+
+    public ShardIdNodeLease(DataSource directoryDataSource, Integer nodeId,
+                            Duration leaseTimeout, Duration reserveAhead) {
+        this.directoryJdbc = new JdbcTemplate(directoryDataSource);
+        this.nodeId = nodeId;
+        this.leaseTimeoutSeconds = Math.max(1, leaseTimeout.toSeconds());
+        this.reserveAheadSeconds = Math.max(1, reserveAhead.toSeconds());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (nodeId == null) {
+            throw new IllegalStateException("sharding.enabled=true requires sharding.node-id (unique per instance)");
+        }
+        ShardIdSequence.validateNode(nodeId);
+
+        directoryJdbc.execute("create table if not exists id_node_leases (" +
+                "node_id int primary key, instance varchar(36) not null, " +
+                "high_water bigint not null, heartbeat_at datetime(3) not null)");
+        directoryJdbc.update("insert ignore into id_node_leases (node_id, instance, high_water, heartbeat_at) " +
+                "values (?, ?, -1, now(3))", nodeId, instance);
+
+        // 비어 있거나(heartbeat 가 lease-timeout 보다 오래됨) 이미 내 것인 경우만 가져옴 (시각은 DB 기준)
+        int claimed = directoryJdbc.update("update id_node_leases set instance = ?, heartbeat_at = now(3) " +
+                        "where node_id = ? and (instance = ? or heartbeat_at < now(3) - interval ? second)",
+                instance, nodeId, instance, leaseTimeoutSeconds);
+        if (claimed == 0) {
+            throw new IllegalStateException("sharding.node-id " + nodeId + " is in use by another instance");
+        }
+
+        List<Long> stored = directoryJdbc.queryForList(
+                "select high_water from id_node_leases where node_id = ?", Long.class, nodeId);
+        long highWater = stored.isEmpty() ? -1 : stored.get(0);
+        ShardIdSequence.configureNode(nodeId, highWater);
+        if (!reserve()) {
+            throw new IllegalStateException("Lost sharding.node-id " + nodeId + " while registering");
+        }
+        log.info("Registered shard id node {} (ids resume after second {})", nodeId, highWater);
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.node-lease-heartbeat-ms:10000}")
+    public void heartbeat() {
+        try {
+            if (!reserve()) {
+                ShardIdSequence.revoke();
+                log.error("sharding.node-id {} was taken over by another instance; stopped issuing ids", nodeId);
+            }
+        } catch (Exception e) {
+            // 예약이 끝날 때까지는 계속 발급, 그 뒤로는 다음 heartbeat 가 성공할 때까지 발급 실패
+            log.warn("Failed to renew shard id node lease {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // 상한을 디렉터리에 먼저 기록하고, 기록된 만큼만 발급 허용
+    private boolean reserve() {
+        long until = ShardIdSequence.reservationFrom(reserveAheadSeconds);
+        int updated = directoryJdbc.update("update id_node_leases " +
+                        "set high_water = greatest(high_water, ?), heartbeat_at = now(3) " +
+                        "where node_id = ? and instance = ?",
+                until, nodeId, instance);
+        if (updated == 0) {
+            return false;
+        }
+        ShardIdSequence.extendReservation(until);
+        return true;
+    }
+
+    // 정상 종료: 발급을 멈추고 바로 다른 인스턴스가 가져갈 수 있게 heartbeat 를 비움 (high_water 는 유지)
+    @Override
+    public void close() {
+        if (nodeId == null) {
+            return;
+        }
+        ShardIdSequence.revoke();
+        try {
+            directoryJdbc.update("update id_node_leases set heartbeat_at = '2000-01-01 00:00:00' " +
+                    "where node_id = ? and instance = ?", nodeId, instance);
+        } catch (Exception e) {
+            log.warn("Failed to release shard id node lease {}: {}", nodeId, e.getMessage());
+        }
+    }
+}
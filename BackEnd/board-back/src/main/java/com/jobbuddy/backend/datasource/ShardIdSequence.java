@@ -0,0 +1,132 @@
+package com.jobbuddy.backend.datasource;
+
+/**
+ * 샤드 정보를 담은 53비트 id 발급기 (JS Number 로도 정확히 표현되도록 2^53 미만 유지).
+ *
+ *  | 31bit 초 (2025-01-01 기준) | 6bit 샤드 | 4bit 노드 | 12bit 시퀀스 |
+ *
+ *  - 노드(인스턴스)당 초당 4096개, 넘치면 다음 초 값을 당겨 써서 막히지 않게 함
+ *  - 기존 AUTO_INCREMENT id 들은 초 값이 0 인 범위라 새 id 와 겹치지 않음
+ *  - 노드 번호와 쓸 수 있는 초의 상한(예약)은 ShardIdNodeLease 가 디렉터리에 등록한 뒤 넣어준다.
+ *    예약이 끝난 초는 쓰지 않으므로, 재시작하거나 다른 인스턴스가 번호를 넘겨받아도
+ *    이전 실행이 썼을 수 있는 초 이후부터 발급한다.
+ */
+public final class ShardIdSequence {
+
+    private static final long EPOCH_SECONDS = 1735689600L; // 2025-01-01T00:00:00Z
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 4;
+    private static final int SHARD_BITS = 6;
+    private static final int TIME_BITS = 31;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final long SHARD_MASK = (1L << SHARD_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + NODE_BITS;
+    private static final int TIME_SHIFT = SEQUENCE_BITS + NODE_BITS + SHARD_BITS;
+
+    private static long nodeId = -1; // -1 = 아직 등록 전 (또는 번호를 빼앗김)
+    private static long reservedUntil = -1;
+
+    private static long lastSecond = -1;
+    private static long sequence = 0;
+
+    private ShardIdSequence() {
+    }
+
+    public static void validateNode(int node) {
+        if (node < 0 || node > NODE_MASK) {
+            throw new IllegalArgumentException("sharding.node-id must be between 0 and " + NODE_MASK);
+        }
+    }
+
+    // 노드 번호 설정. highWaterSecond = 이 번호로 이전에 예약됐던 마지막 초 (그 초까지는 다시 쓰지 않음)
+    public static synchronized void configureNode(int node, long highWaterSecond) {
+        validateNode(node);
+        nodeId = node;
+        if (highWaterSecond >= lastSecond) {
+            // 다음 발급이 highWaterSecond + 1 초부터 시작하도록 시퀀스를 끝까지 채워 둠
+            lastSecond = highWaterSecond;
+            sequence = SEQUENCE_MASK;
+        }
+    }
+
+    // 지금(또는 이미 당겨 쓴 초) 기준으로 aheadSeconds 뒤까지의 예약 상한
+    public static synchronized long reservationFrom(long aheadSeconds) {
+        return Math.max(lastSecond, currentSecond()) + aheadSeconds;
+    }
+
+    // 디렉터리에 상한을 기록한 뒤에만 호출
+    public static synchronized void extendReservation(long untilSecond) {
+        reservedUntil = Math.max(reservedUntil, untilSecond);
+    }
+
+    // 번호를 다른 인스턴스가 가져갔거나 종료 중 → 더 이상 발급하지 않음
+    public static synchronized void revoke() {
+        nodeId = -1;
+        reservedUntil = -1;
+    }
+
+    public static synchronized long next(int shard) {
+        if (shard < 0 || shard > SHARD_MASK) {
+            throw new IllegalArgumentException("Shard out of range: " + shard);
+        }
+        if (nodeId < 0) {
+            throw new IllegalStateException("Shard id node is not registered (sharding.node-id)");
+        }
+
+        long now = currentSecond();
+        long seq = 0;
+        if (now <= lastSecond) {
+            // 같은 초 (또는 시계가 뒤로 감) → 마지막 초 기준으로 시퀀스 증가
+            now = lastSecond;
+            seq = (sequence + 1) & SEQUENCE_MASK;
+            if (seq == 0) {
+                now = lastSecond + 1;
+            }
+        }
+        // 발급이 확정된 뒤에만 상태를 바꿈 (거절된 호출이 같은 초/시퀀스를 다시 쓰게 만들지 않도록)
+        if (now > reservedUntil) {
+            // 디렉터리에 기록되지 않은 초 - 재시작 후 겹칠 수 있으니 발급하지 않음 (heartbeat 가 밀린 경우)
+            throw new IllegalStateException("Shard id reservation exhausted at second " + reservedUntil);
+        }
+        if (now > TIME_MASK) {
+            throw new IllegalStateException("Id time bits exhausted");
+        }
+        lastSecond = now;
+        sequence = seq;
+
+        return (now << TIME_SHIFT)
+                | ((long) shard << SHARD_SHIFT)
+                | (nodeId << NODE_SHIFT)
+                | sequence;
+    }
+
+    public static int shardOf(long id) {
+        return (int) ((id >>> SHARD_SHIFT) & SHARD_MASK);
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> NODE_SHIFT) & NODE_MASK);
+    }
+
+    public static long secondOf(long id) {
+        return id >>> TIME_SHIFT;
+    }
+
+    static long currentSecond() {
+        return System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+    }
+
+    // 테스트용: 등록 전 상태로 되돌림
+    static synchronized void reset() {
+        nodeId = -1;
+        reservedUntil = -1;
+        lastSecond = -1;
+        sequence = 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobbuddy.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.Map;
+
+// 샤드 번호 → 커넥션 풀. 종료 시 풀을 닫는다.
+public class ShardPools implements AutoCloseable {
+
+    private final Map<Integer, HikariDataSource> pools;
+
+    public ShardPools(Map<Integer, HikariDataSource> pools) {
+        this.pools = Collections.unmodifiableMap(pools);
+    }
+
+    public DataSource get(int shard) {
+        DataSource dataSource = pools.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    public int size() {
+        return pools.size();
+    }
+
+    public Map<Integer, ? extends DataSource> asMap() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobbuddy.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 id 기준 consistent hashing 샤드 라우터.
+ *  - 샤드마다 가상 노드를 여러 개 링에 올려서 분포를 고르게
+ *  - 샤드가 추가돼도 일부 사용자만 이동
+ *  - 리샤딩으로 옮긴 사용자는 디렉터리(0번 샤드)의 user_shard_overrides 로 고정
+ */
+public class ShardRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+    private final List<Integer> shards;
+    private final Map<Long, Integer> overrides = new ConcurrentHashMap<>();
+    private final JdbcTemplate directoryJdbc;
+
+    public ShardRouter(int shardCount, int virtualNodes, DataSource directoryDataSource) {
+        List<Integer> list = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            list.add(shard);
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(mix(((long) shard << 32) | v), shard);
+            }
+        }
+        this.shards = Collections.unmodifiableList(list);
+        this.directoryJdbc = new JdbcTemplate(directoryDataSource);
+    }
+
+    // 빈 초기화 시 (initMethod) 디렉터리 테이블 준비 + 고정된 사용자 로딩
+    public void initialize() {
+        directoryJdbc.execute("create table if not exists user_shard_overrides (" +
+                "user_id bigint primary key, shard int not null)");
+        refreshOverrides();
+    }
+
+    public int shardFor(long userId) {
+        Integer pinned = overrides.get(userId);
+        if (pinned != null) {
+            return pinned;
+        }
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<Integer> shards() {
+        return shards;
+    }
+
+    // 리샤딩 완료 후 호출: 디렉터리에 기록하고 로컬 캐시에도 반영
+    public void pin(long userId, int shard) {
+        directoryJdbc.update("insert into user_shard_overrides (user_id, shard) values (?, ?) " +
+                "on duplicate key update shard = values(shard)", userId, shard);
+        overrides.put(userId, shard);
+    }
+
+    // 다른 인스턴스에서 옮긴 사용자 반영
+    @Scheduled(fixedDelayString = "${sharding.override-refresh-ms:30000}")
+    public void refreshOverrides() {
+        try {
+            Map<Long, Integer> latest = new ConcurrentHashMap<>();
+            directoryJdbc.query("select user_id, shard from user_shard_overrides",
+                    rs -> { latest.put(rs.getLong(1), rs.getInt(2)); });
+            overrides.putAll(latest);
+            overrides.keySet().retainAll(latest.keySet());
+        } catch (Exception e) {
+            log.warn("Failed to refresh shard overrides: {}", e.getMessage());
+        }
+    }
+
+    // splitmix64 - 사용자 id 와 가상 노드 위치를 고르게 흩뿌리기 위한 해시
+    static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,12 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// 현재 스레드에 묶인 샤드 번호로 커넥션 풀을 고른다 (없으면 0번 = 디렉터리)
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContextHolder.currentOrDefault();
+    }
+}
@@ -0,0 +1,87 @@
+package com.jobbuddy.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * sharding.enabled=true 일 때 사용자 기준 샤드 라우팅 DataSource 를 구성한다.
+ *  - cover_letters / cover_letter_questions 는 소유자 샤드에, users 는 0번 샤드에 둔다
+ *  - ddl-auto 는 0번 샤드에만 적용되므로 나머지 샤드는 같은 스키마로 미리 만들어 둬야 한다
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardPools shardPools(ShardingProperties properties,
+                                 @Value("${spring.datasource.username}") String defaultUsername,
+                                 @Value("${spring.datasource.password}") String defaultPassword) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled=true but no sharding.shards configured");
+        }
+
+        Map<Integer, HikariDataSource> pools = new HashMap<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() != null ? shard.getUsername() : defaultUsername)
+                    .password(shard.getPassword() != null ? shard.getPassword() : defaultPassword)
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            pools.put(i, dataSource);
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean(initMethod = "initialize")
+    public ShardRouter shardRouter(ShardingProperties properties, ShardPools shardPools) {
+        return new ShardRouter(shardPools.size(), properties.getVirtualNodes(), shardPools.get(0));
+    }
+
+    @Bean
+    public ShardIdNodeLease shardIdNodeLease(ShardingProperties properties, ShardPools shardPools) {
+        return new ShardIdNodeLease(shardPools.get(0), properties.getNodeId(),
+                properties.getNodeLeaseTimeout(), properties.getIdReserveAhead());
+    }
+
+    @Bean
+    public UserShardMover userShardMover(ShardPools shardPools, ShardRouter shardRouter,
+                                         @Value("${sharding.override-refresh-ms:30000}") long overrideRefreshMs) {
+        return new UserShardMover(shardPools, shardRouter, Duration.ofMillis(overrideRefreshMs));
+    }
+
+    @Bean
+    public ReshardRunner reshardRunner(UserShardMover userShardMover) {
+        return new ReshardRunner(userShardMover);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardPools shardPools) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.putAll(shardPools.asMap());
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shardPools.get(0));
+        routing.afterPropertiesSet();
+
+        // 첫 쿼리 시점에 샤드를 고르도록 (컨트롤러에서 사용자 샤드를 묶은 뒤)
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
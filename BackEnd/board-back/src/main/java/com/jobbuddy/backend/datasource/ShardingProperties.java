@@ -0,0 +1,65 @@
+package com.jobbuddy.backend.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * sharding.* 설정. 0번 샤드는 users / 샤드 디렉터리가 있는 기본 DB 여야 한다.
+ *
+ * sharding.enabled=true
+ * sharding.shards[0].url=jdbc:mysql://localhost:3306/jobbuddy...
+ * sharding.shards[1].url=jdbc:mysql://localhost:3307/jobbuddy...
+ * sharding.node-id=0   (인스턴스마다 다르게, 0~15 - 없으면 기동 실패)
+ */
+@ConfigurationProperties("sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private int virtualNodes = 128;
+    private int maximumPoolSize = 10;
+    private Integer nodeId;
+    // 이 시간 동안 heartbeat 가 없으면 다른 인스턴스가 같은 node-id 를 가져갈 수 있음
+    private Duration nodeLeaseTimeout = Duration.ofSeconds(30);
+    // heartbeat 한 번에 미리 예약(디렉터리에 기록)하는 id 초 범위
+    private Duration idReserveAhead = Duration.ofSeconds(60);
+    private List<Shard> shards = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public Integer getNodeId() { return nodeId; }
+    public void setNodeId(Integer nodeId) { this.nodeId = nodeId; }
+
+    public Duration getNodeLeaseTimeout() { return nodeLeaseTimeout; }
+    public void setNodeLeaseTimeout(Duration nodeLeaseTimeout) { this.nodeLeaseTimeout = nodeLeaseTimeout; }
+
+    public Duration getIdReserveAhead() { return idReserveAhead; }
+    public void setIdReserveAhead(Duration idReserveAhead) { this.idReserveAhead = idReserveAhead; }
+
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
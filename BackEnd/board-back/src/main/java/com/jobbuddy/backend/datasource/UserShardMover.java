@@ -0,0 +1,212 @@
+package com.jobbuddy.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 한 사용자의 자소서를 다른 샤드로 옮기는 온라인 리샤딩 도구.
+ *  1) 대상 외 모든 샤드에서 사용자 row 를 대상 샤드로 복사 (원본은 그대로 두고, 복사한 id → version 을 기억)
+ *     (자소서가 가리키는 이력서 스냅샷도 복사, 원본 쪽 스냅샷은 참조가 끊기면 purger 가 정리)
+ *  2) 디렉터리에 사용자 → 대상 샤드 고정 (이 인스턴스는 바로 대상 샤드로)
+ *  3) override 갱신 주기(sharding.override-refresh-ms) + 여유만큼 기다림
+ *     → 그동안 다른 인스턴스는 아직 원본 샤드를 읽고 쓰지만, 원본 row 가 남아 있어 목록 / 조회가 비지 않음
+ *  4) 원본 샤드마다 row 를 FOR UPDATE 로 잠그고, 1) 이후 원본에서만 바뀐 row(version 이 다름)와 새로 생긴 row 를
+ *     대상에 다시 복사한 뒤 원본 row 삭제 (원본과 대상 양쪽에서 바뀐 row 는 대상 쪽을 남기고 경고 로그)
+ * 4) 이후에 늦게 도착한 원본 쪽 쓰기가 있으면 한 번 더 실행해서 정리한다. (재실행해도 안전)
+ */
+public class UserShardMover {
+
+    private static final Logger log = LoggerFactory.getLogger(UserShardMover.class);
+
+    // 갱신 주기가 막 지난 시점에 시작된 요청이 끝날 때까지
+    private static final Duration SETTLE_MARGIN = Duration.ofSeconds(5);
+
+    private final ShardPools shardPools;
+    private final ShardRouter router;
+    private final Duration overrideRefresh;
+
+    public UserShardMover(ShardPools shardPools, ShardRouter router, Duration overrideRefresh) {
+        this.shardPools = shardPools;
+        this.router = router;
+        this.overrideRefresh = overrideRefresh;
+    }
+
+    public int move(long userId, int targetShard) {
+        shardPools.get(targetShard); // 존재하는 샤드인지 확인
+        int currentShard = router.shardFor(userId);
+
+        // 1) 복사 (원본은 남겨 둠)
+        Map<Integer, Map<Long, Long>> copied = new LinkedHashMap<>();
+        for (int shard : router.shards()) {
+            if (shard != targetShard) {
+                copied.put(shard, copyRows(userId, shard, targetShard));
+            }
+        }
+
+        // 2) 고정 3) 다른 인스턴스가 대상 샤드로 라우팅할 때까지 대기 (이미 대상 샤드에 있던 사용자는 기다릴 필요 없음)
+        router.pin(userId, targetShard);
+        if (currentShard != targetShard) {
+            awaitOverrideRefresh();
+        }
+
+        // 4) 그 사이 원본에 생긴 변경을 따라잡고 원본 삭제
+        int moved = 0;
+        for (Map.Entry<Integer, Map<Long, Long>> source : copied.entrySet()) {
+            moved += finishRows(userId, source.getKey(), targetShard, source.getValue());
+        }
+
+        log.info("Moved {} cover letters of user {} to shard {}", moved, userId, targetShard);
+        return moved;
+    }
+
+    private void awaitOverrideRefresh() {
+        Duration wait = overrideRefresh.plus(SETTLE_MARGIN);
+        log.info("Waiting {} for other instances to pick up the shard override", wait);
+        try {
+            Thread.sleep(wait.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted before removing source rows; rerun the move", e);
+        }
+    }
+
+    // 원본 row 를 대상에 복사만 하고, 복사한 id → version 을 돌려줌
+    private Map<Long, Long> copyRows(long userId, int fromShard, int toShard) {
+        JdbcTemplate source = new JdbcTemplate(shardPools.get(fromShard));
+        TransactionTemplate sourceTx =
+                new TransactionTemplate(new DataSourceTransactionManager(shardPools.get(fromShard)));
+
+        Map<Long, Long> copied = sourceTx.execute(status -> {
+            List<Map<String, Object>> letters = source.queryForList(
+                    "select * from cover_letters where user_id = ? for update", userId);
+            writeToTarget(source, toShard, letters);
+            return versions(letters);
+        });
+        return copied != null ? copied : Map.of();
+    }
+
+    // 복사 이후 원본에서만 바뀐 row / 새 row 를 다시 복사하고 원본 삭제 (원본 트랜잭션 안에서 잠근 채로)
+    private int finishRows(long userId, int fromShard, int toShard, Map<Long, Long> copied) {
+        JdbcTemplate source = new JdbcTemplate(shardPools.get(fromShard));
+        JdbcTemplate target = new JdbcTemplate(shardPools.get(toShard));
+        TransactionTemplate sourceTx =
+                new TransactionTemplate(new DataSourceTransactionManager(shardPools.get(fromShard)));
+
+        Integer moved = sourceTx.execute(status -> {
+            List<Map<String, Object>> letters = source.queryForList(
+                    "select * from cover_letters where user_id = ? for update", userId);
+            if (letters.isEmpty()) {
+                return 0;
+            }
+            Object[] ids = letters.stream().map(row -> row.get("id")).toArray();
+            String in = String.join(",", Collections.nCopies(ids.length, "?"));
+
+            Map<Long, Long> targetVersions = versions(target.queryForList(
+                    "select id, version from cover_letters where id in (" + in + ")", ids));
+            List<Map<String, Object>> stale = new ArrayList<>();
+            for (Map<String, Object> row : letters) {
+                Long id = number(row.get("id"));
+                Long sourceVersion = number(row.get("version"));
+                Long copiedVersion = copied.get(id);
+                if (copiedVersion != null && copiedVersion.equals(sourceVersion)) {
+                    continue; // 복사 이후 원본에서 안 바뀜
+                }
+                Long targetVersion = targetVersions.get(id);
+                if (copiedVersion != null && targetVersion != null && !copiedVersion.equals(targetVersion)) {
+                    // 원본(갱신 전 인스턴스)과 대상(갱신 후 인스턴스) 양쪽에서 바뀜 → 새 라우팅 쪽을 남김
+                    log.warn("Cover letter {} changed on both shard {} and {} during the move; keeping shard {}",
+                            id, fromShard, toShard, toShard);
+                    continue;
+                }
+                stale.add(row);
+            }
+            writeToTarget(source, toShard, stale);
+
+            source.update("delete from cover_letter_questions where cover_letter_id in (" + in + ")", ids);
+            source.update("delete from cover_letters where id in (" + in + ")", ids);
+            return letters.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    // letters 와 그 문항 / 이력서 스냅샷을 대상 샤드에 씀 (대상에 이미 있는 같은 id 는 덮어씀)
+    private void writeToTarget(JdbcTemplate source, int toShard, List<Map<String, Object>> letters) {
+        if (letters.isEmpty()) {
+            return;
+        }
+        JdbcTemplate target = new JdbcTemplate(shardPools.get(toShard));
+        TransactionTemplate targetTx =
+                new TransactionTemplate(new DataSourceTransactionManager(shardPools.get(toShard)));
+
+        Object[] ids = letters.stream().map(row -> row.get("id")).toArray();
+        String in = String.join(",", Collections.nCopies(ids.length, "?"));
+        List<Map<String, Object>> questions = source.queryForList(
+                "select * from cover_letter_questions where cover_letter_id in (" + in + ")", ids);
+
+        Object[] hashes = letters.stream()
+                .map(row -> row.get("resume_hash"))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray();
+        List<Map<String, Object>> snapshots = hashes.length == 0 ? List.of() : source.queryForList(
+                "select * from resume_snapshots where content_hash in ("
+                        + String.join(",", Collections.nCopies(hashes.length, "?")) + ")", hashes);
+
+        // 중간에 끊겼다가 재실행됐거나 다시 복사하는 경우를 위해 대상 쪽 기존 복사본은 먼저 지움
+        targetTx.executeWithoutResult(t -> {
+            target.update("delete from cover_letter_questions where cover_letter_id in (" + in + ")", ids);
+            target.update("delete from cover_letters where id in (" + in + ")", ids);
+            // 스냅샷은 내용이 hash 로 정해지므로 대상에 이미 있으면 그대로 둠
+            insertAll(target, "resume_snapshots", snapshots, " on duplicate key update content_hash = content_hash");
+            insertAll(target, "cover_letters", letters);
+            insertAll(target, "cover_letter_questions", questions);
+        });
+    }
+
+    private static Map<Long, Long> versions(List<Map<String, Object>> rows) {
+        Map<Long, Long> versions = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            versions.put(number(row.get("id")), number(row.get("version")));
+        }
+        return versions;
+    }
+
+    private static Long number(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private void insertAll(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows) {
+        insertAll(jdbc, table, rows, "");
+    }
+
+    private void insertAll(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows, String suffix) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "insert into " + table + " (" + String.join(",", columns) + ") values ("
+                + String.join(",", Collections.nCopies(columns.size(), "?")) + ")" + suffix;
+
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                values[i] = row.get(columns.get(i));
+            }
+            batch.add(values);
+        }
+        jdbc.batchUpdate(sql, batch);
+    }
+}
@@ -0,0 +1,175 @@
+package com.jobbuddy.backend.document;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 보관함 전체를 ZIP 으로 스트리밍.
+ *  - entries 는 한 건씩 꺼내 씀 (DB 도 페이지 단위로 읽도록 호출한 쪽에서 Iterator 로 넘김)
+ *  - 렌더링은 다운로드와 같은 DocumentRenderExecutor 에서 병렬로, 하지만 ZIP 에는 entries 순서대로 씀
+ *    → 동시에 잡고 있는 문서는 window 개뿐이라 보관함 크기와 상관없이 메모리 일정
+ *  - 렌더링 캐시에 있는 파일은 풀을 거치지 않고 그대로 씀, 큰 파일은 캐시 디렉터리에서 바로 복사
+ *  - 실패한 문서는 건너뛰고 마지막에 export-errors.txt 로 목록을 남김
+ * 풀이 꽉 차면 직접 렌더링하지 않고 앞서 넣은 문서를 먼저 씀 (그동안 자리가 나길 기다림)
+ * → 내보내기가 몰려도 렌더링 동시 실행 수는 다운로드와 합쳐 풀 크기를 넘지 않음.
+ * 시작할 때 대기열이 이미 꽉 차 있으면 ensureCapacity 에서 503 (RenderOverloadedException).
+ */
+@Component
+public class ArchiveExporter {
+
+    /**
+     * ZIP 한 항목.
+     *
+     * @param name   ZIP 안의 파일 이름
+     * @param key    렌더링 캐시 key
+     * @param writer 캐시에 없을 때 렌더링
+     */
+    public record Entry(String name, DocumentKey key, DocumentWriter writer) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveExporter.class);
+
+    // 대기열이 비길 기다릴 때 (앞서 넣은 문서가 없을 때만)
+    private static final long FULL_POOL_BACKOFF_MILLIS = 20;
+
+    private final RenderedDocumentCache documentCache;
+    private final DocumentRenderExecutor renderExecutor;
+    private final int window;
+
+    private final Timer exportTimer;
+    private final Counter entryCounter;
+    private final Counter failedCounter;
+
+    public ArchiveExporter(RenderedDocumentCache documentCache,
+                           DocumentRenderExecutor renderExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${document.export.window:0}") int window) {
+        this.documentCache = documentCache;
+        this.renderExecutor = renderExecutor;
+        // 0 이면 코어 수
+        this.window = window > 0 ? window : Runtime.getRuntime().availableProcessors();
+
+        this.exportTimer = Timer.builder("document.export")
+                .description("Time spent streaming one archive export")
+                .register(meterRegistry);
+        this.entryCounter = Counter.builder("document.export.entries")
+                .description("Documents written to archive exports")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("document.export.failed")
+                .description("Documents skipped in archive exports because rendering failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 응답을 시작하기 전에 부름 (스트리밍이 시작된 뒤에는 503 을 줄 수 없으므로).
+     *
+     * @throws RenderOverloadedException 렌더링 풀이 꽉 찼거나 종료 중
+     */
+    public void ensureCapacity() {
+        renderExecutor.ensureCapacity();
+    }
+
+    // out 은 닫지 않음 (zip 만 마무리). 샤드 컨텍스트는 호출한 스레드 것을 씀
+    public void export(Iterator<Entry> entries, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        Deque<Pending> pending = new ArrayDeque<>(window);
+        List<String> failures = new ArrayList<>();
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // PDF / DOCX 는 이미 압축돼 있어서 다시 압축해도 거의 안 줄어듦
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        try {
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                pending.addLast(new Pending(entry, render(entry, pending, zip, failures)));
+                if (pending.size() >= window) {
+                    writeNext(pending.removeFirst(), zip, failures);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeNext(pending.removeFirst(), zip, failures);
+            }
+
+            if (!failures.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("export-errors.txt"));
+                zip.write(("다음 문서는 만들지 못했습니다:\n" + String.join("\n", failures) + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+        } finally {
+            // 클라이언트가 끊었으면 남은 렌더링은 취소
+            pending.forEach(p -> p.future().cancel(false));
+            exportTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 캐시에 있으면 바로, 없으면 렌더링 풀에 넣음 (꽉 찼으면 앞선 문서를 써서 자리가 나길 기다림)
+    private CompletableFuture<RenderedDocument> render(Entry entry, Deque<Pending> pending, ZipOutputStream zip,
+                                                       List<String> failures) throws IOException {
+        if (documentCache.contains(entry.key())) {
+            try {
+                return CompletableFuture.completedFuture(documentCache.fetch(entry.key(), entry.writer()));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        while (true) {
+            // 종료 중이면 RenderOverloadedException → 내보내기 중단
+            CompletableFuture<RenderedDocument> future =
+                    renderExecutor.trySubmit(() -> documentCache.fetch(entry.key(), entry.writer()));
+            if (future != null) {
+                return future;
+            }
+            if (!pending.isEmpty()) {
+                writeNext(pending.removeFirst(), zip, failures);
+            } else {
+                try {
+                    Thread.sleep(FULL_POOL_BACKOFF_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Archive export interrupted", e);
+                }
+            }
+        }
+    }
+
+    private void writeNext(Pending next, ZipOutputStream zip, List<String> failures) throws IOException {
+        RenderedDocument document;
+        try {
+            document = next.future().join();
+        } catch (CompletionException e) {
+            failedCounter.increment();
+            failures.add(next.entry().name());
+            log.warn("Skipping {} in archive export", next.entry().key(), e.getCause());
+            return;
+        }
+        zip.putNextEntry(new ZipEntry(next.entry().name()));
+        document.writeTo(zip, 0, document.length());
+        zip.closeEntry();
+        entryCounter.increment();
+    }
+
+    private record Pending(Entry entry, CompletableFuture<RenderedDocument> future) {
+    }
+}
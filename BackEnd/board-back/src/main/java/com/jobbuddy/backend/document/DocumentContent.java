@@ -0,0 +1,14 @@
+package com.jobbuddy.backend.document;
+
+import java.util.List;
+
+/**
+ * 다운로드 파일에 들어갈 자소서 내용 (모든 DocumentRenderer 가 같은 값을 받음).
+ * DOCX 템플릿에서는 {{title}}, {{company}}, {{job}}, {{#sections}} 안의 {{question}} / {{answer}}.
+ * null 은 빈 값으로 처리.
+ */
+public record DocumentContent(String title, String company, String job, List<Section> sections) {
+
+    public record Section(String question, String answer) {
+    }
+}
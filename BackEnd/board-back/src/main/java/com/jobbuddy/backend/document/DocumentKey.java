@@ -0,0 +1,34 @@
+package com.jobbuddy.backend.document;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * 렌더링 결과를 구분하는 값 (자소서 + 마지막 수정 시각 + 템플릿 + 형식).
+ * 자소서가 바뀌면 updatedAt 이 바뀌므로, 같은 key = 같은 파일.
+ */
+public record DocumentKey(Long coverLetterId, LocalDateTime updatedAt, String templateId, String format) {
+
+    // 강한 ETag (key 가 같으면 같은 내용으로 렌더링됨)
+    public String eTag() {
+        return "\"" + digest().substring(0, 32) + "\"";
+    }
+
+    // 디스크 spill 파일 이름
+    String fileName() {
+        return digest() + ".bin";
+    }
+
+    private String digest() {
+        String value = coverLetterId + "|" + updatedAt + "|" + (templateId != null ? templateId : "") + "|" + format;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
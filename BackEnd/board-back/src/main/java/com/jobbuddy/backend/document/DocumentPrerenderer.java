@@ -0,0 +1,145 @@
+package com.jobbuddy.backend.document;
+
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 자소서 생성이 끝나면 다운로드 파일(PDF / DOCX)을 미리 만들어 RenderedDocumentCache 에 넣는다.
+ *  - 생성 트랜잭션이 커밋된 뒤에만 시작 (롤백되면 아무것도 안 함), 샤드 컨텍스트는 예약한 스레드 것을 그대로 씀
+ *  - 전용 CPU 풀 (스레드 수 / 대기열 고정) → 꽉 차면 버리고 다운로드 때 렌더링
+ *  - 실패해도 로그 + 지표만 남김 (생성 결과에는 영향 없음)
+ * 실제로 쓰였는지는 RenderedDocumentCache 의 document.prerender.hits / renders 로 확인.
+ */
+@Component
+public class DocumentPrerenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentPrerenderer.class);
+
+    private final RenderedDocumentCache documentCache;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer renderTimer;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public DocumentPrerenderer(RenderedDocumentCache documentCache,
+                               MeterRegistry meterRegistry,
+                               @Value("${document.prerender.enabled:true}") boolean enabled,
+                               @Value("${document.prerender.threads:0}") int threads,
+                               @Value("${document.prerender.queue-capacity:100}") int queueCapacity) {
+        this.documentCache = documentCache;
+        this.enabled = enabled;
+
+        // 0 이면 코어 수의 절반 (다운로드 / 요청 처리에 쓸 CPU 는 남겨 둠)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "document-prerender-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("document.prerender.render")
+                .description("Time spent pre-rendering one document")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("document.prerender.skipped")
+                .description("Pre-render tasks that found the document already cached")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("document.prerender.failed")
+                .description("Pre-render tasks that failed (the download renders on demand)")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("document.prerender.rejected")
+                .description("Pre-render tasks dropped because the pool was saturated")
+                .register(meterRegistry);
+        meterRegistry.gauge("document.prerender.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 keys 로 받은 문서들을 미리 렌더링.
+     *
+     * @param keys      렌더링할 key (풀에서, 커밋된 값으로 계산)
+     * @param writerFor key 별 렌더러
+     */
+    public void scheduleAfterCommit(Supplier<List<DocumentKey>> keys,
+                                    Function<DocumentKey, DocumentWriter> writerFor) {
+        if (!enabled) {
+            return;
+        }
+        int shard = ShardContextHolder.currentOrDefault();
+        Runnable submit = () -> submit(shard, keys, writerFor);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    private void submit(int shard, Supplier<List<DocumentKey>> keys,
+                        Function<DocumentKey, DocumentWriter> writerFor) {
+        try {
+            executor.execute(() -> {
+                ShardContextHolder.set(shard);
+                try {
+                    for (DocumentKey key : keys.get()) {
+                        prerender(key, writerFor.apply(key));
+                    }
+                } catch (RuntimeException e) {
+                    failedCounter.increment();
+                    log.warn("Failed to prepare documents for pre-rendering", e);
+                } finally {
+                    ShardContextHolder.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+        }
+    }
+
+    private void prerender(DocumentKey key, DocumentWriter writer) {
+        try {
+            Boolean rendered = renderTimer.record(() -> documentCache.prerender(key, writer));
+            if (!Boolean.TRUE.equals(rendered)) {
+                skippedCounter.increment();
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Failed to pre-render {}", key, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
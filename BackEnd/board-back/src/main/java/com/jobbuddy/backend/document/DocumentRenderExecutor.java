@@ -0,0 +1,180 @@
+package com.jobbuddy.backend.document;
+
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 다운로드 렌더링(POI / PDFBox) 전용 풀.
+ *  - 톰캣 요청 스레드는 제출만 하고 바로 반환 (응답은 CompletableFuture 로) → 다운로드가 몰려도 가벼운 API 는 그대로
+ *  - 스레드 수 = 코어 수, 대기열 고정 → 꽉 차면 기다리지 않고 바로 RenderOverloadedException (503 + Retry-After)
+ *  - 보관함 내보내기(ArchiveExporter)도 같은 풀에서 렌더링 → 내보내기가 몰려도 CPU 를 다 쓰지 않음
+ *  - 대기 시간 / 렌더링 시간 / 거절 수를 지표로 노출
+ *  - 종료 시: 새 작업은 거절하고, 이미 받은 작업은 drain-timeout 까지 끝냄 (웹 서버 graceful shutdown 이후)
+ */
+@Component
+public class DocumentRenderExecutor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentRenderExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Duration drainTimeout;
+    private volatile boolean running;
+
+    private final Timer renderTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public DocumentRenderExecutor(MeterRegistry meterRegistry,
+                                  @Value("${document.render.threads:0}") int threads,
+                                  @Value("${document.render.queue-capacity:64}") int queueCapacity,
+                                  @Value("${document.render.retry-after-seconds:2}") long retryAfterSeconds,
+                                  @Value("${document.render.drain-timeout:PT20S}") Duration drainTimeout) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.drainTimeout = drainTimeout;
+
+        // 0 이면 코어 수만큼 (CPU / 할당 위주 작업이라 그 이상은 의미 없음)
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "document-render-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("document.render")
+                .description("Time spent rendering one download on the render pool")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("document.render.queue.wait")
+                .description("Time a download render waited for a worker")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("document.render.rejected")
+                .description("Download renders rejected because the pool was saturated or draining")
+                .register(meterRegistry);
+        meterRegistry.gauge("document.render.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("document.render.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * task 를 렌더링 풀에서 실행 (샤드 컨텍스트는 제출한 스레드 것을 그대로 씀).
+     *
+     * @throws RenderOverloadedException 풀이 꽉 찼거나 종료 중
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = enqueue(task);
+        if (result == null) {
+            throw overloaded();
+        }
+        return result;
+    }
+
+    /**
+     * submit 과 같지만 풀이 꽉 차 있으면 기다리지 않고 null (거절 수에는 세지 않음).
+     * 내보내기처럼 앞선 작업이 끝나길 기다렸다 다시 넣을 수 있는 쪽에서 씀.
+     *
+     * @throws RenderOverloadedException 종료 중
+     */
+    public <T> CompletableFuture<T> trySubmit(Callable<T> task) {
+        CompletableFuture<T> result = enqueue(task);
+        if (result == null && !running) {
+            throw overloaded();
+        }
+        return result;
+    }
+
+    /**
+     * 오래 걸리는 작업(내보내기)을 시작하기 전 확인 – 대기열이 이미 꽉 찼거나 종료 중이면 바로 503.
+     *
+     * @throws RenderOverloadedException 풀이 꽉 찼거나 종료 중
+     */
+    public void ensureCapacity() {
+        if (!running || executor.getQueue().remainingCapacity() == 0) {
+            throw overloaded();
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Callable<T> task) {
+        if (!running) {
+            return null;
+        }
+        int shard = ShardContextHolder.currentOrDefault();
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                ShardContextHolder.set(shard);
+                try {
+                    result.complete(renderTimer.recordCallable(task));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    ShardContextHolder.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return result;
+    }
+
+    private RenderOverloadedException overloaded() {
+        rejectedCounter.increment();
+        return new RenderOverloadedException("다운로드 요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    // ===== SmartLifecycle =====
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // 새 작업은 503, 이미 받은 작업은 끝날 때까지 (최대 drainTimeout) 기다림
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                int dropped = executor.shutdownNow().size();
+                log.warn("Render pool did not drain within {}, dropped {} queued renders", drainTimeout, dropped);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(graceful shutdown)보다 나중에 멈춰서, 처리 중인 다운로드 응답까지 끝낸 뒤 정리
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 다운로드 형식 하나 (pdf / word / html / md / txt ...).
+ * 구현을 @Component 로 등록하면 DocumentRenderers 가 모아서 다운로드 / 내보내기에 바로 쓰임
+ * (컨트롤러 / 서비스에서 형식별 분기 없음).
+ */
+public interface DocumentRenderer {
+
+    // ?format= 값이자 DocumentKey.format (소문자)
+    String format();
+
+    // ?format= 로 같이 받을 다른 이름 (예: word → docx)
+    default List<String> aliases() {
+        return List.of();
+    }
+
+    // 응답 Content-Type, Accept 로 형식을 고를 때도 사용
+    MediaType mediaType();
+
+    // 파일 확장자 (점 포함)
+    String extension();
+
+    // POI / PDFBox 처럼 무거운 렌더링이면 true → 렌더링 풀에서 실행 + 생성 직후 미리 렌더링
+    default boolean heavy() {
+        return false;
+    }
+
+    /**
+     * content 를 out 에 바로 씀 (out 은 닫지 않음).
+     *
+     * @param templateId 자소서에 저장된 템플릿 (없으면 null)
+     */
+    void render(String templateId, DocumentContent content, OutputStream out) throws IOException;
+}
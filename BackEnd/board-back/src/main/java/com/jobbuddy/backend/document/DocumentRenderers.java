@@ -0,0 +1,80 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 등록된 DocumentRenderer 모음 – 형식 이름(?format=) 또는 Accept 헤더로 찾음.
+ *  - 같은 이름을 두 렌더러가 쓰면 시작 실패
+ *  - Accept 는 q 값이 높은 것부터, 와일드카드 타입은 형식을 정하지 않음 (브라우저 기본 Accept → ?format= 필요)
+ */
+@Component
+public class DocumentRenderers {
+
+    private final List<DocumentRenderer> renderers;
+    private final Map<String, DocumentRenderer> byName = new HashMap<>();
+
+    public DocumentRenderers(List<DocumentRenderer> renderers) {
+        this.renderers = List.copyOf(renderers);
+        for (DocumentRenderer renderer : renderers) {
+            register(renderer.format(), renderer);
+            renderer.aliases().forEach(alias -> register(alias, renderer));
+        }
+    }
+
+    private void register(String name, DocumentRenderer renderer) {
+        DocumentRenderer previous = byName.putIfAbsent(name.toLowerCase(Locale.ROOT), renderer);
+        if (previous != null && previous != renderer) {
+            throw new IllegalStateException("Duplicate document format: " + name);
+        }
+    }
+
+    public List<DocumentRenderer> all() {
+        return renderers;
+    }
+
+    public Optional<DocumentRenderer> find(String format) {
+        return format == null ? Optional.empty() : Optional.ofNullable(byName.get(format.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * ?format= 이 있으면 그것으로, 없으면 Accept 헤더에서 처음 맞는 형식으로.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 형식 / 정할 수 없음
+     */
+    public DocumentRenderer resolve(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            return find(format).orElseThrow(() -> new IllegalArgumentException("Unsupported format."));
+        }
+        if (accept != null) {
+            List<MediaType> accepted;
+            try {
+                accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            } catch (InvalidMediaTypeException e) {
+                throw new IllegalArgumentException("Invalid Accept header.");
+            }
+            // 같은 q 값이면 헤더에 적힌 순서 (정렬이 안정적)
+            accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType type : accepted) {
+                if (type.isWildcardType() || type.isWildcardSubtype() || type.getQualityValue() == 0) {
+                    continue;
+                }
+                for (DocumentRenderer renderer : renderers) {
+                    if (renderer.mediaType().equalsTypeAndSubtype(type)) {
+                        return renderer;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format.");
+    }
+}
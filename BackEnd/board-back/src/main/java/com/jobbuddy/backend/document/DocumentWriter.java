@@ -0,0 +1,12 @@
+package com.jobbuddy.backend.document;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 문서를 스트림에 바로 써서 만드는 렌더러 (전체 byte[] 를 만들지 않음).
+ */
+@FunctionalInterface
+public interface DocumentWriter {
+    void write(OutputStream out) throws IOException;
+}
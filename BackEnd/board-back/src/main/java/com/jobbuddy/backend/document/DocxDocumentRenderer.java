@@ -0,0 +1,54 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * word (docx) – 자소서에 저장된 templateId 의 컴파일된 템플릿으로 (없으면 기본 템플릿).
+ */
+@Component
+public class DocxDocumentRenderer implements DocumentRenderer {
+
+    private static final MediaType DOCX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+
+    private final DocxTemplates docxTemplates;
+
+    public DocxDocumentRenderer(DocxTemplates docxTemplates) {
+        this.docxTemplates = docxTemplates;
+    }
+
+    @Override
+    public String format() {
+        return "word";
+    }
+
+    @Override
+    public List<String> aliases() {
+        return List.of("docx");
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return DOCX;
+    }
+
+    @Override
+    public String extension() {
+        return ".docx";
+    }
+
+    @Override
+    public boolean heavy() {
+        return true;
+    }
+
+    @Override
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        docxTemplates.render(templateId, content, out);
+    }
+}
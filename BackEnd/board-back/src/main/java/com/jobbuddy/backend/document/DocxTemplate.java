@@ -0,0 +1,167 @@
+package com.jobbuddy.backend.document;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 컴파일된 DOCX 템플릿 (불변, 여러 스레드가 같이 씀).
+ *  - document.xml 을 "리터럴 바이트 / 자리표시자" 조각으로 미리 나눠 둠 → 렌더링은 조각을 이어 쓰기만 함
+ *  - 나머지 파트(styles.xml 등)는 압축 해제된 바이트로 들고 있다가 그대로 다시 씀
+ * 렌더링할 때 POI 로 패키지를 다시 읽거나 XML 을 파싱하지 않음.
+ */
+public final class DocxTemplate {
+
+    static final String DOCUMENT_PART = "word/document.xml";
+
+    enum Field {
+        TITLE, COMPANY, JOB, QUESTION, ANSWER
+    }
+
+    // document.xml 은 data == null (렌더링 때 만듦)
+    record Part(String name, byte[] data) {
+    }
+
+    /**
+     * literals[0] fields[0] literals[1] ... fields[n-1] literals[n]
+     */
+    record Segments(byte[][] literals, Field[] fields) {
+
+        static Segments parse(String xml) {
+            List<byte[]> literals = new ArrayList<>();
+            List<Field> fields = new ArrayList<>();
+            int pos = 0;
+            while (true) {
+                int open = xml.indexOf("{{", pos);
+                if (open < 0) {
+                    break;
+                }
+                int close = xml.indexOf("}}", open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder at " + open);
+                }
+                literals.add(xml.substring(pos, open).getBytes(StandardCharsets.UTF_8));
+                fields.add(fieldOf(xml.substring(open + 2, close).trim()));
+                pos = close + 2;
+            }
+            literals.add(xml.substring(pos).getBytes(StandardCharsets.UTF_8));
+            return new Segments(literals.toArray(byte[][]::new), fields.toArray(Field[]::new));
+        }
+
+        private static Field fieldOf(String name) {
+            return switch (name) {
+                case "title" -> Field.TITLE;
+                case "company" -> Field.COMPANY;
+                case "job" -> Field.JOB;
+                case "question" -> Field.QUESTION;
+                case "answer" -> Field.ANSWER;
+                default -> throw new IllegalArgumentException("Unknown placeholder {{" + name + "}}");
+            };
+        }
+
+        boolean uses(Field field) {
+            for (Field f : fields) {
+                if (f == field) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void write(OutputStream out, DocumentContent content, DocumentContent.Section section) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                out.write(literals[i]);
+                out.write(escape(valueOf(fields[i], content, section)));
+            }
+            out.write(literals[fields.length]);
+        }
+
+        private static String valueOf(Field field, DocumentContent content, DocumentContent.Section section) {
+            return switch (field) {
+                case TITLE -> content.title();
+                case COMPANY -> content.company();
+                case JOB -> content.job();
+                case QUESTION -> section != null ? section.question() : null;
+                case ANSWER -> section != null ? section.answer() : null;
+            };
+        }
+    }
+
+    private final String id;
+    private final List<Part> parts;
+    private final Segments head;
+    private final Segments section;
+    private final Segments tail;
+
+    DocxTemplate(String id, List<Part> parts, Segments head, Segments section, Segments tail) {
+        this.id = id;
+        this.parts = List.copyOf(parts);
+        this.head = head;
+        this.section = section;
+        this.tail = tail;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    // out 은 닫지 않음 (zip 만 마무리)
+    public void render(DocumentContent content, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(Deflater.BEST_SPEED);
+        for (Part part : parts) {
+            zip.putNextEntry(new ZipEntry(part.name()));
+            if (part.data() != null) {
+                zip.write(part.data());
+            } else {
+                writeDocument(content, zip);
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    private void writeDocument(DocumentContent content, OutputStream out) throws IOException {
+        head.write(out, content, null);
+        if (section != null && content.sections() != null) {
+            for (DocumentContent.Section s : content.sections()) {
+                section.write(out, content, s);
+            }
+        }
+        tail.write(out, content, null);
+    }
+
+    // <w:t> 안에 들어가는 값: XML 이스케이프 + 줄바꿈 / 탭은 run 안의 <w:br/> / <w:tab/> 로
+    static byte[] escape(String value) {
+        if (value == null || value.isEmpty()) {
+            return new byte[0];
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\n' -> sb.append("</w:t><w:br/><w:t xml:space=\"preserve\">");
+                case '\t' -> sb.append("</w:t><w:tab/><w:t xml:space=\"preserve\">");
+                case '\r' -> {
+                    // \r\n 은 \n 하나로
+                }
+                default -> {
+                    // XML 1.0 에 쓸 수 없는 제어 문자는 버림
+                    if (c >= 0x20) {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
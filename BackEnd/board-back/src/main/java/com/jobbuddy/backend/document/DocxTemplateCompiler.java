@@ -0,0 +1,171 @@
+package com.jobbuddy.backend.document;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * DOCX 파일 → DocxTemplate.
+ *  1) Word 로 편집하면 자리표시자가 여러 run 으로 쪼개질 수 있음 ("{{ti" + "tle}}")
+ *     → 그런 문단만 POI 로 첫 run 에 합침 (서식은 첫 run 기준), 쪼개진 게 없으면 원본 그대로
+ *  2) 파트를 전부 풀어 두고, document.xml 은 {{#sections}} / {{/sections}} 문단을 기준으로
+ *     앞 / 반복 블록 / 뒤 로 나눈 뒤 각각 자리표시자 조각으로 나눔
+ * {{question}} / {{answer}} 는 반복 블록 안에서만 쓸 수 있음.
+ */
+final class DocxTemplateCompiler {
+
+    private static final String SECTIONS_OPEN = "{{#sections}}";
+    private static final String SECTIONS_CLOSE = "{{/sections}}";
+
+    private DocxTemplateCompiler() {
+    }
+
+    static DocxTemplate compile(String id, byte[] docx) throws IOException {
+        byte[] normalized = mergeSplitPlaceholders(docx);
+
+        List<DocxTemplate.Part> parts = new ArrayList<>();
+        String documentXml = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(normalized), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                byte[] data = zip.readAllBytes();
+                if (entry.getName().equals(DocxTemplate.DOCUMENT_PART)) {
+                    documentXml = new String(data, StandardCharsets.UTF_8);
+                    parts.add(new DocxTemplate.Part(entry.getName(), null));
+                } else {
+                    parts.add(new DocxTemplate.Part(entry.getName(), data));
+                }
+            }
+        }
+        if (documentXml == null) {
+            throw new IllegalArgumentException("Template " + id + " has no " + DocxTemplate.DOCUMENT_PART);
+        }
+
+        DocxTemplate.Segments head;
+        DocxTemplate.Segments section = null;
+        DocxTemplate.Segments tail;
+        int open = documentXml.indexOf(SECTIONS_OPEN);
+        if (open >= 0) {
+            int close = documentXml.indexOf(SECTIONS_CLOSE, open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Template " + id + " has " + SECTIONS_OPEN + " without " + SECTIONS_CLOSE);
+            }
+            int openStart = paragraphStart(documentXml, open);
+            int openEnd = paragraphEnd(documentXml, open);
+            int closeStart = paragraphStart(documentXml, close);
+            int closeEnd = paragraphEnd(documentXml, close);
+            head = DocxTemplate.Segments.parse(documentXml.substring(0, openStart));
+            section = DocxTemplate.Segments.parse(documentXml.substring(openEnd, closeStart));
+            tail = DocxTemplate.Segments.parse(documentXml.substring(closeEnd));
+        } else {
+            head = DocxTemplate.Segments.parse(documentXml);
+            tail = DocxTemplate.Segments.parse("");
+        }
+
+        for (DocxTemplate.Field field : new DocxTemplate.Field[]{DocxTemplate.Field.QUESTION, DocxTemplate.Field.ANSWER}) {
+            if (head.uses(field) || tail.uses(field)) {
+                throw new IllegalArgumentException("Template " + id + " uses {{" + field.name().toLowerCase()
+                        + "}} outside " + SECTIONS_OPEN);
+            }
+        }
+        return new DocxTemplate(id, parts, head, section, tail);
+    }
+
+    // 표식이 들어 있는 <w:p> 의 시작 (<w:pPr> 등과 구분)
+    private static int paragraphStart(String xml, int marker) {
+        int from = marker;
+        while (true) {
+            int i = xml.lastIndexOf("<w:p", from);
+            if (i < 0) {
+                throw new IllegalArgumentException("Section marker is not inside a paragraph");
+            }
+            char next = xml.charAt(i + 4);
+            if (next == '>' || next == ' ') {
+                return i;
+            }
+            from = i - 1;
+        }
+    }
+
+    private static int paragraphEnd(String xml, int marker) {
+        int i = xml.indexOf("</w:p>", marker);
+        if (i < 0) {
+            throw new IllegalArgumentException("Section marker is not inside a paragraph");
+        }
+        return i + "</w:p>".length();
+    }
+
+    // ===== 쪼개진 자리표시자 합치기 =====
+
+    private static byte[] mergeSplitPlaceholders(byte[] docx) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx))) {
+            boolean changed = false;
+            for (XWPFParagraph paragraph : document.getParagraphs()) {
+                changed |= mergeRuns(paragraph);
+            }
+            for (XWPFTable table : document.getTables()) {
+                for (XWPFTableRow row : table.getRows()) {
+                    for (XWPFTableCell cell : row.getTableCells()) {
+                        for (XWPFParagraph paragraph : cell.getParagraphs()) {
+                            changed |= mergeRuns(paragraph);
+                        }
+                    }
+                }
+            }
+            if (!changed) {
+                return docx;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(docx.length);
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static boolean mergeRuns(XWPFParagraph paragraph) {
+        List<XWPFRun> runs = paragraph.getRuns();
+        if (runs.size() < 2 || !paragraph.getText().contains("{{")) {
+            return false;
+        }
+        boolean split = false;
+        for (XWPFRun run : runs) {
+            String text = run.text();
+            if (count(text, "{{") != count(text, "}}")) {
+                split = true;
+                break;
+            }
+        }
+        if (!split) {
+            return false;
+        }
+        String text = paragraph.getText();
+        for (int i = runs.size() - 1; i > 0; i--) {
+            paragraph.removeRun(i);
+        }
+        XWPFRun first = paragraph.getRuns().get(0);
+        first.setText(text, 0);
+        return true;
+    }
+
+    private static int count(String text, String token) {
+        int n = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            n++;
+        }
+        return n;
+    }
+}
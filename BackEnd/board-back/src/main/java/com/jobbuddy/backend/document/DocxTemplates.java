@@ -0,0 +1,69 @@
+package com.jobbuddy.backend.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * DOCX 템플릿 모음 (templateId = 파일 이름에서 .docx 를 뺀 것).
+ *  - 시작할 때 template-location 의 *.docx 를 전부 한 번씩 컴파일해서 들고 있음 (불변이라 렌더링마다 복사 안 함)
+ *  - 잘못된 템플릿은 로그만 남기고 건너뜀, 기본 템플릿이 없으면 시작 실패
+ *  - 없는 templateId (null 포함) 는 기본 템플릿으로 렌더링
+ */
+@Component
+public class DocxTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(DocxTemplates.class);
+
+    private final Map<String, DocxTemplate> templates;
+    private final DocxTemplate defaultTemplate;
+
+    public DocxTemplates(@Value("${document.docx.template-location:classpath*:/templates/docx/}") String location,
+                         @Value("${document.docx.default-template:basic}") String defaultTemplateId) throws IOException {
+        Map<String, DocxTemplate> compiled = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location + "*.docx")) {
+            String fileName = resource.getFilename();
+            if (fileName == null) {
+                continue;
+            }
+            String id = fileName.substring(0, fileName.length() - ".docx".length());
+            try (InputStream in = resource.getInputStream()) {
+                compiled.put(id, DocxTemplateCompiler.compile(id, in.readAllBytes()));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping invalid DOCX template {}", resource, e);
+            }
+        }
+        this.templates = Collections.unmodifiableMap(compiled);
+        this.defaultTemplate = templates.get(defaultTemplateId);
+        if (defaultTemplate == null) {
+            throw new IllegalStateException("Default DOCX template '" + defaultTemplateId + "' not found in " + location);
+        }
+        log.info("Compiled DOCX templates: {}", templates.keySet());
+    }
+
+    public Set<String> ids() {
+        return templates.keySet();
+    }
+
+    public DocxTemplate resolve(String templateId) {
+        if (templateId == null) {
+            return defaultTemplate;
+        }
+        return templates.getOrDefault(templateId, defaultTemplate);
+    }
+
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        resolve(templateId).render(content, out);
+    }
+}
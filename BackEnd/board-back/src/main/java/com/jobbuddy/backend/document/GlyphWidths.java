@@ -0,0 +1,80 @@
+package com.jobbuddy.backend.document;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 폰트의 BMP 글자 폭 표 (1/1000 em).
+ *  - 폰트를 처음 읽을 때 한 번만 만들고 이후에는 읽기만 함 → 스레드끼리 같이 써도 됨
+ *  - 한글 음절 / 라틴 / 문장부호 모두 배열 조회 한 번 (줄바꿈 계산 중에 폰트를 건드리지 않음)
+ *  - 폰트에 없는 글자는 NaN 으로 표시 (그릴 수 없으므로 supports 로 걸러냄)
+ */
+public final class GlyphWidths implements PdfTextLayout.GlyphMetrics {
+
+    private final float[] widths = new float[Character.MAX_VALUE + 1];
+    private final float missingWidth;
+
+    private GlyphWidths(TrueTypeFont font) throws IOException {
+        CmapLookup cmap = font.getUnicodeCmapLookup();
+        float scale = 1000f / font.getUnitsPerEm();
+        Arrays.fill(widths, Float.NaN);
+        for (int cp = 0; cp <= Character.MAX_VALUE; cp++) {
+            if (Character.isSurrogate((char) cp)) {
+                continue;
+            }
+            int gid = cmap.getGlyphId(cp);
+            if (gid > 0) {
+                widths[cp] = font.getAdvanceWidth(gid) * scale;
+            }
+        }
+        this.missingWidth = font.getAdvanceWidth(0) * scale;
+    }
+
+    public static GlyphWidths of(TrueTypeFont font) {
+        try {
+            return new GlyphWidths(font);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read glyph metrics", e);
+        }
+    }
+
+    @Override
+    public float advance(int codePoint) {
+        if (codePoint <= Character.MAX_VALUE) {
+            float width = widths[codePoint];
+            if (!Float.isNaN(width)) {
+                return width;
+            }
+        }
+        return missingWidth;
+    }
+
+    public boolean supports(int codePoint) {
+        return codePoint <= Character.MAX_VALUE && !Float.isNaN(widths[codePoint]);
+    }
+
+    // 폰트에 없는 글자(이모지 등)는 그릴 때 예외가 나므로 대체 문자로 바꿈 (모두 있으면 그대로 반환)
+    public String sanitize(String text, char replacement) {
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            boolean keep = supports(cp) || cp == '\n' || cp == '\r';
+            if (!keep && out == null) {
+                out = new StringBuilder(text.length()).append(text, 0, i);
+            }
+            if (out != null) {
+                if (keep) {
+                    out.appendCodePoint(cp);
+                } else {
+                    out.append(cp == '\t' ? ' ' : replacement);
+                }
+            }
+            i = next;
+        }
+        return out != null ? out.toString() : text;
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * html – 스타일이 들어 있는 단일 HTML 문서 (외부 리소스 없음).
+ *  - 빈 줄로 나뉜 덩어리는 <p>, 그 안의 줄바꿈은 <br>
+ *  - 모든 값은 HTML 이스케이프, templateId 는 body 의 data-template 으로만 남김
+ */
+@Component
+public class HtmlDocumentRenderer implements DocumentRenderer {
+
+    private static final MediaType HTML = new MediaType("text", "html", StandardCharsets.UTF_8);
+
+    private static final String HEAD = """
+            <!DOCTYPE html>
+            <html lang="ko">
+            <head>
+            <meta charset="utf-8">
+            <meta name="viewport" content="width=device-width, initial-scale=1">
+            <style>
+            body{font-family:-apple-system,"Malgun Gothic","Apple SD Gothic Neo",sans-serif;max-width:760px;margin:40px auto;padding:0 20px;line-height:1.75;color:#222}
+            h1{font-size:1.6em;margin-bottom:.2em}
+            .meta{color:#666;margin-top:0}
+            h2{font-size:1.15em;margin-top:2em}
+            </style>
+            """;
+
+    @Override
+    public String format() {
+        return "html";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return HTML;
+    }
+
+    @Override
+    public String extension() {
+        return ".html";
+    }
+
+    @Override
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        Writer w = TextDocuments.writer(out);
+        String title = TextDocuments.normalize(content.title());
+        w.write(HEAD);
+        w.write("<title>");
+        escape(w, title);
+        w.write("</title>\n</head>\n<body");
+        if (templateId != null) {
+            w.write(" data-template=\"");
+            escape(w, templateId);
+            w.write('"');
+        }
+        w.write(">\n<h1>");
+        escape(w, title);
+        w.write("</h1>\n");
+        String subtitle = TextDocuments.subtitle(content);
+        if (!subtitle.isEmpty()) {
+            w.write("<p class=\"meta\">");
+            escape(w, subtitle);
+            w.write("</p>\n");
+        }
+        for (DocumentContent.Section section : content.sections()) {
+            w.write("<section>\n");
+            String question = TextDocuments.normalize(section.question());
+            if (!question.isEmpty()) {
+                w.write("<h2>");
+                escape(w, question);
+                w.write("</h2>\n");
+            }
+            paragraphs(w, TextDocuments.normalize(section.answer()));
+            w.write("</section>\n");
+        }
+        w.write("</body>\n</html>\n");
+        w.flush();
+    }
+
+    private static void paragraphs(Writer w, String text) throws IOException {
+        if (text.isEmpty()) {
+            return;
+        }
+        w.write("<p>");
+        int line = 0;
+        while (true) {
+            int end = text.indexOf('\n', line);
+            if (end < 0) {
+                escape(w, text, line, text.length());
+                break;
+            }
+            escape(w, text, line, end);
+            int next = end;
+            while (next < text.length() && text.charAt(next) == '\n') {
+                next++;
+            }
+            w.write(next - end == 1 ? "<br>\n" : "</p>\n<p>");
+            line = next;
+        }
+        w.write("</p>\n");
+    }
+
+    private static void escape(Writer w, String text) throws IOException {
+        escape(w, text, 0, text.length());
+    }
+
+    // 이스케이프할 문자 사이의 구간은 한 번에 씀
+    private static void escape(Writer w, String text, int start, int end) throws IOException {
+        int run = start;
+        for (int i = start; i < end; i++) {
+            String entity = switch (text.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                w.write(text, run, i - run);
+                w.write(entity);
+                run = i + 1;
+            }
+        }
+        w.write(text, run, end - run);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * md – 제목(#) / 문항(##) / 본문.
+ *  - 본문의 줄바꿈은 그대로 두고, 서식으로 읽힐 수 있는 문자만 \ 로 이스케이프 (줄 머리의 #, >, 목록 기호 / 강조 / 링크 / HTML)
+ */
+@Component
+public class MarkdownDocumentRenderer implements DocumentRenderer {
+
+    private static final MediaType MARKDOWN = new MediaType("text", "markdown", StandardCharsets.UTF_8);
+
+    @Override
+    public String format() {
+        return "md";
+    }
+
+    @Override
+    public List<String> aliases() {
+        return List.of("markdown");
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MARKDOWN;
+    }
+
+    @Override
+    public String extension() {
+        return ".md";
+    }
+
+    @Override
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        Writer w = TextDocuments.writer(out);
+        w.write("# ");
+        escapeLine(w, TextDocuments.normalize(content.title()).replace('\n', ' '));
+        w.write("\n\n");
+        String subtitle = TextDocuments.subtitle(content);
+        if (!subtitle.isEmpty()) {
+            escape(w, subtitle);
+            w.write("\n\n");
+        }
+        for (DocumentContent.Section section : content.sections()) {
+            String question = TextDocuments.normalize(section.question());
+            if (!question.isEmpty()) {
+                w.write("## ");
+                escapeLine(w, question.replace('\n', ' '));
+                w.write("\n\n");
+            }
+            escape(w, TextDocuments.normalize(section.answer()));
+            w.write("\n\n");
+        }
+        w.flush();
+    }
+
+    // 여러 줄
+    private static void escape(Writer w, String text) throws IOException {
+        int start = 0;
+        while (start <= text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            escapeBlockStart(w, text, start, end);
+            if (end == text.length()) {
+                break;
+            }
+            w.write('\n');
+            start = end + 1;
+        }
+    }
+
+    // 한 줄 (제목 / 문항처럼 이미 줄 머리 기호 뒤에 오는 경우)
+    private static void escapeLine(Writer w, String line) throws IOException {
+        escapeInline(w, line, 0, line.length());
+    }
+
+    private static void escapeBlockStart(Writer w, String text, int start, int end) throws IOException {
+        // 줄 머리: 들여쓰기 뒤의 #, >, -, +, *, "1." / "1)" 는 제목 / 인용 / 목록으로 읽히므로 이스케이프
+        int i = start;
+        while (i < end && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        w.write(text, start, i - start);
+        if (i < end) {
+            char c = text.charAt(i);
+            if (c == '#' || c == '>' || c == '-' || c == '+' || c == '=') {
+                w.write('\\');
+                w.write(c);
+                i++;
+            } else if (Character.isDigit(c)) {
+                int j = i;
+                while (j < end && Character.isDigit(text.charAt(j))) {
+                    j++;
+                }
+                if (j < end && (text.charAt(j) == '.' || text.charAt(j) == ')')) {
+                    w.write(text, i, j - i);
+                    w.write('\\');
+                    w.write(text.charAt(j));
+                    i = j + 1;
+                }
+            }
+        }
+        escapeInline(w, text, i, end);
+    }
+
+    private static void escapeInline(Writer w, String text, int start, int end) throws IOException {
+        int run = start;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '`' || c == '*' || c == '_' || c == '[' || c == ']' || c == '<' || c == '>'
+                    || c == '|' || c == '~') {
+                w.write(text, run, i - run);
+                w.write('\\');
+                w.write(c);
+                run = i + 1;
+            }
+        }
+        w.write(text, run, end - run);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jobbuddy.backend.document;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 자소서 본문을 PDF 로 만든다.
+ *  - PdfTextLayout 으로 줄바꿈 / 페이지 나누기를 먼저 계산하고, 필요한 만큼 A4 페이지를 만들어 그림
+ *  - 한글 폰트는 PdfFontPool 에서 빌려 쓰고, 문서에는 실제로 쓴 글자만 subset 으로 들어간다
+ *  - 결과는 out 에 바로 씀 (byte[] 로 모으지 않음, 캐시/응답 쪽에서 어디에 쓸지 정함)
+ */
+@Component
+public class PdfCoverLetterRenderer {
+
+    private static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    private static final float MARGIN = 50f;
+    private static final float FONT_SIZE = 11f;
+    private static final float LEADING = 14.5f;
+
+    private static final float LINE_WIDTH = PAGE_SIZE.getWidth() - MARGIN * 2;
+    private static final int LINES_PER_PAGE = (int) ((PAGE_SIZE.getHeight() - MARGIN * 2) / LEADING);
+
+    private final PdfFontPool fontPool;
+
+    public PdfCoverLetterRenderer(PdfFontPool fontPool) {
+        this.fontPool = fontPool;
+    }
+
+    public void render(String text, OutputStream out) throws IOException {
+        GlyphWidths widths = fontPool.glyphWidths();
+        PdfTextLayout layout = PdfTextLayout.layout(
+                widths.sanitize(text, '?'), widths, FONT_SIZE, LINE_WIDTH, LINES_PER_PAGE);
+
+        // 폰트는 save() 에서 subset 이 끝날 때까지 빌려 둠
+        try (PdfFontPool.Lease lease = fontPool.borrow();
+             PDDocument document = new PDDocument()) {
+
+            PDType0Font font = PDType0Font.load(document, lease.font(), true);
+
+            for (int page = 0; page < layout.pageCount(); page++) {
+                PDPage pdPage = new PDPage(PAGE_SIZE);
+                document.addPage(pdPage);
+
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, pdPage)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, FONT_SIZE);
+                    contentStream.setLeading(LEADING);
+                    contentStream.newLineAtOffset(MARGIN, PAGE_SIZE.getHeight() - MARGIN - FONT_SIZE);
+
+                    for (int line = layout.firstLineOfPage(page); line < layout.endLineOfPage(page); line++) {
+                        if (layout.lineEnd(line) > layout.lineStart(line)) {
+                            contentStream.showText(layout.line(line));
+                        }
+                        contentStream.newLine();
+                    }
+
+                    contentStream.endText(); // ★ 이거 꼭 있어야 경고 안 뜸
+                }
+            }
+
+            document.save(out);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Collectors;
+
+/**
+ * pdf – "제목: ..." 다음 줄부터 본문 (PdfCoverLetterRenderer, 템플릿은 쓰지 않음).
+ */
+@Component
+public class PdfDocumentRenderer implements DocumentRenderer {
+
+    private final PdfCoverLetterRenderer pdfRenderer;
+
+    public PdfDocumentRenderer(PdfCoverLetterRenderer pdfRenderer) {
+        this.pdfRenderer = pdfRenderer;
+    }
+
+    @Override
+    public String format() {
+        return "pdf";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.APPLICATION_PDF;
+    }
+
+    @Override
+    public String extension() {
+        return ".pdf";
+    }
+
+    @Override
+    public boolean heavy() {
+        return true;
+    }
+
+    @Override
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        String body = content.sections().stream()
+                .map(section -> section.answer() != null ? section.answer() : "")
+                .collect(Collectors.joining("\n\n"));
+        // 한글 폰트는 프로세스 전체에서 한 번만 읽고 파싱 (PdfFontPool)
+        pdfRenderer.render("제목: " + content.title() + "\n\n" + body, out);
+    }
+}
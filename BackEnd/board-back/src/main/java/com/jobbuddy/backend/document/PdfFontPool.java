@@ -0,0 +1,162 @@
+package com.jobbuddy.backend.document;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PDF 용 한글 폰트를 프로세스 전체에서 한 번만 읽어 두고 빌려 쓰는 풀.
+ *  - TTF 파일은 시작 시 한 번만 읽음 (다운로드마다 수 MB 를 다시 읽고 파싱하지 않음)
+ *  - 파싱된 TrueTypeFont 는 내부 읽기 위치를 가지고 있어서 스레드끼리 같이 쓸 수 없음
+ *    → 동시에 렌더링할 수 있는 수만큼만 만들어 두고 문서 하나가 끝날 때까지 빌려줌
+ *  - 문서마다 하는 일은 PDType0Font 생성 + 저장 시 쓴 글자만 subset 하는 것뿐
+ *  - 줄바꿈용 글자 폭 표(GlyphWidths)도 여기서 한 번 만들어 공유
+ * 빌린 폰트는 document.save() 가 끝난 뒤 반납해야 한다 (subset 이 저장 시점에 만들어짐).
+ */
+@Component
+public class PdfFontPool implements DisposableBean {
+
+    private final String fontPath;
+    private final byte[] fontBytes;
+    private final GlyphWidths glyphWidths;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+
+    private final BlockingQueue<TrueTypeFont> idle;
+    private final List<TrueTypeFont> all = new ArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+
+    public PdfFontPool(@Value("${document.pdf.font-path:/fonts/NanumGothicLight.ttf}") String fontPath,
+                       @Value("${document.pdf.font-pool-size:0}") int poolSize,
+                       @Value("${document.pdf.font-borrow-timeout-ms:10000}") long borrowTimeoutMillis) {
+        this.fontPath = fontPath;
+        this.maxSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.fontBytes = readFont(fontPath);
+        // 첫 요청이 파싱 비용을 내지 않도록 하나는 미리 만들어 둠
+        created.set(1);
+        TrueTypeFont first = parse();
+        this.glyphWidths = GlyphWidths.of(first);
+        idle.add(first);
+    }
+
+    public GlyphWidths glyphWidths() {
+        return glyphWidths;
+    }
+
+    // 폰트 하나를 빌림 (모두 사용 중이면 반납될 때까지 대기)
+    public Lease borrow() {
+        TrueTypeFont font = idle.poll();
+        if (font == null) {
+            font = createIfBelowMax();
+        }
+        if (font == null) {
+            try {
+                font = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a PDF font", e);
+            }
+            if (font == null) {
+                throw new IllegalStateException("Timed out waiting for a PDF font");
+            }
+        }
+        return new Lease(font);
+    }
+
+    private TrueTypeFont createIfBelowMax() {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                try {
+                    return parse();
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private TrueTypeFont parse() {
+        try {
+            TrueTypeFont font = new TTFParser().parse(new ByteArrayInputStream(fontBytes));
+            // 문서마다 다시 읽지 않도록 자주 쓰는 테이블을 미리 읽어 둠
+            font.getUnicodeCmapLookup();
+            font.getHorizontalMetrics();
+            font.getHorizontalHeader();
+            font.getHeader();
+            font.getGlyph();
+            synchronized (all) {
+                all.add(font);
+            }
+            return font;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse font " + fontPath, e);
+        }
+    }
+
+    private static byte[] readFont(String path) {
+        try (InputStream in = PdfFontPool.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Font file not found: " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read font " + path, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        synchronized (all) {
+            for (TrueTypeFont font : all) {
+                font.close();
+            }
+            all.clear();
+        }
+    }
+
+    /**
+     * 빌린 폰트. try-with-resources 로 문서 저장까지 감싸서 쓸 것.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private TrueTypeFont font;
+
+        private Lease(TrueTypeFont font) {
+            this.font = font;
+        }
+
+        public TrueTypeFont font() {
+            if (font == null) {
+                throw new IllegalStateException("Font lease already returned");
+            }
+            return font;
+        }
+
+        @Override
+        public void close() {
+            if (font != null) {
+                idle.offer(font);
+                font = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.jobbuddy.backend.document;
+
+import java.util.Arrays;
+
+/**
+ * 본문 줄바꿈 + 페이지 나누기.
+ *  - 글자 폭은 GlyphMetrics(1/1000 em) 로 계산, 줄 폭을 넘기 전에서 줄을 끊음
+ *  - 한국어 조판 규칙: 어절(공백) 단위로 끊고, 한 어절이 한 줄보다 길 때만 글자 사이에서 끊음
+ *  - 금칙 처리: 닫는 괄호/문장부호는 줄 맨 앞에, 여는 괄호는 줄 맨 끝에 오지 않게 함
+ *  - 결과는 원문에 대한 [시작, 끝) 오프셋 배열이라 줄마다 문자열을 만들지 않음 (그릴 때만 substring)
+ */
+public final class PdfTextLayout {
+
+    /**
+     * 글자 하나의 가로 폭 (1/1000 em).
+     */
+    @FunctionalInterface
+    public interface GlyphMetrics {
+        float advance(int codePoint);
+    }
+
+    private final String text;
+    private final int[] starts;
+    private final int[] ends;
+    private final int lineCount;
+    private final int linesPerPage;
+
+    private PdfTextLayout(String text, int[] starts, int[] ends, int lineCount, int linesPerPage) {
+        this.text = text;
+        this.starts = starts;
+        this.ends = ends;
+        this.lineCount = lineCount;
+        this.linesPerPage = linesPerPage;
+    }
+
+    /**
+     * @param fontSize     글자 크기 (pt)
+     * @param maxWidth     줄 폭 (pt)
+     * @param linesPerPage 한 페이지에 들어가는 줄 수
+     */
+    public static PdfTextLayout layout(String text, GlyphMetrics metrics, float fontSize, float maxWidth,
+                                       int linesPerPage) {
+        if (linesPerPage <= 0) {
+            throw new IllegalArgumentException("linesPerPage must be positive");
+        }
+        // CRLF / 단독 CR 도 줄바꿈 (그대로 두면 글자로 측정되고 그려짐). 오프셋은 정규화된 문자열 기준
+        text = normalizeLineBreaks(text);
+        // 폭 비교는 1/1000 em 단위로 (글자마다 곱셈을 하지 않도록)
+        float limit = maxWidth * 1000f / fontSize;
+        Lines lines = new Lines(text.length() / 40 + 4);
+
+        int length = text.length();
+        int paragraphStart = 0;
+        while (paragraphStart <= length) {
+            int newline = text.indexOf('\n', paragraphStart);
+            int paragraphEnd = newline >= 0 ? newline : length;
+
+            layoutParagraph(text, paragraphStart, paragraphEnd, metrics, limit, lines);
+
+            if (newline < 0) {
+                break;
+            }
+            paragraphStart = newline + 1;
+        }
+        return new PdfTextLayout(text, lines.starts, lines.ends, lines.count, linesPerPage);
+    }
+
+    static String normalizeLineBreaks(String text) {
+        if (text.indexOf('\r') < 0) {
+            return text;
+        }
+        return text.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    private static void layoutParagraph(String text, int start, int end, GlyphMetrics metrics, float limit,
+                                        Lines lines) {
+        if (start == end) {
+            lines.add(start, start); // 빈 줄 (문단 사이 간격)
+            return;
+        }
+
+        int pos = start;
+        boolean first = true;
+        while (pos < end) {
+            if (!first) {
+                // 줄 앞 공백은 버림
+                while (pos < end && isSpace(text.charAt(pos))) {
+                    pos++;
+                }
+                if (pos >= end) {
+                    break;
+                }
+            }
+            first = false;
+
+            float width = 0;
+            int lastBreak = -1;
+            int i = pos;
+            while (i < end) {
+                int cp = text.codePointAt(i);
+                float w = metrics.advance(cp);
+                if (width + w > limit && i > pos) {
+                    break;
+                }
+                width += w;
+                int next = i + Character.charCount(cp);
+                if (next < end && canBreakBetween(cp, text.codePointAt(next))) {
+                    lastBreak = next;
+                }
+                i = next;
+            }
+
+            int lineEnd;
+            if (i >= end) {
+                lineEnd = end;
+            } else if (isSpace(text.charAt(i))) {
+                lineEnd = i;
+            } else if (lastBreak > pos) {
+                lineEnd = lastBreak;
+            } else {
+                lineEnd = forcedBreak(text, pos, i);
+            }
+
+            lines.add(pos, trimTrailingSpaces(text, pos, lineEnd));
+            pos = lineEnd;
+        }
+    }
+
+    // 어절이 한 줄보다 길어 글자 사이에서 끊어야 할 때도 금칙 문자는 피함
+    private static int forcedBreak(String text, int pos, int overflow) {
+        int end = overflow;
+        while (end > pos) {
+            int before = text.codePointBefore(end);
+            int after = text.codePointAt(end);
+            if (!isNoStart(after) && !isNoEnd(before)) {
+                return end;
+            }
+            end -= Character.charCount(before);
+        }
+        // 줄 전체가 금칙 문자면 어쩔 수 없이 넘친 자리에서 끊음
+        return overflow;
+    }
+
+    // 앞 글자 뒤에서 줄을 끊어도 되는지 (공백 / 하이픈 / 슬래시 뒤, 금칙 문자 제외)
+    private static boolean canBreakBetween(int before, int after) {
+        if (isNoStart(after) || isNoEnd(before)) {
+            return false;
+        }
+        return isSpace(before) || before == '-' || before == '/';
+    }
+
+    private static int trimTrailingSpaces(String text, int start, int end) {
+        while (end > start && isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '　';
+    }
+
+    // 줄 맨 앞에 오면 안 되는 문자 (닫는 괄호, 문장부호)
+    private static boolean isNoStart(int c) {
+        return switch (c) {
+            case '.', ',', '!', '?', ':', ';', ')', ']', '}', '%',
+                 '’', '”', '·', '…',
+                 '、', '。', '〉', '》', '」', '』', '】',
+                 '！', '）', '，', '．', '？' -> true;
+            default -> false;
+        };
+    }
+
+    // 줄 맨 끝에 오면 안 되는 문자 (여는 괄호)
+    private static boolean isNoEnd(int c) {
+        return switch (c) {
+            case '(', '[', '{',
+                 '‘', '“',
+                 '〈', '《', '「', '『', '【',
+                 '（' -> true;
+            default -> false;
+        };
+    }
+
+    // ===== 결과 =====
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int pageCount() {
+        return Math.max(1, (lineCount + linesPerPage - 1) / linesPerPage);
+    }
+
+    public int firstLineOfPage(int page) {
+        return page * linesPerPage;
+    }
+
+    public int endLineOfPage(int page) {
+        return Math.min(lineCount, (page + 1) * linesPerPage);
+    }
+
+    public int lineStart(int line) {
+        return starts[line];
+    }
+
+    public int lineEnd(int line) {
+        return ends[line];
+    }
+
+    public String line(int line) {
+        return text.substring(starts[line], ends[line]);
+    }
+
+    // 줄 오프셋을 담는 int 배열 (필요할 때만 늘림)
+    private static final class Lines {
+        private int[] starts;
+        private int[] ends;
+        private int count;
+
+        Lines(int capacity) {
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+        }
+
+        void add(int start, int end) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+    }
+}
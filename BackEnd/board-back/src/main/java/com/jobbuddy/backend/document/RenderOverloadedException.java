@@ -0,0 +1,16 @@
+package com.jobbuddy.backend.document;
+
+// 문서 렌더링 풀 포화 / 종료 중 → 503 + Retry-After
+public class RenderOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RenderOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
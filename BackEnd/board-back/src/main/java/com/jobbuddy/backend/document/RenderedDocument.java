@@ -0,0 +1,58 @@
+package com.jobbuddy.backend.document;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 렌더링된 파일 한 건 – 메모리(bytes) 또는 캐시 디렉터리의 파일(file) 중 하나.
+ * 캐시에 그대로 들어 있는 값이므로 bytes 는 수정하지 말 것.
+ */
+public record RenderedDocument(DocumentKey key, byte[] bytes, Path file, long length) {
+
+    static RenderedDocument inMemory(DocumentKey key, byte[] bytes) {
+        return new RenderedDocument(key, bytes, null, bytes.length);
+    }
+
+    static RenderedDocument onDisk(DocumentKey key, Path file, long length) {
+        return new RenderedDocument(key, null, file, length);
+    }
+
+    public String eTag() {
+        return key.eTag();
+    }
+
+    public boolean inMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * [offset, offset + count) 구간을 out 에 씀 (Range 응답용, 전체면 0 / length).
+     * 파일은 FileChannel.transferTo 로 넘겨서 힙에 내용 전체를 올리지 않음.
+     * 그 사이 디스크 캐시에서 밀려나 파일이 지워졌으면 IOException (헤더는 이미 나갔으므로 연결이 끊김).
+     */
+    public void writeTo(OutputStream out, long offset, long count) throws IOException {
+        if (bytes != null) {
+            out.write(bytes, (int) offset, (int) count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    throw new EOFException("Rendered document " + file + " is shorter than " + length + " bytes");
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.jobbuddy.backend.document;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 렌더링된 DOCX / PDF 캐시 (key = 자소서 id + updatedAt + 템플릿 + 형식).
+ *  - 렌더링은 스트림으로 (SpillingOutputStream): memory-max-entry-bytes 이하는 메모리, 넘으면 처음부터 디스크
+ *  - 메모리: 바이트 수 기준으로 제한 (W-TinyLFU), 밀려나면 디스크로 spill
+ *  - 디스크: spill 디렉터리에 파일로, 역시 바이트 수 기준으로 제한 (밀려나면 파일 삭제)
+ *    → 디스크 항목은 힙에 올리지 않고 파일 그대로 응답 (RenderedDocument.writeTo)
+ *  - 같은 key 를 동시에 요청하면 한 번만 렌더링하고 나머지는 결과를 기다림
+ *  - 생성 직후 미리 렌더링한 key 는 따로 기억해서, 실제 다운로드가 그 결과를 썼는지 센다 (prerender hit)
+ *  - 내용이 바뀌면 updatedAt 이 바뀌어 key 자체가 달라지므로 예전 항목을 잘못 줄 일은 없음
+ *    → 수정 시 evict 는 공간을 빨리 돌려받기 위한 것 (이 노드에서만, 다른 노드는 크기/시간 제한으로 정리)
+ * 디스크 항목은 재시작하면 알 수 없으므로 시작할 때 spill 디렉터리를 비운다.
+ */
+@Component
+public class RenderedDocumentCache {
+
+    public static final String NAME = "rendered-document";
+
+    private static final Logger log = LoggerFactory.getLogger(RenderedDocumentCache.class);
+
+    private final Cache<DocumentKey, byte[]> memory;
+    // key → spill 파일 (weight = KiB)
+    private final Cache<DocumentKey, Path> disk;
+    private final Path spillDir;
+    private final boolean diskEnabled;
+    // 이보다 큰 문서는 메모리 tier 에 넣지 않고 바로 디스크로
+    private final int memoryMaxEntryBytes;
+    // 렌더링 중인 key (같은 key 동시 요청은 이 결과를 기다림)
+    private final ConcurrentMap<DocumentKey, CompletableFuture<RenderedDocument>> inFlight =
+            new ConcurrentHashMap<>();
+    // 미리 렌더링했지만 아직 다운로드되지 않은 key
+    private final Cache<DocumentKey, Boolean> prerendered;
+
+    private final Counter diskHitCounter;
+    private final Counter spillCounter;
+    private final Counter renderCounter;
+    private final Counter prerenderCounter;
+    private final Counter prerenderHitCounter;
+
+    public RenderedDocumentCache(MeterRegistry meterRegistry,
+                                 @Value("${document.cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+                                 @Value("${document.cache.memory-max-entry-bytes:1048576}") int memoryMaxEntryBytes,
+                                 @Value("${document.cache.disk-max-bytes:1073741824}") long diskMaxBytes,
+                                 @Value("${document.cache.spill-dir:${java.io.tmpdir}/jobbuddy-documents}") String spillDir,
+                                 @Value("${document.cache.disk-ttl:PT24H}") Duration diskTtl) {
+        this.spillDir = Path.of(spillDir);
+        this.diskEnabled = diskMaxBytes > 0 && prepareSpillDir(this.spillDir);
+        this.memoryMaxEntryBytes = memoryMaxEntryBytes;
+
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, diskMaxBytes / 1024))
+                .weigher((DocumentKey key, Path path) -> (int) Math.min(Integer.MAX_VALUE, sizeKiB(path)))
+                .expireAfterAccess(diskTtl)
+                .removalListener((DocumentKey key, Path path, RemovalCause cause) -> {
+                    if (path != null && cause != RemovalCause.REPLACED) {
+                        deleteQuietly(path);
+                    }
+                })
+                .build();
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((DocumentKey key, byte[] bytes) -> bytes.length)
+                .recordStats()
+                .removalListener((DocumentKey key, byte[] bytes, RemovalCause cause) -> {
+                    // 크기 때문에 밀려난 것만 디스크로 (수정으로 지운 것은 버림)
+                    if (cause == RemovalCause.SIZE && key != null && bytes != null) {
+                        spill(key, bytes);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, NAME);
+        this.prerendered = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(diskTtl)
+                .build();
+
+        this.diskHitCounter = Counter.builder("document.cache.disk.hits")
+                .description("Rendered documents served from the spill directory")
+                .register(meterRegistry);
+        this.spillCounter = Counter.builder("document.cache.disk.spills")
+                .description("Rendered documents moved from memory to the spill directory")
+                .register(meterRegistry);
+        this.renderCounter = Counter.builder("document.cache.renders")
+                .description("Documents rendered because neither tier had them")
+                .register(meterRegistry);
+        // hit rate = prerender.hits / prerender.renders
+        this.prerenderCounter = Counter.builder("document.prerender.renders")
+                .description("Documents rendered ahead of the first download")
+                .register(meterRegistry);
+        this.prerenderHitCounter = Counter.builder("document.prerender.hits")
+                .description("First downloads served from a pre-rendered document")
+                .register(meterRegistry);
+        meterRegistry.gauge("document.cache.memory.bytes", memory,
+                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        meterRegistry.gauge("document.cache.disk.bytes", disk,
+                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L) * 1024).orElse(0L));
+    }
+
+    // 메모리 → 디스크 → writer 순으로 찾음 (렌더링 예외는 캐시하지 않고 그대로 전달)
+    public RenderedDocument get(DocumentKey key, DocumentWriter writer) {
+        RenderedDocument document = lookupOrRender(key, writer);
+        if (prerendered.asMap().remove(key) != null) {
+            prerenderHitCounter.increment();
+        }
+        return document;
+    }
+
+    // 다운로드가 아닌 내부 용도 (썸네일 등) – get 과 같지만 prerender hit 로 세지 않음
+    public RenderedDocument fetch(DocumentKey key, DocumentWriter writer) {
+        return lookupOrRender(key, writer);
+    }
+
+    /**
+     * 다운로드 전에 미리 렌더링 (이미 있으면 아무것도 안 함).
+     *
+     * @return 이번에 새로 렌더링했으면 true
+     */
+    public boolean prerender(DocumentKey key, DocumentWriter writer) {
+        if (contains(key)) {
+            return false;
+        }
+        // 렌더링이 끝나기 전에 온 다운로드도 결과를 기다렸다 쓰므로 hit 로 셈
+        prerendered.put(key, Boolean.TRUE);
+        try {
+            lookupOrRender(key, writer);
+        } catch (RuntimeException e) {
+            prerendered.invalidate(key);
+            throw e;
+        }
+        prerenderCounter.increment();
+        return true;
+    }
+
+    // 렌더링 없이 바로 줄 수 있는지 (메모리 / 디스크에 있음)
+    public boolean contains(DocumentKey key) {
+        return memory.getIfPresent(key) != null || (diskEnabled && disk.getIfPresent(key) != null);
+    }
+
+    private RenderedDocument lookupOrRender(DocumentKey key, DocumentWriter writer) {
+        byte[] bytes = memory.getIfPresent(key);
+        if (bytes != null) {
+            return RenderedDocument.inMemory(key, bytes);
+        }
+        RenderedDocument spilled = fromDisk(key);
+        if (spilled != null) {
+            diskHitCounter.increment();
+            return spilled;
+        }
+
+        CompletableFuture<RenderedDocument> mine = new CompletableFuture<>();
+        CompletableFuture<RenderedDocument> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            RenderedDocument rendered = render(key, writer);
+            mine.complete(rendered);
+            return rendered;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private RenderedDocument render(DocumentKey key, DocumentWriter writer) {
+        renderCounter.increment();
+        SpillingOutputStream out = new SpillingOutputStream(diskEnabled ? spillDir : null, memoryMaxEntryBytes);
+        try {
+            writer.write(out);
+            out.close();
+        } catch (IOException e) {
+            out.discard();
+            throw new UncheckedIOException("Failed to render " + key, e);
+        } catch (RuntimeException e) {
+            out.discard();
+            throw e;
+        }
+
+        if (!out.spilled()) {
+            byte[] bytes = out.bytes();
+            memory.put(key, bytes);
+            return RenderedDocument.inMemory(key, bytes);
+        }
+
+        Path target = spillDir.resolve(key.fileName());
+        try {
+            Files.move(out.file(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            out.discard();
+            throw new UncheckedIOException("Failed to store rendered " + key, e);
+        }
+        disk.put(key, target);
+        return RenderedDocument.onDisk(key, target, out.size());
+    }
+
+    private static RenderedDocument await(CompletableFuture<RenderedDocument> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 이 자소서의 모든 형식/버전 항목 제거
+    public void evict(Long coverLetterId) {
+        memory.asMap().keySet().removeIf(key -> key.coverLetterId().equals(coverLetterId));
+        prerendered.asMap().keySet().removeIf(key -> key.coverLetterId().equals(coverLetterId));
+        disk.asMap().keySet().removeIf(key -> key.coverLetterId().equals(coverLetterId));
+    }
+
+    // ===== 디스크 tier =====
+
+    private void spill(DocumentKey key, byte[] bytes) {
+        if (!diskEnabled || disk.getIfPresent(key) != null) {
+            return;
+        }
+        Path target = spillDir.resolve(key.fileName());
+        try {
+            Path tmp = Files.createTempFile(spillDir, "spill-", ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            disk.put(key, target);
+            spillCounter.increment();
+        } catch (IOException e) {
+            log.warn("Failed to spill rendered document {} to {}", key, target, e);
+        }
+    }
+
+    private RenderedDocument fromDisk(DocumentKey key) {
+        if (!diskEnabled) {
+            return null;
+        }
+        Path path = disk.getIfPresent(key);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return RenderedDocument.onDisk(key, path, Files.size(path));
+        } catch (NoSuchFileException e) {
+            disk.invalidate(key);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean prepareSpillDir(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    deleteQuietly(file);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Rendered document spill directory {} is unavailable, using memory only", dir, e);
+            return false;
+        }
+    }
+
+    private static long sizeKiB(Path path) {
+        try {
+            return Math.max(1, Files.size(path) / 1024);
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete spilled document {}", path, e);
+        }
+    }
+}
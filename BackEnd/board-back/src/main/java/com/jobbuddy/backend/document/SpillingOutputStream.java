@@ -0,0 +1,118 @@
+package com.jobbuddy.backend.document;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * threshold 까지는 메모리에 모으고, 넘으면 임시 파일로 옮겨 이어 쓰는 스트림.
+ *  - 작은 문서: byte[] 하나로 끝남 (ByteArrayOutputStream.toByteArray 처럼 두 벌이 되지 않게 딱 맞는 크기로 한 번만 복사)
+ *  - 큰 문서: 렌더링 중에도 힙에는 threshold 만큼만 머묾
+ * dir 이 null 이면 파일로 옮기지 않음 (디스크를 쓸 수 없을 때).
+ */
+final class SpillingOutputStream extends OutputStream {
+
+    private final Path dir;
+    private final int threshold;
+
+    private byte[] buf = new byte[8192];
+    private int count;
+
+    private Path file;
+    private OutputStream fileOut;
+    private long size;
+    private boolean closed;
+
+    SpillingOutputStream(Path dir, int threshold) {
+        this.dir = dir;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!closed && fileOut == null && count < buf.length && count < threshold) {
+            buf[count++] = (byte) b;
+            size++;
+            return;
+        }
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (fileOut == null && dir != null && (long) count + len > threshold) {
+            spill();
+        }
+        if (fileOut != null) {
+            fileOut.write(b, off, len);
+        } else {
+            if (count + len > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + len));
+            }
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+        size += len;
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile(dir, "render-", ".tmp");
+        fileOut = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        fileOut.write(buf, 0, count);
+        buf = null;
+        count = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOut != null) {
+            fileOut.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            if (fileOut != null) {
+                fileOut.close();
+            }
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean spilled() {
+        return file != null;
+    }
+
+    // 메모리에 남은 경우의 내용 (딱 맞는 크기)
+    byte[] bytes() {
+        return buf.length == count ? buf : Arrays.copyOf(buf, count);
+    }
+
+    // 파일로 옮겨진 경우의 임시 파일 (옮기거나 지우는 건 호출한 쪽 책임)
+    Path file() {
+        return file;
+    }
+
+    // 실패 시 정리
+    void discard() {
+        try {
+            close();
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ignored) {
+            // 임시 파일은 다음 시작 때 spill 디렉터리 정리로 지워짐
+        }
+    }
+}
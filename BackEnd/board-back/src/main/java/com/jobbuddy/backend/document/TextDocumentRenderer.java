@@ -0,0 +1,62 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * txt – 채용 사이트 입력칸에 그대로 붙여 넣을 수 있는 일반 텍스트 (서식 없음).
+ */
+@Component
+public class TextDocumentRenderer implements DocumentRenderer {
+
+    private static final MediaType TEXT = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    @Override
+    public String format() {
+        return "txt";
+    }
+
+    @Override
+    public List<String> aliases() {
+        return List.of("text");
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return TEXT;
+    }
+
+    @Override
+    public String extension() {
+        return ".txt";
+    }
+
+    @Override
+    public void render(String templateId, DocumentContent content, OutputStream out) throws IOException {
+        Writer w = TextDocuments.writer(out);
+        w.write(TextDocuments.normalize(content.title()));
+        w.write('\n');
+        String subtitle = TextDocuments.subtitle(content);
+        if (!subtitle.isEmpty()) {
+            w.write(subtitle);
+            w.write('\n');
+        }
+        for (DocumentContent.Section section : content.sections()) {
+            w.write('\n');
+            String question = TextDocuments.normalize(section.question());
+            if (!question.isEmpty()) {
+                w.write(question);
+                w.write("\n\n");
+            }
+            w.write(TextDocuments.normalize(section.answer()));
+            w.write('\n');
+        }
+        w.flush();
+    }
+}
@@ -0,0 +1,39 @@
+package com.jobbuddy.backend.document;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 텍스트 계열 렌더러(html / md / txt) 공통.
+ *  - out 위에 UTF-8 버퍼 하나만 두고 바로 씀 (문자열로 모으지 않음), 다 쓰면 flush 만 하고 닫지 않음
+ */
+final class TextDocuments {
+
+    private TextDocuments() {
+    }
+
+    static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8 * 1024);
+    }
+
+    // null → "", 줄바꿈은 \n 으로 통일, 앞뒤 공백 제거
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\r\n", "\n").replace('\r', '\n').strip();
+    }
+
+    // "회사 / 직무" (비어 있는 쪽은 뺌, 둘 다 없으면 "")
+    static String subtitle(DocumentContent content) {
+        String company = normalize(content.company());
+        String job = normalize(content.job());
+        if (company.isEmpty() || job.isEmpty()) {
+            return company + job;
+        }
+        return company + " / " + job;
+    }
+}
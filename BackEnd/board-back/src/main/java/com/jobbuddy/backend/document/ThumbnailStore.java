@@ -0,0 +1,80 @@
+package com.jobbuddy.backend.document;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 썸네일 PNG 저장소 (내용 주소 방식: 파일 이름 = SHA-256).
+ *  - 같은 내용은 한 번만 저장, 한 번 저장된 파일은 바뀌지 않음 → 응답에 오래 캐시해도 됨
+ *  - 경로: {dir}/{hash 앞 2자}/{hash}.png (한 디렉터리에 파일이 몰리지 않게)
+ * 지우지 않으므로 자소서가 삭제돼도 파일은 남는다 (작고, 주소를 모르면 받을 수 없음).
+ */
+@Component
+public class ThumbnailStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path dir;
+
+    public ThumbnailStore(@Value("${document.thumbnail.dir:./data/thumbnails}") String dir) {
+        this.dir = Path.of(dir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create thumbnail directory " + this.dir, e);
+        }
+    }
+
+    // 저장하고 hash 반환 (이미 있으면 쓰지 않음)
+    public String put(byte[] png) throws IOException {
+        String hash = sha256(png);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "thumb-", ".tmp");
+        try {
+            Files.write(tmp, png);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 다른 스레드가 같은 내용을 먼저 저장함
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return hash;
+    }
+
+    // hash 형식이 아니면 (경로 조작 포함) 없는 것으로
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathOf(String hash) {
+        return dir.resolve(hash.substring(0, 2)).resolve(hash + ".png");
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jobbuddy.backend.document;
+
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 자소서 PDF 첫 페이지 → 작은 PNG 썸네일 (보관함 목록의 previewUrl).
+ *  - 생성 트랜잭션이 커밋된 뒤 전용 풀에서 (스레드 수 / 대기열 고정, 낮은 우선순위)
+ *    → 대기열이 차면 버림 (썸네일은 없어도 되는 값이라 API 스레드가 기다리거나 대신 처리하지 않음)
+ *  - PDF 는 렌더링 캐시에서 가져오므로 보통 미리 렌더링된 것을 그대로 씀
+ *  - 결과는 ThumbnailStore 에 저장하고, 썸네일을 뜬 PDF 의 key 와 URL 을 onStored 로 넘김 (DB 반영은 호출한 쪽)
+ */
+@Component
+public class ThumbnailWorker {
+
+    public static final String URL_PREFIX = "/api/cover-letters/thumbnails/";
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailWorker.class);
+
+    private final ThumbnailStore store;
+    private final boolean enabled;
+    private final int width;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer renderTimer;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public ThumbnailWorker(ThumbnailStore store,
+                           MeterRegistry meterRegistry,
+                           @Value("${document.thumbnail.enabled:true}") boolean enabled,
+                           @Value("${document.thumbnail.width:240}") int width,
+                           @Value("${document.thumbnail.threads:1}") int threads,
+                           @Value("${document.thumbnail.queue-capacity:50}") int queueCapacity) {
+        this.store = store;
+        this.enabled = enabled;
+        this.width = width;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "thumbnail-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("document.thumbnail.render")
+                .description("Time spent rasterizing and storing one thumbnail")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("document.thumbnail.failed")
+                .description("Thumbnail tasks that failed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("document.thumbnail.rejected")
+                .description("Thumbnail tasks dropped because the pool was saturated")
+                .register(meterRegistry);
+        meterRegistry.gauge("document.thumbnail.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 썸네일을 만든다.
+     *
+     * @param pdf      썸네일을 뜰 PDF (풀에서 호출, null 이면 건너뜀)
+     * @param onStored 썸네일을 뜬 PDF 의 key 와 저장된 URL 을 받음 (풀 스레드, 같은 샤드 컨텍스트)
+     */
+    public void scheduleAfterCommit(Supplier<RenderedDocument> pdf, BiConsumer<DocumentKey, String> onStored) {
+        if (!enabled) {
+            return;
+        }
+        int shard = ShardContextHolder.currentOrDefault();
+        Runnable submit = () -> submit(shard, pdf, onStored);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    private void submit(int shard, Supplier<RenderedDocument> pdf, BiConsumer<DocumentKey, String> onStored) {
+        try {
+            executor.execute(() -> {
+                ShardContextHolder.set(shard);
+                try {
+                    RenderedDocument document = pdf.get();
+                    if (document != null) {
+                        String hash = renderTimer.recordCallable(() -> store.put(rasterize(document)));
+                        onStored.accept(document.key(), URL_PREFIX + hash + ".png");
+                    }
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    log.warn("Failed to create thumbnail", e);
+                } finally {
+                    ShardContextHolder.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+        }
+    }
+
+    // 첫 페이지를 width 픽셀 너비로
+    byte[] rasterize(RenderedDocument document) throws IOException {
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMainMemoryOnly();
+        try (PDDocument pdf = document.inMemory()
+                ? PDDocument.load(document.bytes(), "", null, null, memory)
+                : PDDocument.load(document.file().toFile(), memory)) {
+            PDPage page = pdf.getPage(0);
+            float scale = width / page.getMediaBox().getWidth();
+            BufferedImage image = new PDFRenderer(pdf).renderImage(0, scale, ImageType.RGB);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.jobbuddy.backend.dto;
+
+import java.util.List;
+
+// 보관함 일괄 처리(삭제/보관/톤 변경) 결과 - id 별 처리 결과 포함
+public class BulkOperationResponse {
+
+    public static final String OK = "OK";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private List<Item> results;
+    private int succeeded;
+    private int failed;
+
+    public BulkOperationResponse() {
+    }
+
+    public BulkOperationResponse(List<Item> results, int succeeded, int failed) {
+        this.results = results;
+        this.succeeded = succeeded;
+        this.failed = failed;
+    }
+
+    public List<Item> getResults() { return results; }
+    public void setResults(List<Item> results) { this.results = results; }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public static class Item {
+        private Long coverLetterId;
+        private String result; // OK / NOT_FOUND
+
+        public Item() {
+        }
+
+        public Item(Long coverLetterId, String result) {
+            this.coverLetterId = coverLetterId;
+            this.result = result;
+        }
+
+        public Long getCoverLetterId() { return coverLetterId; }
+        public void setCoverLetterId(Long coverLetterId) { this.coverLetterId = coverLetterId; }
+
+        public String getResult() { return result; }
+        public void setResult(String result) { this.result = result; }
+    }
+}
@@ -16,6 +16,9 @@ public class CoverLetterPreviewResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // 🔹 낙관적 락 버전 (수정 충돌 감지용)
+    private Long version;
+
     // 🔹 문항별 내용 (미리보기용)
     private List<CoverLetterSectionDto> sections;
 
@@ -135,6 +138,14 @@ public class CoverLetterPreviewResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<CoverLetterSectionDto> getSections() {
         return sections;
     }
@@ -41,7 +41,18 @@ public class CoverLetterReqDto {
         public void setTitle(String title) { this.title = title; }
     }
     
-    // 4. 저장/수정/제목변경 성공 시 ID 반환용
+    // 4. 보관함 일괄 처리 요청 (POST /api/cover-letters/bulk/...)
+    public static class BulkRequest {
+        private List<Long> ids;
+        private String tone; // retag 일 때만 사용
+
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+        public String getTone() { return tone; }
+        public void setTone(String tone) { this.tone = tone; }
+    }
+
+    // 5. 저장/수정/제목변경 성공 시 ID 반환용
     public static class IdResponse {
         private Long coverLetterId;
         // 제목 변경 시 필요할 수 있는 필드 추가
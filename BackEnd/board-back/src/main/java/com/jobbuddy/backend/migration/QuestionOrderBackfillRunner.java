@@ -0,0 +1,70 @@
+package com.jobbuddy.backend.migration;
+
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.repository.CoverLetterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * question_order 컬럼이 생기기 전에 저장된 문항들에 순서값을 채워 넣는다.
+ * (ddl-auto=update 로 컬럼이 추가되면 기존 row 는 모두 0(또는 null)이라 한 자소서 안에서 순서가 겹침)
+ * 샤드마다 진행, 채울 대상이 없으면 샤드당 조회 한 번으로 끝난다.
+ */
+@Component
+public class QuestionOrderBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionOrderBackfillRunner.class);
+
+    private final CoverLetterRepository coverLetterRepository;
+    private final ShardBinding shardBinding;
+    private final TransactionTemplate transactionTemplate;
+
+    public QuestionOrderBackfillRunner(CoverLetterRepository coverLetterRepository,
+                                       ShardBinding shardBinding,
+                                       PlatformTransactionManager transactionManager) {
+        this.coverLetterRepository = coverLetterRepository;
+        this.shardBinding = shardBinding;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                backfillCurrentShard(shard);
+            } catch (RuntimeException e) {
+                log.warn("question_order backfill failed on shard {}", shard, e);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+
+    private void backfillCurrentShard(int shard) {
+        List<Long> ids = coverLetterRepository.findIdsWithUnorderedQuestions();
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        for (Long id : ids) {
+            // 자소서 단위로 트랜잭션을 끊어서 락을 짧게 유지
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> questions = coverLetterRepository.findQuestionsInStoredOrder(id);
+                coverLetterRepository.deleteAllQuestions(id);
+                for (int i = 0; i < questions.size(); i++) {
+                    coverLetterRepository.insertQuestionAt(id, i, questions.get(i));
+                }
+            });
+        }
+        log.info("Backfilled question_order for {} cover letters on shard {}", ids.size(), shard);
+    }
+}
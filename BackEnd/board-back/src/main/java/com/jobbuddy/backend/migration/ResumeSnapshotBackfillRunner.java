@@ -0,0 +1,114 @@
+package com.jobbuddy.backend.migration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.model.CoverLetter;
+import com.jobbuddy.backend.repository.CoverLetterRepository;
+import com.jobbuddy.backend.service.ResumeSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * resume_snapshots 도입 전에 저장된 자소서의 이력서 항목을 스냅샷으로 옮긴다.
+ * (sections 에서 이력서 항목을 떼어 내고 resume_hash 를 채움, 같은 이력서는 한 row 로 합쳐짐)
+ * 배치 하나 = 트랜잭션 하나, 샤드마다 id 순으로 진행. 옮길 대상이 없으면 조회 한 번으로 끝난다.
+ * 그 사이 수정된 자소서는 건너뛰고 (저장하면서 이미 분리됨) 다음 실행에서 다시 확인한다.
+ */
+@Component
+public class ResumeSnapshotBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeSnapshotBackfillRunner.class);
+
+    private final CoverLetterRepository coverLetterRepository;
+    private final ResumeSnapshotStore resumeSnapshots;
+    private final ShardBinding shardBinding;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ResumeSnapshotBackfillRunner(CoverLetterRepository coverLetterRepository,
+                                        ResumeSnapshotStore resumeSnapshots,
+                                        ShardBinding shardBinding,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${resume-snapshot.backfill.enabled:true}") boolean enabled,
+                                        @Value("${resume-snapshot.backfill.batch-size:200}") int batchSize) {
+        this.coverLetterRepository = coverLetterRepository;
+        this.resumeSnapshots = resumeSnapshots;
+        this.shardBinding = shardBinding;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                backfillCurrentShard(shard);
+            } catch (RuntimeException e) {
+                log.warn("Resume snapshot backfill failed on shard {}", shard, e);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+
+    private void backfillCurrentShard(int shard) {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Long> ids = coverLetterRepository.findIdsWithInlineResume(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            Integer moved = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (CoverLetter coverLetter : coverLetterRepository.findAllById(ids)) {
+                    ResumeSnapshotStore.Split split = resumeSnapshots.split(coverLetter.getSections());
+                    count += coverLetterRepository.attachResumeSnapshot(
+                            coverLetter.getId(), coverLetter.getVersion(),
+                            split.resumeHash(), toJson(split));
+                }
+                return count;
+            });
+            total += moved != null ? moved : 0;
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Moved inline resumes of {} cover letters into resume_snapshots on shard {}", total, shard);
+        }
+    }
+
+    private String toJson(ResumeSnapshotStore.Split split) {
+        if (split.letterSections() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(split.letterSections());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cover letter sections", e);
+        }
+    }
+}
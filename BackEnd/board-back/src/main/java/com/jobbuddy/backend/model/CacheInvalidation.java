@@ -0,0 +1,49 @@
+package com.jobbuddy.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 서버(노드)가 떠 있을 때 로컬 캐시 무효화를 전달하는 메시지.
+ * 데이터를 바꾸는 트랜잭션 안에서 같이 insert 되므로, 커밋된 변경에 대해서만 다른 노드가 읽게 된다.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "createdAt"))
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 캐시 이름 (예: cover-letter-preview, users)
+    @Column(nullable = false, length = 64)
+    private String cacheName;
+
+    // 캐시 키 (문자열로 직렬화한 값)
+    @Column(nullable = false)
+    private String cacheKey;
+
+    // 보낸 노드 (자기가 보낸 건 이미 로컬에서 지웠으므로 건너뜀)
+    @Column(nullable = false, length = 36)
+    private String originNode;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    protected CacheInvalidation() {
+    }
+
+    public CacheInvalidation(String cacheName, String cacheKey, String originNode) {
+        this.cacheName = cacheName;
+        this.cacheKey = cacheKey;
+        this.originNode = originNode;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public String getCacheName() { return cacheName; }
+    public String getCacheKey() { return cacheKey; }
+    public String getOriginNode() { return originNode; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
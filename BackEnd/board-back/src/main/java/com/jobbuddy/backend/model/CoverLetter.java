@@ -1,17 +1,23 @@
 package com.jobbuddy.backend.model;
 
+import com.jobbuddy.backend.datasource.ShardAwareId;
+import com.jobbuddy.backend.tiering.ColdSections;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "cover_letters")
+@Table(name = "cover_letters",
+        indexes = @Index(name = "idx_cover_letters_resume_hash", columnList = "resume_hash"))
+@SQLRestriction("deleted_at is null") // 삭제(툼스톤)된 자소서는 모든 조회에서 제외
 public class CoverLetter {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardAwareId // 샤딩이 켜져 있으면 샤드 번호를 담은 id 를 insert 전에 발급, 꺼져 있으면 AUTO_INCREMENT
+    @Column(columnDefinition = "bigint auto_increment")
     private Long id;
 
     // 자소서 제목
@@ -23,6 +29,7 @@ public class CoverLetter {
             name = "cover_letter_questions",
             joinColumns = @JoinColumn(name = "cover_letter_id")
     )
+    @OrderColumn(name = "question_order") // 문항 순서 보존 → 위치 기반 diff 업데이트 가능
     @Column(name = "question")
     private List<String> questions;
 
@@ -43,13 +50,22 @@ public class CoverLetter {
     private boolean archived;
 
     // 소유자 (User)
+    // 샤딩 시 users 는 0번 샤드에만 있으므로 FK 제약은 만들지 않음
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User owner;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // 삭제 시각 (soft delete). 값이 있으면 삭제된 것으로 보고, 보관 기간이 지나면 purger 가 실제 삭제
+    private LocalDateTime deletedAt;
+
+    // 낙관적 락 버전 (동시 수정 시 덮어쓰기 방지, 기존 row 는 0 으로 채워짐)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // ----------------- 자소서 추가 필드 -----------------
 
     // 지원 회사명
@@ -61,11 +77,24 @@ public class CoverLetter {
     // 템플릿 ID (명세서 2번 기능 대응)
     private String templateId;
 
-    // 상세 섹션 정보 (JSON 타입)
+    // 상세 섹션 정보 (JSON 타입) - 이력서 항목은 resume_snapshots 로 분리되고 자소서 고유 항목(생성 본문 등)만 남음
     @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.JSON)
     @Column(columnDefinition = "json")
     private Map<String, Object> sections;
 
+    // 공유 이력서 스냅샷 (resume_snapshots.content_hash). null 이면 이력서가 없거나 분리 전 row
+    @Column(name = "resume_hash", length = 64)
+    private String resumeHash;
+
+    // 오래 안 쓴 자소서의 sections 압축본 (cold tier, ColdTierJob 이 채움). 값이 있으면 sections 는 null
+    @Lob
+    @Column(name = "sections_cold", columnDefinition = "mediumblob")
+    private byte[] sectionsCold;
+
+    // sectionsCold 를 처음 읽을 때 한 번만 풀어 둠 (목록 조회처럼 sections 를 안 보는 곳은 풀지 않음)
+    @Transient
+    private Map<String, Object> thawedSections;
+
     // ----------------- 생성자 & 콜백 -----------------
 
     public CoverLetter() {
@@ -113,27 +142,56 @@ public class CoverLetter {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+
     public String getTargetCompany() { return targetCompany; }
     public String getTargetJob() { return targetJob; }
     public String getTemplateId() { return templateId; }
 
-    public Map<String, Object> getSections() { return sections; }
-    public void setSections(Map<String, Object> sections) { this.sections = sections; }
+    public Map<String, Object> getSections() {
+        if (sections == null && sectionsCold != null) {
+            if (thawedSections == null) {
+                thawedSections = ColdSections.decompress(sectionsCold);
+            }
+            return thawedSections;
+        }
+        return sections;
+    }
+
+    // 수정되면 다시 hot (압축 없는 json 컬럼) 으로
+    public void setSections(Map<String, Object> sections) {
+        this.sections = sections;
+        promoteToHot();
+    }
+
+    public boolean isCold() { return sectionsCold != null; }
+
+    public String getResumeHash() { return resumeHash; }
 
     // ----------------- 비즈니스 로직 메서드 -----------------
 
-    // 정보 업데이트 (저장/수정)
+    // 정보 업데이트 (저장/수정) - 이력서는 스냅샷 hash 로, 나머지 항목은 sections 로
     public void updateContent(String title,
                               String targetCompany,
                               String targetJob,
+                              String resumeHash,
                               Map<String, Object> sections) {
         this.title = title;
         this.targetCompany = targetCompany;
         this.targetJob = targetJob;
+        this.resumeHash = resumeHash;
         this.sections = sections;
+        promoteToHot();
         this.onUpdate();
     }
 
+    private void promoteToHot() {
+        this.sectionsCold = null;
+        this.thawedSections = null;
+    }
+
     // 제목만 변경 (이름 변경 API용)
     public void updateTitle(String title) {
         this.title = title;
@@ -0,0 +1,86 @@
+package com.jobbuddy.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 하나에 대한 처리 기록.
+ * 같은 키로 다시 요청이 오면 저장해 둔 응답을 그대로 돌려준다 (중복 생성 / 중복 AI 호출 방지).
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_idempotency_user_scope_key",
+                columnNames = {"user_id", "scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, COMPLETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // 어떤 API 에 대한 키인지 (예: create, generate:123)
+    @Column(name = "scope", nullable = false, length = 64)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // 요청 본문 해시 (같은 키로 다른 요청을 보내면 422)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Lob
+    @Column(name = "response_body", columnDefinition = "longtext")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(Long userId, String scope, String idempotencyKey, String requestHash,
+                             LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.status = Status.IN_PROGRESS;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public void complete(int responseStatus, String responseBody) {
+        this.status = Status.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getScope() { return scope; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getRequestHash() { return requestHash; }
+    public Status getStatus() { return status; }
+    public Integer getResponseStatus() { return responseStatus; }
+    public String getResponseBody() { return responseBody; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
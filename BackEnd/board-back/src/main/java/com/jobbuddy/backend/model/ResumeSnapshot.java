@@ -0,0 +1,45 @@
+package com.jobbuddy.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 여러 자소서가 공유하는 이력서 스냅샷 (profile / experiences / projects / activities / awards / skills).
+ *  - key = 정렬된 JSON 의 SHA-256 → 내용이 같으면 한 row (자소서는 cover_letters.resume_hash 로 참조)
+ *  - 한 번 쓰면 바뀌지 않음. 이력서가 달라진 자소서는 새 스냅샷을 가리키게 됨 (copy-on-write)
+ *  - 아무도 참조하지 않고 last_used_at 이 오래된 row 는 CoverLetterPurger 가 정리
+ */
+@Entity
+@Immutable
+@Table(name = "resume_snapshots",
+        indexes = @Index(name = "idx_resume_snapshots_last_used_at", columnList = "last_used_at"))
+public class ResumeSnapshot {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "json")
+    private Map<String, Object> payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 마지막으로 자소서가 이 스냅샷을 가리키게 된 시각 (정리 대상 판단용)
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    protected ResumeSnapshot() {
+    }
+
+    public String getContentHash() { return contentHash; }
+    public Map<String, Object> getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getLastUsedAt() { return lastUsedAt; }
+}
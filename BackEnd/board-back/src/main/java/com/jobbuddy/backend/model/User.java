@@ -1,5 +1,6 @@
 package com.jobbuddy.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -18,6 +19,10 @@ public class User {
     private String univ;
     private String major;
 
+    // 토큰 버전 (비밀번호 변경 시 증가 → 이전에 발급된 JWT 무효화)
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int tokenVersion;
+
     // getter/setter
     public Long getId() { return id; }
     public String getUsername() { return username; }
@@ -30,4 +35,8 @@ public class User {
     public void setUniv(String univ) { this.univ = univ; }
     public String getMajor() { return major; }
     public void setMajor(String major) { this.major = major; }
+
+    @JsonIgnore
+    public int getTokenVersion() { return tokenVersion; }
+    public void increaseTokenVersion() { this.tokenVersion++; }
 }
@@ -0,0 +1,22 @@
+package com.jobbuddy.backend.repository;
+
+import com.jobbuddy.backend.model.CacheInvalidation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    // 최근 구간의 메시지를 id 순으로 조금씩 (폴링용)
+    List<CacheInvalidation> findByCreatedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+            LocalDateTime since, Long afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from CacheInvalidation c where c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,17 @@
 package com.jobbuddy.backend.repository;
 
 import com.jobbuddy.backend.model.CoverLetter;
+import com.jobbuddy.backend.model.CoverLetterStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CoverLetterRepository extends JpaRepository<CoverLetter, Long> {
@@ -12,6 +19,288 @@ public interface CoverLetterRepository extends JpaRepository<CoverLetter, Long>
     // 특정 유저의 자소서 1개 조회 (미리보기 / 다운로드 / 보관함 저장에 공통 사용)
     Optional<CoverLetter> findByIdAndOwnerId(Long id, Long ownerId);
 
+    // 소유권만 확인 (자동 저장 버퍼에 넣기 전, 엔티티 로딩 없이)
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    // 다운로드 캐시 key / ETag 계산용 (sections 는 읽지 않음)
+    interface DocumentStamp {
+        CoverLetterStatus getStatus();
+
+        LocalDateTime getUpdatedAt();
+
+        String getTemplateId();
+    }
+
+    @Query("select c.status as status, c.updatedAt as updatedAt, c.templateId as templateId " +
+            "from CoverLetter c where c.id = :id and c.owner.id = :ownerId")
+    Optional<DocumentStamp> findDocumentStamp(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
     // 보관함 목록 조회용: 해당 유저의 archived=true 인 자소서들
     Page<CoverLetter> findByOwnerIdAndArchivedTrue(Long ownerId, Pageable pageable);
-}
\ No newline at end of file
+
+    // 보관함 내보내기용 (sections 는 읽지 않음)
+    interface ArchiveExportRow {
+        Long getId();
+
+        String getTitle();
+
+        LocalDateTime getUpdatedAt();
+
+        String getTemplateId();
+    }
+
+    // id 기준 keyset 페이지 (afterId 다음부터 pageable 크기만큼, count 쿼리 없음)
+    @Query("select c.id as id, c.title as title, c.updatedAt as updatedAt, c.templateId as templateId " +
+            "from CoverLetter c where c.owner.id = :ownerId and c.archived = true " +
+            "and c.status = :status and c.id > :afterId order by c.id")
+    List<ArchiveExportRow> findArchiveExportPage(@Param("ownerId") Long ownerId,
+                                                 @Param("status") CoverLetterStatus status,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    // ===== 단건 UPDATE 쿼리 (엔티티 로딩 없이 id + 소유자 조건으로 바로 수정) =====
+    //  - 반환값: 영향받은 row 수 (0 이면 없는 자소서 → 404)
+    //  - version 을 같이 올려서, 동시에 엔티티로 수정 중인 요청은 낙관적 락 예외로 실패하게 함
+
+    // expectedVersion 이 있으면 (If-Match) 버전이 같을 때만 수정
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.title = :title, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.id = :id and c.owner.id = :ownerId and c.deletedAt is null " +
+            "and (:expectedVersion is null or c.version = :expectedVersion)")
+    int updateTitle(@Param("id") Long id,
+                    @Param("ownerId") Long ownerId,
+                    @Param("title") String title,
+                    @Param("expectedVersion") Long expectedVersion,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.templateId = :templateId, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.id = :id and c.owner.id = :ownerId and c.deletedAt is null " +
+            "and (:expectedVersion is null or c.version = :expectedVersion)")
+    int updateTemplate(@Param("id") Long id,
+                       @Param("ownerId") Long ownerId,
+                       @Param("templateId") String templateId,
+                       @Param("expectedVersion") Long expectedVersion,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.archived = true, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.id = :id and c.owner.id = :ownerId and c.deletedAt is null " +
+            "and (:expectedVersion is null or c.version = :expectedVersion)")
+    int archive(@Param("id") Long id,
+                @Param("ownerId") Long ownerId,
+                @Param("expectedVersion") Long expectedVersion,
+                @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.tone = :tone, c.lengthPerQuestion = :lengthPerQuestion, " +
+            "c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.id = :id and c.owner.id = :ownerId and c.deletedAt is null " +
+            "and (:expectedVersion is null or c.version = :expectedVersion)")
+    int updateSettings(@Param("id") Long id,
+                       @Param("ownerId") Long ownerId,
+                       @Param("tone") String tone,
+                       @Param("lengthPerQuestion") Integer lengthPerQuestion,
+                       @Param("expectedVersion") Long expectedVersion,
+                       @Param("now") LocalDateTime now);
+
+    // JSON Merge Patch (RFC 7396) 를 DB 에서 바로 적용 - sections 전체를 주고받지 않고 바뀐 부분만
+    //  - *Mode: 0 = 그대로, 1 = 값으로 설정 (sections 는 JSON_MERGE_PATCH 로 병합), 2 = null 로 삭제
+    //  - expectedVersion 이 있으면 (If-Match) 버전이 같을 때만 수정
+    //  - 압축(cold)된 자소서는 DB 에서 풀 수 없으므로 제외 (0 이면 호출한 쪽이 Java 병합으로)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update cover_letters set " +
+            "sections = case :sectionsMode " +
+            "  when 1 then json_merge_patch(coalesce(sections, json_object()), cast(:sectionsPatch as json)) " +
+            "  when 2 then null else sections end, " +
+            "title = case :titleMode when 1 then :title when 2 then null else title end, " +
+            "target_company = case :companyMode when 1 then :company when 2 then null else target_company end, " +
+            "target_job = case :jobMode when 1 then :job when 2 then null else target_job end, " +
+            "updated_at = :now, version = version + 1 " +
+            "where id = :id and user_id = :ownerId and deleted_at is null and sections_cold is null " +
+            "and (:expectedVersion is null or version = :expectedVersion)",
+            nativeQuery = true)
+    int mergePatch(@Param("id") Long id,
+                   @Param("ownerId") Long ownerId,
+                   @Param("expectedVersion") Long expectedVersion,
+                   @Param("sectionsMode") int sectionsMode,
+                   @Param("sectionsPatch") String sectionsPatch,
+                   @Param("titleMode") int titleMode,
+                   @Param("title") String title,
+                   @Param("companyMode") int companyMode,
+                   @Param("company") String company,
+                   @Param("jobMode") int jobMode,
+                   @Param("job") String job,
+                   @Param("now") LocalDateTime now);
+
+    @Query(value = "select version from cover_letters where id = :id", nativeQuery = true)
+    Optional<Long> findVersion(@Param("id") Long id);
+
+    boolean existsByIdAndOwnerIdAndSectionsColdIsNotNull(Long id, Long ownerId);
+
+    // 삭제 = 툼스톤 표시만 (문항 등 실제 row 정리는 CoverLetterPurger 가 나중에 배치로)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.deletedAt = :now, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.id = :id and c.owner.id = :ownerId and c.deletedAt is null")
+    int softDelete(@Param("id") Long id,
+                   @Param("ownerId") Long ownerId,
+                   @Param("now") LocalDateTime now);
+
+    // 삭제 취소 (@SQLRestriction 을 타지 않도록 native 로 작성)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update cover_letters set deleted_at = null, version = version + 1 " +
+            "where id = :id and user_id = :ownerId and deleted_at is not null and deleted_at >= :since",
+            nativeQuery = true)
+    int restore(@Param("id") Long id,
+                @Param("ownerId") Long ownerId,
+                @Param("since") LocalDateTime since);
+
+    // ===== 문항(cover_letter_questions) 위치 기반 diff 업데이트용 =====
+    //  - 전체 삭제 후 재삽입 대신, 바뀐 위치만 UPDATE / 늘어난 만큼 INSERT / 줄어든 만큼 DELETE
+
+    @Query(value = "select question from cover_letter_questions " +
+            "where cover_letter_id = :id order by question_order", nativeQuery = true)
+    List<String> findQuestions(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "update cover_letter_questions set question = :question " +
+            "where cover_letter_id = :id and question_order = :idx", nativeQuery = true)
+    int updateQuestionAt(@Param("id") Long id,
+                         @Param("idx") int idx,
+                         @Param("question") String question);
+
+    @Modifying
+    @Query(value = "insert into cover_letter_questions (cover_letter_id, question_order, question) " +
+            "values (:id, :idx, :question)", nativeQuery = true)
+    int insertQuestionAt(@Param("id") Long id,
+                         @Param("idx") int idx,
+                         @Param("question") String question);
+
+    @Modifying
+    @Query(value = "delete from cover_letter_questions " +
+            "where cover_letter_id = :id and question_order >= :fromIdx", nativeQuery = true)
+    int deleteQuestionsFrom(@Param("id") Long id, @Param("fromIdx") int fromIdx);
+
+    // question_order 컬럼 추가 전에 저장된 문항들
+    //  - ddl-auto=update 는 NOT NULL 컬럼을 0 으로 채워서 추가하므로 null 만으로는 못 찾음 → 순서값이 겹치는 자소서
+    @Query(value = "select cover_letter_id from cover_letter_questions group by cover_letter_id " +
+            "having count(distinct question_order) < count(*)", nativeQuery = true)
+    List<Long> findIdsWithUnorderedQuestions();
+
+    // 순서값이 없던 때의 문항은 저장된 순서 그대로 (PK 없는 테이블 → InnoDB 내부 row id = 삽입 순)
+    @Query(value = "select question from cover_letter_questions where cover_letter_id = :id", nativeQuery = true)
+    List<String> findQuestionsInStoredOrder(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "delete from cover_letter_questions where cover_letter_id = :id", nativeQuery = true)
+    int deleteAllQuestions(@Param("id") Long id);
+
+    // ===== 이력서 스냅샷 분리 전에 저장된 자소서 (sections 안에 이력서 항목이 그대로 있음) =====
+
+    @Query(value = "select id from cover_letters " +
+            "where resume_hash is null and deleted_at is null and id > :afterId " +
+            "and json_contains_path(sections, 'one', '$.profile', '$.experiences', '$.experience', " +
+            "'$.educationExperience', '$.projects', '$.projectExperience', '$.activities', '$.club', " +
+            "'$.clubs', '$.awards', '$.skills', '$.technicalSkills') " +
+            "order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findIdsWithInlineResume(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // 내용은 그대로고 저장 위치만 바뀌므로 version 은 올리지 않음 (읽은 뒤 수정됐으면 0 → 다음 실행에서 다시)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update cover_letters set resume_hash = :resumeHash, sections = cast(:sections as json) " +
+            "where id = :id and version = :version and resume_hash is null",
+            nativeQuery = true)
+    int attachResumeSnapshot(@Param("id") Long id,
+                             @Param("version") Long version,
+                             @Param("resumeHash") String resumeHash,
+                             @Param("sections") String sections);
+
+    // ===== cold tier (오래 안 쓴 자소서 sections 압축) =====
+
+    @Query(value = "select id from cover_letters " +
+            "where archived = true and deleted_at is null and sections is not null and sections_cold is null " +
+            "and updated_at < :cutoff and id > :afterId order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findColdCandidates(@Param("cutoff") LocalDateTime cutoff,
+                                  @Param("afterId") Long afterId,
+                                  @Param("limit") int limit);
+
+    // [id, version, sections(json 문자열)]
+    @Query(value = "select id, version, cast(sections as char) from cover_letters " +
+            "where id in (:ids) and sections is not null and sections_cold is null",
+            nativeQuery = true)
+    List<Object[]> findHotSections(@Param("ids") Collection<Long> ids);
+
+    // 내용은 그대로라 version / updated_at 은 건드리지 않음 (그 사이 수정됐으면 0 → 건너뜀)
+    @Modifying
+    @Query(value = "update cover_letters set sections_cold = :cold, sections = null " +
+            "where id = :id and version = :version and sections_cold is null",
+            nativeQuery = true)
+    int moveToCold(@Param("id") Long id,
+                   @Param("version") Long version,
+                   @Param("cold") byte[] cold);
+
+    // ===== 썸네일 =====
+
+    // 썸네일을 뜬 뒤로 내용이 바뀌지 않았을 때만 (updated_at 그대로). 파생 값이라 updated_at 은 그대로 두지만
+    // version 은 올림: 그 전에 읽어 둔 엔티티가 나중에 저장되면 preview_url 을 덮지 않고 낙관적 락 충돌이 남
+    @Modifying
+    @Query(value = "update cover_letters set preview_url = :previewUrl, version = version + 1 " +
+            "where id = :id and updated_at = :updatedAt and deleted_at is null",
+            nativeQuery = true)
+    int updatePreviewUrl(@Param("id") Long id,
+                         @Param("updatedAt") LocalDateTime updatedAt,
+                         @Param("previewUrl") String previewUrl);
+
+    // ===== 일괄 처리(bulk)용 집합 쿼리 =====
+    //  - id 목록 중 본인 소유인 것만 골라서 한 번에 처리
+
+    @Query("select c.id from CoverLetter c where c.owner.id = :ownerId and c.id in :ids")
+    List<Long> findOwnedIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // 처리한 id 들의 현재 version (id, version) → 캐시 무효화 메시지에 실음
+    @Query(value = "select id, version from cover_letters where id in (:ids)", nativeQuery = true)
+    List<Object[]> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.deletedAt = :now, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.owner.id = :ownerId and c.id in :ids and c.deletedAt is null")
+    int softDeleteOwned(@Param("ownerId") Long ownerId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.archived = true, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.owner.id = :ownerId and c.id in :ids and c.deletedAt is null")
+    int archiveOwned(@Param("ownerId") Long ownerId,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CoverLetter c set c.tone = :tone, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.owner.id = :ownerId and c.id in :ids and c.deletedAt is null")
+    int updateToneOwned(@Param("ownerId") Long ownerId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("tone") String tone,
+                        @Param("now") LocalDateTime now);
+
+    // ===== 툼스톤 정리(purge)용 - 보관 기간이 지난 삭제 row 를 id 순으로 조금씩 =====
+
+    @Query(value = "select id from cover_letters " +
+            "where deleted_at is not null and deleted_at < :cutoff order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "select count(*) from cover_letters where deleted_at is not null and deleted_at < :cutoff",
+            nativeQuery = true)
+    long countPurgeable(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "delete from cover_letter_questions where cover_letter_id in (:ids)", nativeQuery = true)
+    int deleteQuestionsByCoverLetterIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from cover_letters where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.jobbuddy.backend.repository;
+
+import com.jobbuddy.backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndScopeAndIdempotencyKey(Long userId, String scope, String idempotencyKey);
+
+    // 만료된 키 정리 (id 순으로 조금씩)
+    @Query(value = "select id from idempotency_keys where expires_at < :now order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,41 @@
+package com.jobbuddy.backend.repository;
+
+import com.jobbuddy.backend.model.ResumeSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ResumeSnapshotRepository extends JpaRepository<ResumeSnapshot, String> {
+
+    // 없으면 insert, 있으면 last_used_at 만 갱신 (같은 내용은 항상 한 row)
+    @Modifying
+    @Query(value = "insert into resume_snapshots (content_hash, payload, created_at, last_used_at) " +
+            "values (:hash, cast(:payload as json), :now, :now) " +
+            "on duplicate key update last_used_at = :now",
+            nativeQuery = true)
+    int upsert(@Param("hash") String hash,
+               @Param("payload") String payload,
+               @Param("now") LocalDateTime now);
+
+    // ===== 정리(purge)용 - 참조하는 자소서(삭제 대기 포함)가 없고 오래 안 쓰인 스냅샷 =====
+
+    @Query(value = "select s.content_hash from resume_snapshots s " +
+            "where s.last_used_at < :cutoff " +
+            "and not exists (select 1 from cover_letters c where c.resume_hash = s.content_hash) " +
+            "limit :limit",
+            nativeQuery = true)
+    List<String> findUnreferencedHashes(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // 고른 뒤 그 사이 다시 쓰인 스냅샷은 남도록 조건을 한 번 더 확인
+    @Modifying
+    @Query(value = "delete from resume_snapshots " +
+            "where content_hash in (:hashes) and last_used_at < :cutoff " +
+            "and not exists (select 1 from cover_letters c where c.resume_hash = resume_snapshots.content_hash)",
+            nativeQuery = true)
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,25 @@
 package com.jobbuddy.backend.repository;
 
 import com.jobbuddy.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // 토큰 폐기 확인용 (엔티티 전체 대신 버전 값만)
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // 아이디 Bloom filter 구축용 전체 스캔 (MySQL 은 fetch size = MIN_VALUE 일 때 한 줄씩 스트리밍)
+    //  - 트랜잭션 안에서 호출하고, 다 쓰면 stream 을 닫아야 함
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select u.username from User u where u.username is not null")
+    Stream<String> streamAllUsernames();
 }
@@ -0,0 +1,96 @@
+package com.jobbuddy.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그인 시도 제한 (BCrypt 를 돌리기 전에 먼저 거름).
+ *  - 아이디별: 윈도우 안에서 실패 N 번이면 잠시 막음 (성공하면 초기화)
+ *  - IP 별: 윈도우 안에서 실패 N 번이면 막음 (여러 아이디를 돌려보는 credential stuffing 대비)
+ *    성공은 세지 않음 → 회사/학교 NAT 뒤 사용자들의 정상 로그인이 서로를 막지 않음
+ * 카운터는 처음 생성 시점부터 window 가 지나면 통째로 사라지는 고정 윈도우 방식.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+    private final Duration usernameWindow;
+    private final Duration ipWindow;
+
+    private final Cache<String, AtomicInteger> usernameFailures;
+    private final Cache<String, AtomicInteger> ipFailures;
+
+    private final Counter blockedCounter;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry,
+                               @Value("${auth.login.username.max-failures:5}") int maxFailuresPerUsername,
+                               @Value("${auth.login.username.window:PT5M}") Duration usernameWindow,
+                               @Value("${auth.login.ip.max-failures:30}") int maxFailuresPerIp,
+                               @Value("${auth.login.ip.window:PT1M}") Duration ipWindow) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.usernameWindow = usernameWindow;
+        this.ipWindow = ipWindow;
+
+        this.usernameFailures = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(usernameWindow)
+                .build();
+        this.ipFailures = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(ipWindow)
+                .build();
+
+        this.blockedCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the attempt limiter")
+                .register(meterRegistry);
+    }
+
+    // 시도 전에 호출: 막혀 있으면 TooManyRequestsException (세는 건 recordFailure 에서)
+    public void checkAllowed(String username, String clientIp) {
+        if (username != null) {
+            AtomicInteger failures = usernameFailures.getIfPresent(username);
+            if (failures != null && failures.get() >= maxFailuresPerUsername) {
+                blockedCounter.increment();
+                throw new TooManyRequestsException(
+                        "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", usernameWindow.toSeconds());
+            }
+        }
+        if (clientIp != null) {
+            AtomicInteger failures = ipFailures.getIfPresent(clientIp);
+            if (failures != null && failures.get() >= maxFailuresPerIp) {
+                blockedCounter.increment();
+                throw new TooManyRequestsException(
+                        "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", ipWindow.toSeconds());
+            }
+        }
+    }
+
+    public void recordFailure(String username) {
+        recordFailure(username, null);
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        if (username != null) {
+            usernameFailures.get(username, u -> new AtomicInteger()).incrementAndGet();
+        }
+        if (clientIp != null) {
+            ipFailures.get(clientIp, ip -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    // 아이디 실패만 초기화 (IP 실패는 윈도우가 지나야 사라짐 - 성공 한 번으로 대입 시도를 씻어내지 못하게)
+    public void recordSuccess(String username) {
+        if (username != null) {
+            usernameFailures.invalidate(username);
+        }
+    }
+}
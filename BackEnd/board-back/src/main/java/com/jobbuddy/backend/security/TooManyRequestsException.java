@@ -0,0 +1,16 @@
+package com.jobbuddy.backend.security;
+
+// 요청 과다 (로그인 시도 제한 / 비밀번호 해싱 풀 포화) → 429 + Retry-After
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
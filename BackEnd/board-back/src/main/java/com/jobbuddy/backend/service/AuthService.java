@@ -3,38 +3,46 @@ package com.jobbuddy.backend.service;
 import com.jobbuddy.backend.dto.LoginRequest;
 import com.jobbuddy.backend.model.User;
 import com.jobbuddy.backend.repository.UserRepository;
+import com.jobbuddy.backend.security.LoginAttemptLimiter;
+import com.jobbuddy.backend.security.PasswordHashingExecutor;
 import com.jobbuddy.util.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final JwtUtil jwtUtil;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHashingExecutor passwordHasher,
+                       LoginAttemptLimiter loginAttemptLimiter,
                        JwtUtil jwtUtil) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.loginAttemptLimiter = loginAttemptLimiter;
         this.jwtUtil = jwtUtil;
     }
 
     // ✅ 로그인 + JWT 토큰 발급
-    public String login(LoginRequest request) {
+    public String login(LoginRequest request, String clientIp) {
+
+        // 0) 시도 제한 (BCrypt 돌리기 전에 거름)
+        loginAttemptLimiter.checkAllowed(request.getUsername(), clientIp);
 
         // 1) username으로 유저 찾기
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("아이디 또는 비밀번호가 올바르지 않습니다."));
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
 
-        // 2) 비밀번호 검증
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // 2) 비밀번호 검증 (전용 해싱 풀에서)
+        if (user == null || !passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            loginAttemptLimiter.recordFailure(request.getUsername(), clientIp);
             throw new IllegalArgumentException("아이디 또는 비밀번호가 올바르지 않습니다.");
         }
+        loginAttemptLimiter.recordSuccess(request.getUsername());
 
-        // 3) ✅ username을 넣어서 토큰 생성
-        return jwtUtil.generateToken(user.getUsername());
+        // 3) ✅ username + 사용자 id 를 넣어서 토큰 생성
+        return jwtUtil.generateToken(user);
     }
 }
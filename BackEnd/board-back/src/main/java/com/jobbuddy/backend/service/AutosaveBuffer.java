@@ -0,0 +1,344 @@
+package com.jobbuddy.backend.service;
+
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.dto.CoverLetterReqDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 에디터 자동 저장용 write-behind 버퍼.
+ *  - 같은 자소서에 대한 연속 저장(PATCH 본문 / PUT content)을 메모리에서 합쳐 두고 바로 응답
+ *  - 마지막 입력 후 quiet-period 동안 조용하거나, 처음 쌓인 지 max-delay 가 지나거나,
+ *    내용이 max-bytes 를 넘으면 최신 상태 한 번만 DB 에 반영
+ *  - 같은 자소서를 읽거나 다른 방식으로 수정하기 전에는 flush(id) 로 먼저 반영 (read-your-writes)
+ *  - 반영은 저장을 요청한 사용자의 인증 정보로 실행 → 백그라운드 flush 뒤에도 그 사용자의 읽기가 primary 로 감
+ *  - 종료 시(SmartLifecycle stop, 웹 서버가 요청을 끊은 뒤) 남은 것을 모두 반영
+ * 실제 DB 쓰기는 CoverLetterServiceImpl 이 setFlusher 로 넘겨준다.
+ */
+@Component
+public class AutosaveBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AutosaveBuffer.class);
+    private static final int LOCK_STRIPES = 64;
+
+    private final boolean enabled;
+    private final long quietNanos;
+    private final long maxDelayNanos;
+    private final long maxBytes;
+    private final long tickMillis;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    // 같은 자소서의 flush 가 동시에 돌면서 오래된 내용이 나중에 커밋되지 않도록
+    private final ReentrantLock[] flushLocks = new ReentrantLock[LOCK_STRIPES];
+
+    private final Counter bufferedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    private volatile Consumer<Pending> flusher;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public AutosaveBuffer(MeterRegistry meterRegistry,
+                          @Value("${autosave.enabled:true}") boolean enabled,
+                          @Value("${autosave.quiet-period:PT2S}") Duration quietPeriod,
+                          @Value("${autosave.max-delay:PT10S}") Duration maxDelay,
+                          @Value("${autosave.max-bytes:262144}") long maxBytes,
+                          @Value("${autosave.tick:PT0.2S}") Duration tick) {
+        this.enabled = enabled;
+        this.quietNanos = quietPeriod.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.maxBytes = maxBytes;
+        this.tickMillis = Math.max(10, tick.toMillis());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            flushLocks[i] = new ReentrantLock();
+        }
+
+        this.bufferedCounter = Counter.builder("cover_letter.autosave.buffered")
+                .description("Autosave requests accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("cover_letter.autosave.flushed")
+                .description("Coalesced autosaves written to the database")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cover_letter.autosave.failed")
+                .description("Autosave flushes that could not be written")
+                .register(meterRegistry);
+        meterRegistry.gauge("cover_letter.autosave.pending", pending, Map::size);
+    }
+
+    public void setFlusher(Consumer<Pending> flusher) {
+        this.flusher = flusher;
+    }
+
+    // 버퍼를 쓸 수 있는 상태인지 (꺼져 있거나 종료 중이면 호출한 쪽이 바로 DB 에 씀)
+    public boolean isAccepting() {
+        return enabled && running && flusher != null;
+    }
+
+    // ===== 버퍼에 쌓기 (호출 전에 소유권 확인은 호출한 쪽에서) =====
+
+    public void bufferSave(Long coverLetterId, Long userId, CoverLetterReqDto.SaveRequest request) {
+        Pending merged = pending.compute(coverLetterId, (id, current) -> {
+            Pending next = current != null && current.userId.equals(userId) ? current : newPending(id, userId);
+            next.save = request;
+            // 전체 저장은 sections 를 통째로 바꾸므로, 앞서 쌓인 본문 수정은 덮여서 사라짐
+            next.content = null;
+            next.touch(estimateBytes(request));
+            return next;
+        });
+        afterBuffer(merged);
+    }
+
+    public void bufferContent(Long coverLetterId, Long userId, String content) {
+        Pending merged = pending.compute(coverLetterId, (id, current) -> {
+            Pending next = current != null && current.userId.equals(userId) ? current : newPending(id, userId);
+            next.content = content;
+            next.touch(estimateBytes(next.save) + (content != null ? content.length() * 3L : 0));
+            return next;
+        });
+        afterBuffer(merged);
+    }
+
+    // 이 사용자의 자동 저장이 이미 쌓여 있으면 (= 소유권 확인을 이미 한 자소서) true
+    public boolean isPendingFor(Long coverLetterId, Long userId) {
+        Pending current = pending.get(coverLetterId);
+        return current != null && current.userId.equals(userId);
+    }
+
+    private void afterBuffer(Pending merged) {
+        bufferedCounter.increment();
+        if (merged.bytes >= maxBytes) {
+            flush(merged.coverLetterId);
+        }
+    }
+
+    private Pending newPending(Long coverLetterId, Long userId) {
+        return new Pending(coverLetterId, userId, ShardContextHolder.currentOrDefault(),
+                SecurityContextHolder.getContext().getAuthentication(), System.nanoTime());
+    }
+
+    // ===== 반영 =====
+
+    // 쌓인 게 있으면 지금 바로 반영 (읽기/다른 수정 전에 호출)
+    public void flush(Long coverLetterId) {
+        if (!pending.containsKey(coverLetterId)) {
+            return;
+        }
+        ReentrantLock lock = lockFor(coverLetterId);
+        lock.lock();
+        try {
+            Pending snapshot = pending.remove(coverLetterId);
+            if (snapshot == null) {
+                return;
+            }
+            try {
+                write(snapshot);
+            } catch (NoSuchElementException e) {
+                throw e; // 그 사이 삭제됨 → 버림
+            } catch (RuntimeException e) {
+                // 일시적인 실패면 다시 쌓아 두고 다음 주기에 재시도 (그 사이 새로 쌓인 게 있으면 그 아래에 합침)
+                pending.merge(coverLetterId, snapshot, (newer, older) -> newer.absorbOlder(older));
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한 사용자의 쌓인 저장을 모두 반영 (보관함 전체 내보내기처럼 여러 건을 한꺼번에 읽기 전)
+    public void flushOwner(Long userId) {
+        for (Pending p : new ArrayList<>(pending.values())) {
+            if (p.userId.equals(userId)) {
+                flush(p.coverLetterId);
+            }
+        }
+    }
+
+    // 삭제처럼 반영할 필요가 없는 경우 버림 (userId 의 것일 때만 - 남의 자소서 id 로 버퍼를 지우지 못하게)
+    public void discard(Long coverLetterId, Long userId) {
+        ReentrantLock lock = lockFor(coverLetterId);
+        lock.lock();
+        try {
+            pending.computeIfPresent(coverLetterId, (id, current) -> current.userId.equals(userId) ? null : current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        List<Long> due = new ArrayList<>();
+        pending.forEach((id, p) -> {
+            if (now - p.lastUpdatedNanos >= quietNanos || now - p.firstQueuedNanos >= maxDelayNanos) {
+                due.add(id);
+            }
+        });
+        for (Long id : due) {
+            try {
+                flush(id);
+            } catch (RuntimeException e) {
+                log.warn("Autosave flush failed for cover letter {}", id, e);
+            }
+        }
+    }
+
+    public void flushAll() {
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            try {
+                flush(id);
+            } catch (RuntimeException e) {
+                log.warn("Autosave flush failed for cover letter {}", id, e);
+            }
+        }
+    }
+
+    private void write(Pending snapshot) {
+        Integer previousShard = ShardContextHolder.get();
+        ShardContextHolder.set(snapshot.shard);
+        // autosave-flusher 스레드에는 인증 정보가 없음 → 요청한 사용자로 실행해야 커밋 후 read-your-writes 창에 올라감
+        SecurityContext previousContext = SecurityContextHolder.getContext();
+        SecurityContext ownerContext = SecurityContextHolder.createEmptyContext();
+        ownerContext.setAuthentication(snapshot.authentication);
+        SecurityContextHolder.setContext(ownerContext);
+        try {
+            flusher.accept(snapshot);
+            flushedCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            throw e;
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+            if (previousShard != null) {
+                ShardContextHolder.set(previousShard);
+            } else {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(Long coverLetterId) {
+        return flushLocks[Math.floorMod(coverLetterId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static long estimateBytes(CoverLetterReqDto.SaveRequest request) {
+        if (request == null) {
+            return 0;
+        }
+        // 대략적인 크기 (sections 는 toString 길이로 추정)
+        long size = 0;
+        if (request.getTitle() != null) size += request.getTitle().length() * 3L;
+        if (request.getSections() != null) size += request.getSections().toString().length() * 3L;
+        return size;
+    }
+
+    // ===== SmartLifecycle =====
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "autosave-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::flushDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        this.scheduler = executor;
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        // 새로 쌓이지 않게 막고, 주기 flush 를 멈춘 뒤 남은 것을 모두 반영
+        running = false;
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = pending.size();
+        flushAll();
+        if (remaining > 0) {
+            log.info("Flushed {} buffered autosaves on shutdown", remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(graceful shutdown)보다 나중에 멈춰서, 마지막 요청까지 받은 뒤 반영
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 합쳐진 자동 저장 한 건 (자소서 하나의 최신 상태).
+     * save 가 있으면 먼저 전체 저장을 적용하고, content 가 있으면 그 위에 본문을 덮어쓴다.
+     */
+    public static final class Pending {
+        private final Long coverLetterId;
+        private final Long userId;
+        private final int shard;
+        private final Authentication authentication;
+        private final long firstQueuedNanos;
+        private long lastUpdatedNanos;
+        private long bytes;
+        private CoverLetterReqDto.SaveRequest save;
+        private String content;
+
+        private Pending(Long coverLetterId, Long userId, int shard, Authentication authentication, long firstQueuedNanos) {
+            this.coverLetterId = coverLetterId;
+            this.userId = userId;
+            this.shard = shard;
+            this.authentication = authentication;
+            this.firstQueuedNanos = firstQueuedNanos;
+            this.lastUpdatedNanos = firstQueuedNanos;
+        }
+
+        // 새 항목 아래에 이전 항목을 깔기 (새 항목에 없는 부분만 이전 값으로)
+        private Pending absorbOlder(Pending older) {
+            if (save == null) {
+                save = older.save;
+                if (content == null) {
+                    content = older.content;
+                }
+            }
+            return this;
+        }
+
+        private void touch(long bytes) {
+            this.lastUpdatedNanos = System.nanoTime();
+            this.bytes = bytes;
+        }
+
+        public Long getCoverLetterId() { return coverLetterId; }
+        public Long getUserId() { return userId; }
+        public CoverLetterReqDto.SaveRequest getSave() { return save; }
+        public String getContent() { return content; }
+    }
+}
@@ -0,0 +1,167 @@
+package com.jobbuddy.backend.service;
+
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.repository.CoverLetterRepository;
+import com.jobbuddy.backend.repository.ResumeSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * soft delete 된 자소서(툼스톤)를 트래픽 적은 시간대에 조금씩 실제 삭제한다.
+ *  - 배치 하나 = 트랜잭션 하나 (문항 row → 자소서 row 순서로 삭제)
+ *  - 배치 사이에 쉬어서 락/IO 를 몰아서 쓰지 않음
+ *  - 한 번 실행에 처리하는 배치 수도 제한 (남은 건 다음 실행에서)
+ *  - 자소서를 지운 뒤 아무도 가리키지 않게 된 이력서 스냅샷도 같이 정리 (gc-grace 동안 안 쓰인 것만)
+ */
+@Component
+public class CoverLetterPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverLetterPurger.class);
+
+    private final CoverLetterRepository coverLetterRepository;
+    private final ResumeSnapshotRepository resumeSnapshotRepository;
+    private final ShardBinding shardBinding;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+    private final Duration snapshotGrace;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+
+    private final Counter purgedCounter;
+    private final Counter snapshotCounter;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public CoverLetterPurger(CoverLetterRepository coverLetterRepository,
+                             ResumeSnapshotRepository resumeSnapshotRepository,
+                             ShardBinding shardBinding,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${cover-letter.purge.retention:P7D}") Duration retention,
+                             @Value("${resume-snapshot.gc-grace:P7D}") Duration snapshotGrace,
+                             @Value("${cover-letter.purge.batch-size:200}") int batchSize,
+                             @Value("${cover-letter.purge.max-batches-per-run:50}") int maxBatchesPerRun,
+                             @Value("${cover-letter.purge.pause-ms:200}") long pauseMillis) {
+        this.coverLetterRepository = coverLetterRepository;
+        this.resumeSnapshotRepository = resumeSnapshotRepository;
+        this.shardBinding = shardBinding;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.snapshotGrace = snapshotGrace;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+
+        this.purgedCounter = Counter.builder("cover_letter.purge.rows")
+                .description("Tombstoned cover letters physically deleted")
+                .register(meterRegistry);
+        this.snapshotCounter = Counter.builder("resume_snapshot.purge.rows")
+                .description("Unreferenced resume snapshots deleted")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("cover_letter.purge.batch")
+                .description("Time spent per purge batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("cover_letter.purge.backlog", backlog);
+    }
+
+    // 기본: 새벽 3~5시 사이 10분마다 (서울 기준)
+    @Scheduled(cron = "${cover-letter.purge.cron:0 */10 3-5 * * *}", zone = "Asia/Seoul")
+    public void purge() {
+        // 샤딩 시 샤드마다 따로 정리 (단일 DB 면 한 번)
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                purgeCurrentShard();
+                purgeUnreferencedSnapshots();
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+
+    private void purgeCurrentShard() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long pending = coverLetterRepository.countPurgeable(cutoff);
+        backlog.set(pending);
+        if (pending == 0) {
+            return;
+        }
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = coverLetterRepository.findPurgeableIds(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Integer purged = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                coverLetterRepository.deleteQuestionsByCoverLetterIds(ids);
+                return coverLetterRepository.purgeByIds(ids);
+            }));
+            int count = purged != null ? purged : 0;
+            total += count;
+            purgedCounter.increment(count);
+            backlog.addAndGet(-count);
+
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        log.info("Purged {} tombstoned cover letters on shard {} ({} remaining)",
+                total, ShardContextHolder.currentOrDefault(), backlog.get());
+    }
+
+    // 참조가 끊긴 이력서 스냅샷 (삭제 대기 중인 자소서가 가리키는 것은 남김 → 삭제 취소 가능)
+    private void purgeUnreferencedSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(snapshotGrace);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<String> hashes = resumeSnapshotRepository.findUnreferencedHashes(cutoff, batchSize);
+            if (hashes.isEmpty()) {
+                break;
+            }
+
+            Integer deleted = transactionTemplate.execute(status ->
+                    resumeSnapshotRepository.deleteUnreferenced(hashes, cutoff));
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            snapshotCounter.increment(count);
+
+            if (hashes.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Purged {} unreferenced resume snapshots on shard {}",
+                    total, ShardContextHolder.currentOrDefault());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.jobbuddy.backend.service;
 
+import com.jobbuddy.backend.document.ArchiveExporter;
+import com.jobbuddy.backend.document.DocumentKey;
+import com.jobbuddy.backend.document.RenderedDocument;
+import com.jobbuddy.backend.dto.BulkOperationResponse;
 import com.jobbuddy.backend.dto.CoverLetterPreviewResponse;
 import com.jobbuddy.backend.dto.CoverLetterListItemResponse;
 import com.jobbuddy.backend.dto.PageResponse;
-import org.springframework.core.io.Resource;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface CoverLetterService {
 
@@ -18,14 +23,32 @@ public interface CoverLetterService {
     CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long userId);
 
     /**
-     * 자소서 파일 다운로드 (word / pdf)
+     * 다운로드할 파일의 key (ETag / Last-Modified 계산용, 파일은 만들지 않음)
+     *
+     * @param format ?format= (pdf / word / html / md / txt ...), 없으면 accept 로 정함
+     * @param accept Accept 헤더 (없으면 null)
+     */
+    DocumentKey describeDownload(Long coverLetterId, String format, String accept, Long userId);
+
+    /**
+     * 자소서 파일 다운로드 (word / pdf) – 같은 key 는 캐시에서, 없으면 렌더링 풀에서 만듦
+     *
+     * @throws com.jobbuddy.backend.document.RenderOverloadedException 렌더링 풀이 꽉 참
      */
-    Resource downloadCoverLetter(Long coverLetterId, String format, Long userId);
+    CompletableFuture<RenderedDocument> downloadCoverLetter(DocumentKey key, Long userId);
+
+    /**
+     * 보관함 전체 내보내기(ZIP) 항목 – 형식은 바로 확인, DB 는 꺼낼 때마다 페이지 단위로 읽음
+     */
+    Iterator<ArchiveExporter.Entry> archiveExportEntries(Long userId, String format);
 
     /**
      * 자소서를 보관함에 저장
+     *
+     * @param expectedVersion If-Match 로 받은 버전 (없으면 null → 버전 확인 안 함)
+     * @return 수정 후 버전 (ETag 용)
      */
-    void archiveCoverLetter(Long coverLetterId, Long userId);
+    Long archiveCoverLetter(Long coverLetterId, Long userId, Long expectedVersion);
 
     /**
      * 보관함 목록 조회
@@ -56,19 +79,48 @@ public interface CoverLetterService {
                                  Long coverLetterId,
                                  com.jobbuddy.backend.dto.CoverLetterReqDto.SaveRequest request);
 
+    /**
+     * 자소서 수정 (If-Match) – 자동 저장 버퍼를 거치지 않고 expectedVersion 일 때만 바로 반영
+     *
+     * @return 수정 후 버전 (ETag 용)
+     */
+    Long updateCoverLetter(Long userId,
+                           Long coverLetterId,
+                           com.jobbuddy.backend.dto.CoverLetterReqDto.SaveRequest request,
+                           long expectedVersion);
+
+    /**
+     * 자소서 부분 수정 (JSON Merge Patch, RFC 7396)
+     * title / targetCompany / targetJob / sections 중 보낸 것만 반영 (sections 는 재귀 병합)
+     *
+     * @param expectedVersion If-Match 로 받은 버전 (없으면 null → 버전 확인 안 함)
+     * @return 수정 후 버전 (ETag 용)
+     */
+    Long mergePatchCoverLetter(Long userId,
+                               Long coverLetterId,
+                               com.fasterxml.jackson.databind.JsonNode patch,
+                               Long expectedVersion);
+
     /**
      * 템플릿 선택
+     *
+     * @param expectedVersion If-Match 로 받은 버전 (없으면 null → 버전 확인 안 함)
+     * @return 수정 후 버전 (ETag 용)
      */
-    void updateTemplate(Long userId, Long resumeId, String templateId);
+    Long updateTemplate(Long userId, Long resumeId, String templateId, Long expectedVersion);
 
     /**
      * 문항, 톤, 분량 설정 저장
+     *
+     * @param expectedVersion If-Match 로 받은 버전 (없으면 null → 버전 확인 안 함)
+     * @return 수정 후 버전 (ETag 용)
      */
-    void updateSettings(Long userId,
+    Long updateSettings(Long userId,
                         Long coverLetterId,
                         List<String> questions,
                         String tone,
-                        Integer lengthPerQuestion);
+                        Integer lengthPerQuestion,
+                        Long expectedVersion);
 
     /**
      * 자소서 생성 요청
@@ -80,12 +132,40 @@ public interface CoverLetterService {
      */
     void deleteCoverLetter(Long userId, Long resumeId);
 
+    /**
+     * [보관함] 삭제 취소 (purge 전까지만 가능)
+     */
+    void restoreCoverLetter(Long userId, Long coverLetterId);
+
     /**
      * [보관함] 문서 이름 변경
+     *
+     * @param expectedVersion If-Match 로 받은 버전 (없으면 null → 버전 확인 안 함)
+     * @return 수정 후 버전 (ETag 용)
      */
-    void updateTitle(Long userId, Long resumeId, String newTitle);
+    Long updateTitle(Long userId, Long resumeId, String newTitle, Long expectedVersion);
 
     // 완성된 자소서 내용 수정
     void updateGeneratedContent(Long userId, Long coverLetterId, String content);
 
+    // 완성된 자소서 내용 수정 (If-Match) – 버퍼 없이 expectedVersion 일 때만 반영, 수정 후 버전 반환
+    Long updateGeneratedContent(Long userId, Long coverLetterId, String content, long expectedVersion);
+
+    // ===== 보관함 일괄 처리 (한 트랜잭션, 본인 소유가 아닌 id 는 NOT_FOUND) =====
+
+    /**
+     * [보관함] 여러 문서 한 번에 삭제
+     */
+    BulkOperationResponse deleteCoverLetters(Long userId, List<Long> ids);
+
+    /**
+     * [보관함] 여러 문서 한 번에 보관함 저장
+     */
+    BulkOperationResponse archiveCoverLetters(Long userId, List<Long> ids);
+
+    /**
+     * [보관함] 여러 문서의 톤(목록 필터 태그) 한 번에 변경
+     */
+    BulkOperationResponse retagCoverLetters(Long userId, List<Long> ids, String tone);
+
 }
@@ -1,12 +1,29 @@
 package com.jobbuddy.backend.service;
 // 만든놈 최은준
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jobbuddy.backend.ai.AiCoverLetterClient;
 import com.jobbuddy.backend.ai.AiCoverLetterClient.AiCoverLetterRequest;
 import com.jobbuddy.backend.ai.AiCoverLetterClient.AiCoverLetterResponse;
 import com.jobbuddy.backend.ai.AiCoverLetterClient.EssayConfig;
 import com.jobbuddy.backend.ai.AiCoverLetterClient.ResumeData;
+import com.jobbuddy.backend.cache.CoverLetterPreviewCache;
+import com.jobbuddy.backend.document.ArchiveExporter;
+import com.jobbuddy.backend.document.DocumentContent;
+import com.jobbuddy.backend.document.DocumentKey;
+import com.jobbuddy.backend.document.DocumentPrerenderer;
+import com.jobbuddy.backend.document.DocumentRenderExecutor;
+import com.jobbuddy.backend.document.DocumentRenderer;
+import com.jobbuddy.backend.document.DocumentRenderers;
+import com.jobbuddy.backend.document.DocumentWriter;
+import com.jobbuddy.backend.document.RenderedDocument;
+import com.jobbuddy.backend.document.RenderedDocumentCache;
+import com.jobbuddy.backend.document.ThumbnailWorker;
+import com.jobbuddy.backend.dto.BulkOperationResponse;
 import com.jobbuddy.backend.dto.CoverLetterSectionDto;
 import com.jobbuddy.backend.dto.CoverLetterListItemResponse;
 import com.jobbuddy.backend.dto.CoverLetterPreviewResponse;
@@ -17,61 +34,126 @@ import com.jobbuddy.backend.model.CoverLetterStatus;
 import com.jobbuddy.backend.model.User;
 import com.jobbuddy.backend.repository.CoverLetterRepository;
 import com.jobbuddy.backend.repository.UserRepository;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import com.jobbuddy.util.JsonMergePatch;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
-// DOCX (Apache POI)
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
-
-// PDF (Apache PDFBox)
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType0Font;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.transaction.support.TransactionTemplate;
 
 // 🔹 자바 기본 IO
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class CoverLetterServiceImpl implements CoverLetterService {
 
+    // 일괄 처리: IN 절 크기 제한 / 요청당 최대 id 수
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int BULK_MAX_IDS = 5000;
+
+    // merge patch 로 바꿀 수 있는 필드
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "targetCompany", "targetJob", "sections");
+
+    // 보관함 내보내기 때 한 번에 읽는 자소서 수
+    private static final int EXPORT_PAGE_SIZE = 100;
+
     private final CoverLetterRepository coverLetterRepository;
     private final UserRepository userRepository;
     private final AiCoverLetterClient aiCoverLetterClient;
+    private final CoverLetterPreviewCache previewCache;
+    private final AutosaveBuffer autosaveBuffer;
+    private final ResumeSnapshotStore resumeSnapshots;
+    private final DocumentRenderers documentRenderers;
+    private final RenderedDocumentCache documentCache;
+    private final DocumentPrerenderer documentPrerenderer;
+    private final DocumentRenderExecutor renderExecutor;
+    private final ThumbnailWorker thumbnailWorker;
+    private final TransactionTemplate readOnlyTx;
+    // 풀 스레드에서 하는 짧은 쓰기용 (썸네일 URL 반영)
+    private final TransactionTemplate writeTx;
+    // 자동 저장 반영용 (호출한 쪽 트랜잭션이 롤백돼도 이미 응답한 저장은 남도록 별도 트랜잭션)
+    private final TransactionTemplate autosaveTx;
+    private final ObjectMapper objectMapper;
+
+    // true: MySQL JSON_MERGE_PATCH 로 DB 에서 바로 병합, false: 읽어서 Java 로 병합 후 저장
+    private final boolean nativeMergePatch;
+
+    // 삭제 후 실제 purge 까지 유지하는 기간 (= 삭제 취소 가능 기간)
+    private final Duration deleteRetention;
 
     public CoverLetterServiceImpl(CoverLetterRepository coverLetterRepository,
                                   UserRepository userRepository,
-                                  AiCoverLetterClient aiCoverLetterClient) {
+                                  AiCoverLetterClient aiCoverLetterClient,
+                                  CoverLetterPreviewCache previewCache,
+                                  AutosaveBuffer autosaveBuffer,
+                                  ResumeSnapshotStore resumeSnapshots,
+                                  DocumentRenderers documentRenderers,
+                                  RenderedDocumentCache documentCache,
+                                  DocumentPrerenderer documentPrerenderer,
+                                  DocumentRenderExecutor renderExecutor,
+                                  ThumbnailWorker thumbnailWorker,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${cover-letter.purge.retention:P7D}") Duration deleteRetention,
+                                  @Value("${cover-letter.patch.native:true}") boolean nativeMergePatch) {
         this.coverLetterRepository = coverLetterRepository;
         this.userRepository = userRepository;
         this.aiCoverLetterClient = aiCoverLetterClient;
+        this.previewCache = previewCache;
+        this.resumeSnapshots = resumeSnapshots;
+        this.documentRenderers = documentRenderers;
+        this.documentCache = documentCache;
+        this.documentPrerenderer = documentPrerenderer;
+        this.renderExecutor = renderExecutor;
+        this.thumbnailWorker = thumbnailWorker;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.autosaveTx = new TransactionTemplate(transactionManager);
+        this.autosaveTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.deleteRetention = deleteRetention;
+        this.nativeMergePatch = nativeMergePatch;
+        this.autosaveBuffer = autosaveBuffer;
+        this.autosaveBuffer.setFlusher(this::applyAutosave);
     }
 
 // =================================================================================
 // (1), (3), (5) 미리보기 조회
 //  - sections에 generatedCoverLetter까지 담아서 내려줌
+//  - 캐시 hit 이면 트랜잭션/커넥션 없이 응답, miss 일 때만 읽기 전용 트랜잭션으로 로딩
 // =================================================================================
 @Override
-@Transactional(readOnly = true)
 public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long userId) {
+    // 아직 버퍼에 있는 자동 저장부터 반영 (read-your-writes)
+    autosaveBuffer.flush(coverLetterId);
+    return previewCache.get(coverLetterId, userId,
+            () -> readOnlyTx.execute(status -> loadPreview(coverLetterId, userId)));
+}
+
+private CoverLetterPreviewResponse loadPreview(Long coverLetterId, Long userId) {
     CoverLetter coverLetter = coverLetterRepository
             .findByIdAndOwnerId(coverLetterId, userId)
             .orElseThrow(() -> new NoSuchElementException("Cover letter not found."));
@@ -102,10 +184,15 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
         );
     }
 
-    return new CoverLetterPreviewResponse(
+    // 문항은 지연 로딩 컬렉션 → 트랜잭션 안에서 복사해 둬야 캐시/직렬화 시점에 안전
+    List<String> questions = coverLetter.getQuestions() != null
+            ? new ArrayList<>(coverLetter.getQuestions())
+            : null;
+
+    CoverLetterPreviewResponse response = new CoverLetterPreviewResponse(
             coverLetter.getId(),
             coverLetter.getTitle(),
-            coverLetter.getQuestions(),
+            questions,
             coverLetter.getTone(),
             coverLetter.getLengthPerQuestion(),
             coverLetter.getStatus() != null ? coverLetter.getStatus().name() : "PROCESSING",
@@ -114,6 +201,8 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
             coverLetter.getUpdatedAt(),
             sectionDtos   // 🔹 여기!
     );
+    response.setVersion(coverLetter.getVersion());
+    return response;
 }
 
 
@@ -126,17 +215,20 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
                                         Long coverLetterId,
                                         CoverLetterReqDto.SaveRequest request) {
         if (coverLetterId == null) {
-            // 새로 생성
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            // 새로 생성 (userId 는 인증 단계에서 확인된 값 → users 조회 없이 참조만 사용.
+            //  샤딩 시 users 테이블은 0번 샤드에만 있음)
+            User user = userRepository.getReferenceById(userId);
 
             CoverLetter coverLetter = new CoverLetter();
             coverLetter.setOwner(user);
+            // 이력서 항목은 공유 스냅샷으로 (같은 이력서로 쓴 다른 자소서와 한 row 를 같이 씀)
+            ResumeSnapshotStore.Split split = resumeSnapshots.split(request.getSections());
             coverLetter.updateContent(
                     request.getTitle(),
                     request.getTargetCompany(),
                     request.getTargetJob(),
-                    request.getSections()
+                    split.resumeHash(),
+                    split.letterSections()
             );
             // vA 정책: 새로 생성 시 바로 보관함 대상으로 취급
             coverLetter.setArchived(true);
@@ -144,19 +236,233 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
 
             return coverLetterRepository.save(coverLetter).getId();
         } else {
-            // 수정
-            CoverLetter coverLetter =
-                    coverLetterRepository.findByIdAndOwnerId(coverLetterId, userId)
-                            .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+            // 수정 (에디터 자동 저장) → 버퍼에 쌓고 바로 응답, DB 반영은 AutosaveBuffer 가 합쳐서
+            if (autosaveBuffer.isAccepting()) {
+                checkOwned(coverLetterId, userId);
+                autosaveBuffer.bufferSave(coverLetterId, userId, request);
+                return coverLetterId;
+            }
+            flushAndEvict(writeSave(coverLetterId, userId, request, null), userId);
+            return coverLetterId;
+        }
+    }
 
-            coverLetter.updateContent(
-                    request.getTitle(),
-                    request.getTargetCompany(),
-                    request.getTargetJob(),
-                    request.getSections()
-            );
-            return coverLetter.getId();
+    // 버퍼에 넣기 전 존재/소유 확인 (이미 이 사용자 것으로 쌓여 있으면 생략)
+    private void checkOwned(Long coverLetterId, Long userId) {
+        if (!autosaveBuffer.isPendingFor(coverLetterId, userId)
+                && !coverLetterRepository.existsByIdAndOwnerId(coverLetterId, userId)) {
+            throw new NoSuchElementException("Cover letter not found");
+        }
+    }
+
+    @Override
+    @Transactional
+    public Long updateCoverLetter(Long userId,
+                                  Long coverLetterId,
+                                  CoverLetterReqDto.SaveRequest request,
+                                  long expectedVersion) {
+        // 버전은 쓰는 시점에 확인해야 하므로 버퍼를 거치지 않음 (버퍼에 남은 이전 저장은 먼저 반영)
+        autosaveBuffer.flush(coverLetterId);
+        return flushAndEvict(writeSave(coverLetterId, userId, request, expectedVersion), userId);
+    }
+
+    // 소유자의 자소서 로딩, expectedVersion 이 있으면 (If-Match) 버전이 다를 때 낙관적 락 예외
+    //  (로딩 뒤에 바뀐 경우는 flush 시점의 @Version 조건에서 걸림)
+    private CoverLetter loadOwned(Long coverLetterId, Long userId, Long expectedVersion) {
+        CoverLetter coverLetter =
+                coverLetterRepository.findByIdAndOwnerId(coverLetterId, userId)
+                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+        if (expectedVersion != null && !expectedVersion.equals(coverLetter.getVersion())) {
+            throw new OptimisticLockingFailureException("Cover letter version does not match If-Match.");
+        }
+        return coverLetter;
+    }
+
+    private CoverLetter writeSave(Long coverLetterId, Long userId, CoverLetterReqDto.SaveRequest request,
+                                  Long expectedVersion) {
+        CoverLetter coverLetter = loadOwned(coverLetterId, userId, expectedVersion);
+
+        // 이력서가 바뀌었으면 새 스냅샷을 가리키게 됨 (기존 스냅샷을 보던 다른 자소서는 그대로)
+        ResumeSnapshotStore.Split split = resumeSnapshots.split(request.getSections());
+        coverLetter.updateContent(
+                request.getTitle(),
+                request.getTargetCompany(),
+                request.getTargetJob(),
+                split.resumeHash(),
+                split.letterSections()
+        );
+        return coverLetter;
+    }
+
+    private CoverLetter writeContent(Long coverLetterId, Long userId, String content, Long expectedVersion) {
+        CoverLetter coverLetter = loadOwned(coverLetterId, userId, expectedVersion);
+
+        Map<String, Object> sections = coverLetter.getSections();
+        if (sections == null) sections = new HashMap<>();
+        sections.put("generatedCoverLetter", content);
+        coverLetter.setSections(sections);
+        return coverLetter;
+    }
+
+    // 엔티티 수정은 flush 때 version 이 올라감 → 올라간 version 으로 캐시 무효화
+    private Long flushAndEvict(CoverLetter coverLetter, Long userId) {
+        coverLetterRepository.saveAndFlush(coverLetter);
+        evictCaches(coverLetter.getId(), userId, coverLetter.getVersion());
+        return coverLetter.getVersion();
+    }
+
+    // 버퍼에 합쳐진 자동 저장 한 건을 별도 트랜잭션으로 반영 (동시 수정과 부딪히면 다시 읽어서 재시도)
+    private void applyAutosave(AutosaveBuffer.Pending pending) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                autosaveTx.executeWithoutResult(status -> {
+                    CoverLetter written = null;
+                    if (pending.getSave() != null) {
+                        written = writeSave(pending.getCoverLetterId(), pending.getUserId(), pending.getSave(), null);
+                    }
+                    if (pending.getContent() != null) {
+                        written = writeContent(pending.getCoverLetterId(), pending.getUserId(), pending.getContent(), null);
+                    }
+                    if (written != null) {
+                        flushAndEvict(written, pending.getUserId());
+                    }
+                });
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // =================================================================================
+    // (1) 부분 수정 – JSON Merge Patch (RFC 7396)
+    //  - 바뀐 필드/섹션만 받아서 반영 → 요청 크기와 쓰기량이 sections 전체 교체보다 훨씬 작음
+    // =================================================================================
+    @Override
+    @Transactional
+    public Long mergePatchCoverLetter(Long userId,
+                                      Long coverLetterId,
+                                      JsonNode patch,
+                                      Long expectedVersion) {
+        validateMergePatch(patch);
+
+        // 버퍼에 남은 자동 저장 위에 patch 를 적용해야 하므로 먼저 반영
+        autosaveBuffer.flush(coverLetterId);
+
+        // 이력서 항목을 건드리거나 sections 를 통째로 지우면 스냅샷 분리가 필요하므로 Java 로 병합
+        Long version = nativeMergePatch && !touchesResume(patch)
+                ? mergePatchInDatabase(userId, coverLetterId, patch, expectedVersion)
+                : mergePatchInMemory(userId, coverLetterId, patch, expectedVersion);
+        evictCaches(coverLetterId, userId, version);
+        return version;
+    }
+
+    private void validateMergePatch(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch body must be a JSON object.");
+        }
+        patch.fieldNames().forEachRemaining(name -> {
+            if (!PATCHABLE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unsupported field: " + name);
+            }
+        });
+        for (String field : List.of("title", "targetCompany", "targetJob")) {
+            JsonNode value = patch.get(field);
+            if (value != null && !value.isNull() && !value.isTextual()) {
+                throw new IllegalArgumentException(field + " must be a string.");
+            }
+        }
+        JsonNode sections = patch.get("sections");
+        if (sections != null && !sections.isNull() && !sections.isObject()) {
+            throw new IllegalArgumentException("sections must be an object.");
+        }
+    }
+
+    private static boolean touchesResume(JsonNode patch) {
+        if (!patch.has("sections")) {
+            return false;
+        }
+        JsonNode sections = patch.get("sections");
+        if (sections.isNull()) {
+            return true;
+        }
+        for (String key : ResumeSnapshotStore.RESUME_KEYS) {
+            if (sections.has(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 한 번의 UPDATE 로 처리 (sections 는 JSON_MERGE_PATCH, 나머지 컬럼은 보낸 것만)
+    private Long mergePatchInDatabase(Long userId, Long coverLetterId, JsonNode patch, Long expectedVersion) {
+        JsonNode sections = patch.get("sections");
+        String sectionsPatch;
+        try {
+            sectionsPatch = sections != null && sections.isObject() ? objectMapper.writeValueAsString(sections) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid sections patch.", e);
+        }
+
+        int updated = coverLetterRepository.mergePatch(
+                coverLetterId, userId, expectedVersion,
+                patchMode(patch, "sections"), sectionsPatch,
+                patchMode(patch, "title"), textOrNull(patch, "title"),
+                patchMode(patch, "targetCompany"), textOrNull(patch, "targetCompany"),
+                patchMode(patch, "targetJob"), textOrNull(patch, "targetJob"),
+                LocalDateTime.now());
+        if (updated == 0) {
+            if (!coverLetterRepository.existsByIdAndOwnerId(coverLetterId, userId)) {
+                throw new NoSuchElementException("Cover letter not found");
+            }
+            // 압축된 자소서 → 풀어서 병합 (저장하면서 다시 hot 으로)
+            if (coverLetterRepository.existsByIdAndOwnerIdAndSectionsColdIsNotNull(coverLetterId, userId)) {
+                return mergePatchInMemory(userId, coverLetterId, patch, expectedVersion);
+            }
+            throw new OptimisticLockingFailureException("Cover letter version does not match If-Match.");
+        }
+        return coverLetterRepository.findVersion(coverLetterId).orElse(null);
+    }
+
+    // JSON_MERGE_PATCH 가 없는 DB 용: 읽어서 병합 후 저장
+    private Long mergePatchInMemory(Long userId, Long coverLetterId, JsonNode patch, Long expectedVersion) {
+        CoverLetter coverLetter = loadOwned(coverLetterId, userId, expectedVersion);
+
+        ObjectNode current = objectMapper.createObjectNode();
+        current.put("title", coverLetter.getTitle());
+        current.put("targetCompany", coverLetter.getTargetCompany());
+        current.put("targetJob", coverLetter.getTargetJob());
+        current.set("sections", objectMapper.valueToTree(resumeSnapshots.assemble(coverLetter)));
+
+        JsonNode merged = JsonMergePatch.apply(current, patch);
+        Map<String, Object> sections = merged.hasNonNull("sections")
+                ? objectMapper.convertValue(merged.get("sections"), new TypeReference<Map<String, Object>>() {})
+                : null;
+
+        ResumeSnapshotStore.Split split = resumeSnapshots.split(sections);
+        coverLetter.updateContent(
+                textOrNull(merged, "title"),
+                textOrNull(merged, "targetCompany"),
+                textOrNull(merged, "targetJob"),
+                split.resumeHash(),
+                split.letterSections()
+        );
+        coverLetterRepository.saveAndFlush(coverLetter);
+        return coverLetter.getVersion();
+    }
+
+    // 0 = 안 보냄(그대로), 1 = 값 설정/병합, 2 = null(삭제)
+    private static int patchMode(JsonNode patch, String field) {
+        if (!patch.has(field)) {
+            return 0;
         }
+        return patch.get(field).isNull() ? 2 : 1;
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
     }
 
     // =================================================================================
@@ -164,18 +470,40 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
     // =================================================================================
     @Override
     @Transactional
-    public void updateSettings(Long userId,
+    public Long updateSettings(Long userId,
                                Long coverLetterId,
                                List<String> questions,
                                String tone,
-                               Integer lengthPerQuestion) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(coverLetterId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+                               Integer lengthPerQuestion,
+                               Long expectedVersion) {
+        autosaveBuffer.flush(coverLetterId);
+        int updated = coverLetterRepository.updateSettings(
+                coverLetterId, userId, tone, lengthPerQuestion, expectedVersion, LocalDateTime.now());
+        checkUpdated(updated, coverLetterId, userId, expectedVersion);
+
+        syncQuestions(coverLetterId, questions);
+        Long version = versionAfterUpdate(coverLetterId, expectedVersion);
+        evictCaches(coverLetterId, userId, version);
+        return version;
+    }
 
-        coverLetter.setQuestions(questions);
-        coverLetter.setTone(tone);
-        coverLetter.setLengthPerQuestion(lengthPerQuestion);
+    // 문항 목록을 위치 기준으로 비교해서 바뀐 부분만 반영 (전체 삭제 후 재삽입 X)
+    private void syncQuestions(Long coverLetterId, List<String> questions) {
+        List<String> next = questions != null ? questions : List.of();
+        List<String> current = coverLetterRepository.findQuestions(coverLetterId);
+
+        int common = Math.min(current.size(), next.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(current.get(i), next.get(i))) {
+                coverLetterRepository.updateQuestionAt(coverLetterId, i, next.get(i));
+            }
+        }
+        for (int i = common; i < next.size(); i++) {
+            coverLetterRepository.insertQuestionAt(coverLetterId, i, next.get(i));
+        }
+        if (current.size() > next.size()) {
+            coverLetterRepository.deleteQuestionsFrom(coverLetterId, next.size());
+        }
     }
 
     // =================================================================================
@@ -184,6 +512,7 @@ public CoverLetterPreviewResponse getCoverLetterPreview(Long coverLetterId, Long
 @Override
 @Transactional
 public void generateCoverLetter(Long userId, Long coverLetterId) {
+    autosaveBuffer.flush(coverLetterId);
     CoverLetter coverLetter = coverLetterRepository
             .findByIdAndOwnerId(coverLetterId, userId)
             .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
@@ -194,7 +523,8 @@ public void generateCoverLetter(Long userId, Long coverLetterId) {
 
     try {
         AiCoverLetterRequest req = new AiCoverLetterRequest();
-        Map<String, Object> sections = coverLetter.getSections();
+        // 공유 이력서 스냅샷 + 자소서 고유 항목
+        Map<String, Object> sections = resumeSnapshots.assemble(coverLetter);
         ResumeData data = new ResumeData();
 
         if (sections != null) {
@@ -314,105 +644,171 @@ public void generateCoverLetter(Long userId, Long coverLetterId) {
         coverLetterRepository.save(coverLetter);
         throw new RuntimeException("Generation failed", e);
     }
+    flushAndEvict(coverLetter, userId);
+
+    // 커밋되면 다운로드 파일을 미리 만들어 둠 (실패해도 생성 결과에는 영향 없음)
+    documentPrerenderer.scheduleAfterCommit(
+            () -> prerenderKeys(coverLetterId, userId),
+            key -> out -> renderDocument(key, userId, out));
+    // 보관함 썸네일 (PDF 첫 페이지, 보통 위의 미리 렌더링 결과를 씀)
+    thumbnailWorker.scheduleAfterCommit(
+            () -> thumbnailSource(coverLetterId, userId),
+            (key, url) -> storePreviewUrl(key, userId, url));
+}
+
+private RenderedDocument thumbnailSource(Long coverLetterId, Long userId) {
+    return prerenderKeys(coverLetterId, userId).stream()
+            .filter(key -> key.format().equals("pdf"))
+            .findFirst()
+            .map(key -> documentCache.fetch(key, out -> renderDocument(key, userId, out)))
+            .orElse(null);
+}
+
+// 썸네일을 뜬 PDF 와 같은 updatedAt 일 때만 반영 (그 사이 수정됐으면 버림)
+private void storePreviewUrl(DocumentKey key, Long userId, String previewUrl) {
+    writeTx.executeWithoutResult(status -> {
+        if (coverLetterRepository.updatePreviewUrl(key.coverLetterId(), key.updatedAt(), previewUrl) > 0) {
+            previewCache.evict(key.coverLetterId(), userId,
+                    coverLetterRepository.findVersion(key.coverLetterId()).orElse(null));
+        }
+    });
+}
+
+// 커밋된 값 기준 key (다운로드할 때와 같은 key 가 되도록 엔티티가 아니라 DB 에서 읽음)
+//  - 무거운 형식(pdf / word)만, 텍스트 계열은 다운로드 때 만들어도 충분히 빠름
+private List<DocumentKey> prerenderKeys(Long coverLetterId, Long userId) {
+    return coverLetterRepository.findDocumentStamp(coverLetterId, userId)
+            .filter(stamp -> stamp.getStatus() == CoverLetterStatus.SUCCESS)
+            .map(stamp -> documentRenderers.all().stream()
+                    .filter(DocumentRenderer::heavy)
+                    .map(renderer -> new DocumentKey(
+                            coverLetterId, stamp.getUpdatedAt(), stamp.getTemplateId(), renderer.format()))
+                    .toList())
+            .orElse(List.of());
 }
 
 // =================================================================================
-// (4) 다운로드 – 실제 DOCX / PDF 파일 생성
+// (4) 다운로드 – 형식별 파일 생성은 DocumentRenderer (pdf / word / html / md / txt ...)
 // =================================================================================
 @Override
-public Resource downloadCoverLetter(Long coverLetterId, String format, Long userId) {
-    CoverLetter coverLetter = coverLetterRepository
-            .findByIdAndOwnerId(coverLetterId, userId)
-            .orElseThrow(() -> new NoSuchElementException("Cover letter not found."));
+public DocumentKey describeDownload(Long coverLetterId, String format, String accept, Long userId) {
+    autosaveBuffer.flush(coverLetterId);
 
-    if (coverLetter.getStatus() != CoverLetterStatus.SUCCESS) {
-        throw new IllegalStateException("Not generated yet.");
-    }
+    DocumentRenderer renderer = documentRenderers.resolve(format, accept);
 
-    String normalized = format == null ? "" : format.toLowerCase();
-    if (!normalized.equals("word") && !normalized.equals("pdf")) {
-        throw new IllegalArgumentException("Unsupported format.");
-    }
+    CoverLetterRepository.DocumentStamp stamp = coverLetterRepository
+            .findDocumentStamp(coverLetterId, userId)
+            .orElseThrow(() -> new NoSuchElementException("Cover letter not found."));
 
-    // 1) 내용 가져오기
-    String content;
-    if (coverLetter.getSections() != null &&
-            coverLetter.getSections().containsKey("generatedCoverLetter")) {
-        content = String.valueOf(coverLetter.getSections().get("generatedCoverLetter"));
-    } else {
-        content = "내용이 없습니다.";
+    if (stamp.getStatus() != CoverLetterStatus.SUCCESS) {
+        throw new IllegalStateException("Not generated yet.");
     }
 
-    String fileContent = "제목: " + coverLetter.getTitle() + "\n\n" + content;
+    return new DocumentKey(coverLetterId, stamp.getUpdatedAt(), stamp.getTemplateId(), renderer.format());
+}
 
-    // 2) 포맷별로 다른 바이트 생성
-    byte[] bytes;
-    if ("word".equals(normalized)) {
-        bytes = createDocxBytes(fileContent);
-    } else { // pdf
-        bytes = createPdfBytes(fileContent);
+@Override
+public CompletableFuture<RenderedDocument> downloadCoverLetter(DocumentKey key, Long userId) {
+    DocumentWriter writer = out -> renderDocument(key, userId, out);
+    // 같은 key 는 같은 내용이므로 캐시에 있으면 엔티티도 읽지 않고 요청 스레드에서 바로
+    // 텍스트 계열(html / md / txt)은 렌더링이 가벼워 풀을 거치지 않음
+    if (documentCache.contains(key) || !rendererFor(key).heavy()) {
+        return CompletableFuture.completedFuture(documentCache.get(key, writer));
     }
-
-    return new ByteArrayResource(bytes);
+    // 렌더링(POI / PDFBox)은 전용 풀에서 (꽉 차면 RenderOverloadedException → 503)
+    return renderExecutor.submit(() -> documentCache.get(key, writer));
 }
 
-// ================== DOCX 생성 ==================
-private byte[] createDocxBytes(String text) {
-    try (XWPFDocument doc = new XWPFDocument();
-         ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+// 보관함 전체 내보내기 – 생성이 끝난 보관함 자소서를 id 순서로, EXPORT_PAGE_SIZE 건씩 읽으며 항목을 만듦
+//  (몇 건이든 메모리에는 한 페이지만)
+@Override
+public Iterator<ArchiveExporter.Entry> archiveExportEntries(Long userId, String format) {
+    DocumentRenderer renderer = documentRenderers.find(format)
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported format."));
+    // 아직 DB 에 안 들어간 자동 저장까지 포함
+    autosaveBuffer.flushOwner(userId);
+
+    return new Iterator<>() {
+        private Iterator<CoverLetterRepository.ArchiveExportRow> page = List.<CoverLetterRepository.ArchiveExportRow>of().iterator();
+        private Long lastId = 0L;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                List<CoverLetterRepository.ArchiveExportRow> rows = coverLetterRepository.findArchiveExportPage(
+                        userId, CoverLetterStatus.SUCCESS, lastId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+                exhausted = rows.size() < EXPORT_PAGE_SIZE;
+                page = rows.iterator();
+            }
+            return page.hasNext();
+        }
 
-        XWPFParagraph p = doc.createParagraph();
-        XWPFRun run = p.createRun();
-        run.setFontFamily("Malgun Gothic"); // 한글용
-        run.setFontSize(11);
-        run.setText(text);
+        @Override
+        public ArchiveExporter.Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CoverLetterRepository.ArchiveExportRow row = page.next();
+            lastId = row.getId();
+            DocumentKey key = new DocumentKey(row.getId(), row.getUpdatedAt(), row.getTemplateId(), renderer.format());
+            return new ArchiveExporter.Entry(
+                    exportFileName(row.getId(), row.getTitle()) + renderer.extension(),
+                    key,
+                    out -> renderDocument(key, userId, out));
+        }
+    };
+}
 
-        doc.write(baos);
-        return baos.toByteArray();
-    } catch (IOException e) {
-        throw new IllegalStateException("Failed to generate DOCX", e);
+// ZIP 안의 파일 이름: "{id}_{제목}" (id 로 중복 방지, 경로 / 파일 시스템에서 못 쓰는 문자는 _)
+private static String exportFileName(Long id, String title) {
+    String safe = title == null ? "" : title.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").strip();
+    if (safe.length() > 60) {
+        safe = safe.substring(0, 60);
     }
+    return safe.isEmpty() ? "cover-letter-" + id : id + "_" + safe;
 }
 
-// ================== PDF 생성 ==================
-private byte[] createPdfBytes(String text) {
-    try (PDDocument document = new PDDocument();
-         ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
+private DocumentRenderer rendererFor(DocumentKey key) {
+    return documentRenderers.find(key.format())
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported format."));
+}
 
-        // ★ 한글 지원 폰트 로드 (resources/fonts 안에 넣어둔 TTF)
-        InputStream fontStream =
-                getClass().getResourceAsStream("/fonts/NanumGothic.ttf");
-        if (fontStream == null) {
-            throw new IllegalStateException("Font file not found: /fonts/NanumGothic.ttf");
-        }
-        PDType0Font font = PDType0Font.load(document, fontStream, true);
+// 파일을 out 에 바로 씀 (작으면 캐시 메모리, 크면 캐시 디렉터리의 파일로 들어감)
+private void renderDocument(DocumentKey key, Long userId, OutputStream out) throws IOException {
+    CoverLetter coverLetter = coverLetterRepository
+            .findByIdAndOwnerId(key.coverLetterId(), userId)
+            .orElseThrow(() -> new NoSuchElementException("Cover letter not found."));
 
-        try (PDPageContentStream contentStream =
-                     new PDPageContentStream(document, page)) {
+    // 1) 내용 가져오기
+    String content;
+    if (coverLetter.getSections() != null &&
+            coverLetter.getSections().containsKey("generatedCoverLetter")) {
+        content = String.valueOf(coverLetter.getSections().get("generatedCoverLetter"));
+    } else {
+        content = "내용이 없습니다.";
+    }
 
-            contentStream.beginText();
-            contentStream.setFont(font, 11);
-            contentStream.setLeading(14.5f);
-            contentStream.newLineAtOffset(50, 750);
+    // 생성 본문은 아직 한 편이라 첫 문항의 답으로 넣음 (문항이 없으면 제목 없는 섹션 하나)
+    List<String> questions = coverLetterRepository.findQuestions(coverLetter.getId());
+    String question = questions.isEmpty() ? null : questions.get(0);
 
-            String[] lines = text.split("\\r?\\n");
-            for (String line : lines) {
-                contentStream.showText(line);
-                contentStream.newLine();
-            }
+    DocumentContent document = new DocumentContent(
+            coverLetter.getTitle(),
+            coverLetter.getTargetCompany(),
+            coverLetter.getTargetJob(),
+            List.of(new DocumentContent.Section(question, content)));
 
-            contentStream.endText(); // ★ 이거 꼭 있어야 경고 안 뜸
-        }
+    // 2) 형식별 렌더러로 (word 는 자소서에 저장된 템플릿, 없으면 기본 템플릿)
+    rendererFor(key).render(key.templateId(), document, out);
+}
 
-        document.save(baos);
-        return baos.toByteArray();
-    } catch (IOException e) {
-        throw new IllegalStateException("Failed to generate PDF", e);
+    // 미리보기 + 렌더링된 파일 캐시 무효화 (렌더링 캐시는 key 에 updatedAt 이 있어 공간 회수 목적)
+    //  - version = 이 트랜잭션이 커밋하는 버전, 미리보기 캐시는 그보다 오래된 값을 다시 담지 않음
+    private void evictCaches(Long coverLetterId, Long userId, Long version) {
+        previewCache.evict(coverLetterId, userId, version);
+        documentCache.evict(coverLetterId);
     }
-}
 
     // =================================================================================
     // (5) 보관함 삭제
@@ -420,11 +816,28 @@ private byte[] createPdfBytes(String text) {
     @Override
     @Transactional
     public void deleteCoverLetter(Long userId, Long resumeId) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(resumeId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+        // 툼스톤만 찍고 바로 반환 (문항 row 까지 포함한 실제 삭제는 CoverLetterPurger 가 배치로 처리)
+        int updated = coverLetterRepository.softDelete(resumeId, userId, LocalDateTime.now());
+        if (updated == 0) {
+            throw new NoSuchElementException("Cover letter not found");
+        }
+        // 소유가 확인된 뒤에만 버퍼를 버림
+        autosaveBuffer.discard(resumeId, userId);
+        evictCaches(resumeId, userId, coverLetterRepository.findVersion(resumeId).orElse(null));
+    }
 
-        coverLetterRepository.delete(coverLetter);
+    // =================================================================================
+    // (5) 삭제 취소 – 보관 기간(purge 전) 안에서만 가능
+    // =================================================================================
+    @Override
+    @Transactional
+    public void restoreCoverLetter(Long userId, Long coverLetterId) {
+        LocalDateTime since = LocalDateTime.now().minus(deleteRetention);
+        int updated = coverLetterRepository.restore(coverLetterId, userId, since);
+        if (updated == 0) {
+            throw new NoSuchElementException("Deleted cover letter not found");
+        }
+        evictCaches(coverLetterId, userId, coverLetterRepository.findVersion(coverLetterId).orElse(null));
     }
 
     // =================================================================================
@@ -432,17 +845,36 @@ private byte[] createPdfBytes(String text) {
     // =================================================================================
     @Override
     @Transactional
-    public void updateTitle(Long userId, Long resumeId, String newTitle) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(resumeId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+    public Long updateTitle(Long userId, Long resumeId, String newTitle, Long expectedVersion) {
+        // 버퍼의 예전 제목이 나중에 덮어쓰지 않도록 먼저 반영
+        autosaveBuffer.flush(resumeId);
+        int updated = coverLetterRepository.updateTitle(resumeId, userId, newTitle, expectedVersion, LocalDateTime.now());
+        checkUpdated(updated, resumeId, userId, expectedVersion);
+        Long version = versionAfterUpdate(resumeId, expectedVersion);
+        evictCaches(resumeId, userId, version);
+        return version;
+    }
 
-        coverLetter.updateTitle(newTitle);
+    // 단건 UPDATE 가 0 건이면: If-Match 를 보냈고 자소서가 있으면 버전 불일치(412), 아니면 없는 자소서(404)
+    private void checkUpdated(int updated, Long coverLetterId, Long userId, Long expectedVersion) {
+        if (updated > 0) {
+            return;
+        }
+        if (expectedVersion != null && coverLetterRepository.existsByIdAndOwnerId(coverLetterId, userId)) {
+            throw new OptimisticLockingFailureException("Cover letter version does not match If-Match.");
+        }
+        throw new NoSuchElementException("Cover letter not found");
+    }
+
+    // 단건 UPDATE 는 version 을 1 올리므로 If-Match 가 있으면 다시 읽지 않음
+    private Long versionAfterUpdate(Long coverLetterId, Long expectedVersion) {
+        return expectedVersion != null ? expectedVersion + 1 : coverLetterRepository.findVersion(coverLetterId).orElse(null);
     }
 
     // =================================================================================
     // (5) 보관함 목록 조회
     //  - DTO 시그니처에 맞춰 (id, title, previewUrl, updatedAt) 4개만 사용
+    //  - 버퍼에 남은 이 사용자의 자동 저장부터 반영 (제목 / 수정 시각이 목록에 바로 보이도록)
     // =================================================================================
     @Override
     public PageResponse<CoverLetterListItemResponse> getArchivedCoverLetters(
@@ -468,6 +900,7 @@ private byte[] createPdfBytes(String text) {
 
         Pageable pageable = PageRequest.of(page, size, sortObj);
 
+        autosaveBuffer.flushOwner(userId);
         Page<CoverLetter> pageResult =
                 coverLetterRepository.findByOwnerIdAndArchivedTrue(userId, pageable);
 
@@ -494,33 +927,107 @@ private byte[] createPdfBytes(String text) {
     // =================================================================================
     @Override
     @Transactional
-    public void updateTemplate(Long userId, Long resumeId, String templateId) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(resumeId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
-        coverLetter.updateTemplate(templateId);
+    public Long updateTemplate(Long userId, Long resumeId, String templateId, Long expectedVersion) {
+        autosaveBuffer.flush(resumeId);
+        int updated = coverLetterRepository.updateTemplate(resumeId, userId, templateId, expectedVersion, LocalDateTime.now());
+        checkUpdated(updated, resumeId, userId, expectedVersion);
+        Long version = versionAfterUpdate(resumeId, expectedVersion);
+        evictCaches(resumeId, userId, version);
+        return version;
     }
 
     @Override
     @Transactional
     public void updateGeneratedContent(Long userId, Long coverLetterId, String content) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(coverLetterId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
+        // 에디터 자동 저장 → 버퍼에 쌓고 바로 응답
+        if (autosaveBuffer.isAccepting()) {
+            checkOwned(coverLetterId, userId);
+            autosaveBuffer.bufferContent(coverLetterId, userId, content);
+            return;
+        }
+        flushAndEvict(writeContent(coverLetterId, userId, content, null), userId);
+    }
 
-        Map<String, Object> sections = coverLetter.getSections();
-        if (sections == null) sections = new HashMap<>();
-        sections.put("generatedCoverLetter", content);
-        coverLetter.setSections(sections);
-        coverLetterRepository.save(coverLetter);
+    @Override
+    @Transactional
+    public Long updateGeneratedContent(Long userId, Long coverLetterId, String content, long expectedVersion) {
+        autosaveBuffer.flush(coverLetterId);
+        return flushAndEvict(writeContent(coverLetterId, userId, content, expectedVersion), userId);
     }
 
     @Override
     @Transactional
-    public void archiveCoverLetter(Long coverLetterId, Long userId) {
-        CoverLetter coverLetter =
-                coverLetterRepository.findByIdAndOwnerId(coverLetterId, userId)
-                        .orElseThrow(() -> new NoSuchElementException("Cover letter not found"));
-        coverLetter.setArchived(true);
+    public Long archiveCoverLetter(Long coverLetterId, Long userId, Long expectedVersion) {
+        autosaveBuffer.flush(coverLetterId);
+        int updated = coverLetterRepository.archive(coverLetterId, userId, expectedVersion, LocalDateTime.now());
+        checkUpdated(updated, coverLetterId, userId, expectedVersion);
+        Long version = versionAfterUpdate(coverLetterId, expectedVersion);
+        evictCaches(coverLetterId, userId, version);
+        return version;
+    }
+
+    // =================================================================================
+    // (5) 보관함 일괄 처리 – id 목록을 청크로 나눠 집합 SQL 로 처리 (한 트랜잭션)
+    // =================================================================================
+    @Override
+    @Transactional
+    public BulkOperationResponse deleteCoverLetters(Long userId, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        return runBulk(userId, ids, owned -> {
+            coverLetterRepository.softDeleteOwned(userId, owned, now);
+            owned.forEach(id -> autosaveBuffer.discard(id, userId));
+        });
+    }
+
+    @Override
+    @Transactional
+    public BulkOperationResponse archiveCoverLetters(Long userId, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        return runBulk(userId, ids, owned -> coverLetterRepository.archiveOwned(userId, owned, now));
+    }
+
+    @Override
+    @Transactional
+    public BulkOperationResponse retagCoverLetters(Long userId, List<Long> ids, String tone) {
+        LocalDateTime now = LocalDateTime.now();
+        return runBulk(userId, ids, owned -> coverLetterRepository.updateToneOwned(userId, owned, tone, now));
+    }
+
+    // 소유권 확인 → 본인 것만 action 실행 → id 별 결과 정리
+    private BulkOperationResponse runBulk(Long userId, List<Long> ids, Consumer<List<Long>> action) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is empty.");
+        }
+
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinct.size() > BULK_MAX_IDS) {
+            throw new IllegalArgumentException("Too many ids (max " + BULK_MAX_IDS + ").");
+        }
+
+        Set<Long> processed = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+            List<Long> owned = coverLetterRepository.findOwnedIds(userId, chunk);
+            if (!owned.isEmpty()) {
+                action.accept(owned);
+                processed.addAll(owned);
+                Map<Long, Long> versions = new HashMap<>();
+                for (Object[] row : coverLetterRepository.findVersions(owned)) {
+                    versions.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+                }
+                owned.forEach(id -> evictCaches(id, userId, versions.get(id)));
+            }
+        }
+
+        List<BulkOperationResponse.Item> results = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            results.add(new BulkOperationResponse.Item(
+                    id,
+                    processed.contains(id) ? BulkOperationResponse.OK : BulkOperationResponse.NOT_FOUND));
+        }
+        return new BulkOperationResponse(results, processed.size(), distinct.size() - processed.size());
     }
 }
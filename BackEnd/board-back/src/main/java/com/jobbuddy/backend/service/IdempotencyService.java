@@ -0,0 +1,342 @@
+package com.jobbuddy.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.dto.ApiResponse;
+import com.jobbuddy.backend.model.IdempotencyRecord;
+import com.jobbuddy.backend.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리 (자소서 생성 / AI 생성 요청).
+ *  - 처음 보는 키: IN_PROGRESS 로 기록 → 실행 → 응답(상태코드 + JSON)을 저장
+ *  - 이미 완료된 키: 저장된 응답을 그대로 재전송 (Idempotent-Replayed: true)
+ *  - 같은 키인데 요청 본문이 다름: 422 / 아직 처리 중: 409
+ *  - 실행이 예외나 5xx 로 끝나면 기록을 지워서 재시도가 가능하게 함
+ *  - 실행은 성공했는데 응답 저장이 실패하면 키를 지우지 않음 (지우면 재시도가 한 번 더 실행됨)
+ * 완료된 기록은 Caffeine 에 올려 두고(재시작 후에는 DB 에서), expires_at 이 지난 기록은 없는 것으로 보고 배치로 정리한다.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int PURGE_BATCH = 500;
+    private static final int STORE_ATTEMPTS = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ShardBinding shardBinding;
+    // 키 기록은 호출한 쪽 트랜잭션과 상관없이 바로 커밋돼야 다른 재시도 요청이 볼 수 있음
+    private final TransactionTemplate requiresNewTx;
+
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+
+    // 완료된 기록만 캐시 (처리 중 상태는 항상 DB 로 확인)
+    private final Cache<String, IdempotencyRecord> completed;
+
+    private final Counter replayedCounter;
+    private final Counter mismatchCounter;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              ShardBinding shardBinding,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.in-progress-timeout:PT5M}") Duration inProgressTimeout,
+                              @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.shardBinding = shardBinding;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilRecordExpiry())
+                .build();
+
+        this.replayedCounter = Counter.builder("idempotency.replayed")
+                .description("Requests answered from a stored idempotent response")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("idempotency.mismatch")
+                .description("Idempotency keys reused with a different request payload")
+                .register(meterRegistry);
+    }
+
+    /**
+     * key 가 없으면 action 을 그대로 실행.
+     *
+     * @param scope       API 구분 (같은 키를 다른 API 에 써도 섞이지 않도록)
+     * @param requestBody 요청 본문 (해시해서 같은 요청인지 확인, null 가능)
+     */
+    public ResponseEntity<?> execute(Long userId,
+                                     String scope,
+                                     String key,
+                                     Object requestBody,
+                                     Supplier<? extends ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String requestHash = hash(scope, requestBody);
+        String cacheKey = userId + ":" + scope + ":" + key;
+
+        IdempotencyRecord cached = completed.getIfPresent(cacheKey);
+        if (cached != null && !isExpired(cached)) {
+            return answerExisting(cached, requestHash);
+        }
+
+        Optional<IdempotencyRecord> claimed = claim(userId, scope, key, requestHash);
+        if (claimed.isEmpty()) {
+            // 이미 누가 기록해 둔 키
+            IdempotencyRecord existing = repository.findByUserIdAndScopeAndIdempotencyKey(userId, scope, key)
+                    .orElse(null);
+            if (existing == null || isExpired(existing)) {
+                // 그 사이 실패해서 지워졌거나 만료된 기록이면 한 번 더 시도 (claim 이 만료된 기록을 지움)
+                claimed = claim(userId, scope, key, requestHash);
+                if (claimed.isEmpty()) {
+                    return error(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청이 처리 중입니다.");
+                }
+            } else {
+                if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    completed.put(cacheKey, existing);
+                }
+                return answerExisting(existing, requestHash);
+            }
+        }
+
+        IdempotencyRecord record = claimed.get();
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(record);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            release(record);
+            return response;
+        }
+
+        try {
+            record.complete(response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException e) {
+            // 저장할 수 없는 응답 - 키는 처리 중으로 남겨서 in-progress-timeout 전까지 다시 실행되지 않게 함
+            log.error("Idempotent response for scope {} is not serializable; key {} stays in progress",
+                    scope, record.getId(), e);
+            return response;
+        }
+        // 이 노드로 오는 재시도는 DB 저장이 실패해도 바로 재전송
+        completed.put(cacheKey, record);
+        store(record, scope);
+        return response;
+    }
+
+    // 실행은 이미 끝났으므로 키를 지우지 않고 저장만 재시도 (끝내 실패하면 처리 중으로 남음 → 409, timeout 후 재실행)
+    private void store(IdempotencyRecord record, String scope) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                requiresNewTx.executeWithoutResult(status -> repository.save(record));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= STORE_ATTEMPTS) {
+                    log.error("Failed to store idempotent response for scope {} after {} attempts; key {} stays in progress",
+                            scope, attempt, record.getId(), e);
+                    return;
+                }
+                log.warn("Failed to store idempotent response for scope {} (attempt {})", scope, attempt, e);
+            }
+        }
+    }
+
+    private static boolean isExpired(IdempotencyRecord record) {
+        return !record.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private ResponseEntity<?> answerExisting(IdempotencyRecord existing, String requestHash) {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            mismatchCounter.increment();
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key 가 다른 요청에 이미 사용되었습니다.");
+        }
+        if (existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(409, "같은 Idempotency-Key 요청이 처리 중입니다.", null));
+        }
+
+        replayedCounter.increment();
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(existing.getResponseBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not valid JSON", e);
+        }
+        return ResponseEntity.status(existing.getResponseStatus())
+                .header("Idempotent-Replayed", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // IN_PROGRESS 기록을 먼저 커밋 (unique 제약으로 동시에 같은 키가 두 번 실행되지 않음)
+    private Optional<IdempotencyRecord> claim(Long userId, String scope, String key, String requestHash) {
+        try {
+            return Optional.ofNullable(requiresNewTx.execute(status -> {
+                // 만료됐거나, 처리 중인 채로 서버가 죽은 기록(timeout 후)은 넘겨받음
+                LocalDateTime now = LocalDateTime.now();
+                repository.findByUserIdAndScopeAndIdempotencyKey(userId, scope, key)
+                        .filter(r -> isExpired(r)
+                                || (r.getStatus() == IdempotencyRecord.Status.IN_PROGRESS
+                                && r.getCreatedAt().isBefore(now.minus(inProgressTimeout))))
+                        .ifPresent(r -> {
+                            repository.delete(r);
+                            repository.flush();
+                        });
+                return repository.saveAndFlush(
+                        new IdempotencyRecord(userId, scope, key, requestHash, LocalDateTime.now().plus(ttl)));
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void release(IdempotencyRecord record) {
+        try {
+            requiresNewTx.executeWithoutResult(status -> repository.deleteById(record.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key {}", record.getId(), e);
+        }
+    }
+
+    private ResponseEntity<ApiResponse<Void>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ApiResponse<>(status.value(), message, null));
+    }
+
+    // scope + 정렬된 JSON 본문의 SHA-256 (필드 순서가 달라도 같은 요청으로 봄)
+    private String hash(String scope, Object requestBody) {
+        try {
+            String canonical = requestBody != null
+                    ? objectMapper.writeValueAsString(canonicalize(objectMapper.valueToTree(requestBody)))
+                    : "";
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be serialized", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode sorted = JsonNodeFactory.instance.objectNode();
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            names.sort(null);
+            for (String name : names) {
+                sorted.set(name, canonicalize(node.get(name)));
+            }
+            return sorted;
+        }
+        if (node.isArray()) {
+            var array = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> array.add(canonicalize(element)));
+            return array;
+        }
+        return node;
+    }
+
+    // 캐시 항목 수명 = 기록의 남은 유효 시간 (DB 에서 늦게 읽어 온 기록이 expires_at 을 넘겨 재전송되지 않도록)
+    private static final class UntilRecordExpiry implements Expiry<String, IdempotencyRecord> {
+
+        @Override
+        public long expireAfterCreate(String key, IdempotencyRecord value, long currentTime) {
+            return Math.max(0L, Duration.between(LocalDateTime.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, IdempotencyRecord value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, IdempotencyRecord value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // ===== 만료된 키 정리 =====
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                int total = 0;
+                while (true) {
+                    List<Long> ids = repository.findExpiredIds(LocalDateTime.now(), PURGE_BATCH);
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    Integer deleted = requiresNewTx.execute(status -> repository.deleteByIds(ids));
+                    total += deleted != null ? deleted : 0;
+                    if (ids.size() < PURGE_BATCH) {
+                        break;
+                    }
+                }
+                if (total > 0) {
+                    log.info("Purged {} expired idempotency keys on shard {}", total, shard);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Idempotency key purge failed on shard {}", shard, e);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+}
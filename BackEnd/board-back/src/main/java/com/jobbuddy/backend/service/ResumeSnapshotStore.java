@@ -0,0 +1,183 @@
+package com.jobbuddy.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.model.CoverLetter;
+import com.jobbuddy.backend.model.ResumeSnapshot;
+import com.jobbuddy.backend.repository.ResumeSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 자소서 sections 중 이력서 항목을 resume_snapshots 로 분리해서 공유한다.
+ *  - 저장: 이력서 항목만 떼어 정렬된 JSON → SHA-256 → upsert, 자소서에는 hash 와 나머지 항목만 남김
+ *  - 읽기: hash 로 스냅샷을 찾아 자소서 고유 항목과 합침 (스냅샷은 불변이라 파싱 결과를 hash 별로 캐시)
+ *  - 이력서가 바뀌면 새 hash 가 생길 뿐 기존 스냅샷은 그대로 → 같은 스냅샷을 보던 다른 자소서는 영향 없음
+ * 스냅샷은 자소서와 같은 샤드에 저장된다 (호출 시점의 샤드 컨텍스트 사용).
+ */
+@Component
+public class ResumeSnapshotStore {
+
+    // 여러 자소서가 그대로 공유하는 이력서 항목 (별칭 포함). 생성 본문 등 나머지는 자소서에 남음
+    public static final Set<String> RESUME_KEYS = Set.of(
+            "profile",
+            "experiences", "experience", "educationExperience",
+            "projects", "projectExperience",
+            "activities", "club", "clubs",
+            "awards",
+            "skills", "technicalSkills");
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeSnapshotStore.class);
+
+    private final ResumeSnapshotRepository repository;
+    // 키 순서를 정렬해서 직렬화 (같은 내용이면 항상 같은 hash)
+    private final ObjectWriter canonicalWriter;
+
+    // hash → 파싱된 이력서 (읽기 전용, 내용이 hash 로 정해지므로 무효화 불필요)
+    private final Cache<String, Map<String, Object>> payloads;
+    // 최근 이 노드가 last_used_at 을 갱신한 "샤드:hash" → 그동안은 upsert 생략
+    //  (정리 유예 기간보다 짧게 유지해야 지워진 스냅샷을 가리키는 일이 없음)
+    private final Cache<String, Boolean> recentlyUsed;
+
+    private final Counter writeCounter;
+    private final Counter skippedCounter;
+
+    public ResumeSnapshotStore(ResumeSnapshotRepository repository,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${resume-snapshot.cache.max-size:10000}") long cacheMaxSize,
+                               @Value("${resume-snapshot.touch-interval:PT1H}") Duration touchInterval,
+                               @Value("${resume-snapshot.gc-grace:P7D}") Duration gcGrace) {
+        this.repository = repository;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.payloads = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        this.recentlyUsed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(touchInterval.compareTo(gcGrace.dividedBy(2)) < 0 ? touchInterval : gcGrace.dividedBy(2))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, payloads, "resume-snapshot");
+
+        this.writeCounter = Counter.builder("resume_snapshot.writes")
+                .description("Resume snapshot upserts (new snapshot or last_used_at refresh)")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("resume_snapshot.reused")
+                .description("Saves that pointed at a recently used snapshot without touching the DB")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 나눈 결과.
+     *
+     * @param resumeHash     이력서 스냅샷 hash (이력서 항목이 없으면 null)
+     * @param letterSections 자소서에 남길 항목 (없으면 null)
+     */
+    public record Split(String resumeHash, Map<String, Object> letterSections) {
+    }
+
+    // 전체 sections 를 이력서 / 자소서 고유 부분으로 나누고, 이력서 부분은 스냅샷으로 저장 (트랜잭션 안에서 호출)
+    public Split split(Map<String, Object> sections) {
+        if (sections == null) {
+            return new Split(null, null);
+        }
+
+        Map<String, Object> resume = new LinkedHashMap<>();
+        Map<String, Object> own = new LinkedHashMap<>();
+        sections.forEach((key, value) -> (RESUME_KEYS.contains(key) ? resume : own).put(key, value));
+        Map<String, Object> letterSections = own.isEmpty() ? null : own;
+        if (resume.isEmpty()) {
+            return new Split(null, letterSections);
+        }
+
+        String json;
+        try {
+            json = canonicalWriter.writeValueAsString(resume);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid resume sections.", e);
+        }
+        String hash = sha256(json);
+        markUsed(hash, json);
+        payloads.asMap().putIfAbsent(hash, Collections.unmodifiableMap(resume));
+        return new Split(hash, letterSections);
+    }
+
+    // 이력서 스냅샷 + 자소서 고유 항목을 합친 전체 sections (예전 방식 row 는 sections 그대로)
+    public Map<String, Object> assemble(CoverLetter coverLetter) {
+        Map<String, Object> own = coverLetter.getSections();
+        String hash = coverLetter.getResumeHash();
+        if (hash == null) {
+            return own;
+        }
+
+        Map<String, Object> resume = payloads.get(hash, h -> repository.findById(h)
+                .map(ResumeSnapshot::getPayload)
+                .map(Collections::unmodifiableMap)
+                .orElse(null));
+        if (resume == null) {
+            log.warn("Resume snapshot {} referenced by cover letter {} is missing", hash, coverLetter.getId());
+            return own;
+        }
+
+        Map<String, Object> merged = new HashMap<>(resume);
+        if (own != null) {
+            merged.putAll(own);
+        }
+        return merged;
+    }
+
+    private void markUsed(String hash, String json) {
+        String key = ShardContextHolder.currentOrDefault() + ":" + hash;
+        if (recentlyUsed.getIfPresent(key) != null) {
+            skippedCounter.increment();
+            return;
+        }
+
+        repository.upsert(hash, json, LocalDateTime.now());
+        writeCounter.increment();
+
+        // 롤백되면 row 가 없을 수 있으므로 커밋된 뒤에만 기억
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentlyUsed.put(key, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.jobbuddy.backend.service;
 
+import com.jobbuddy.backend.cache.UserCache;
+import com.jobbuddy.backend.config.TokenVersionCache;
 import com.jobbuddy.backend.model.User;
 import com.jobbuddy.backend.repository.UserRepository;
+import com.jobbuddy.backend.security.LoginAttemptLimiter;
+import com.jobbuddy.backend.security.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 
@@ -18,28 +21,68 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    // BCrypt 는 요청 스레드가 아닌 전용 풀에서 (포화 시 429)
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHasher;
+
+    @Autowired
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
 
     private final Pattern PASSWORD_PATTERN =
             Pattern.compile("^(?=.*[A-Za-z])(?=.*\\d)(?=.*[!@#$%^&*()_+=\\-]).{8,}$");
 
     public void signup(User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent())
+        if (isUsernameTaken(user.getUsername()))
             throw new IllegalArgumentException("이미 사용 중인 아이디입니다.");
         if (!PASSWORD_PATTERN.matcher(user.getPassword()).matches())
             throw new IllegalArgumentException("비밀번호 형식이 올바르지 않습니다.");
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
+        user.setPassword(passwordHasher.encode(user.getPassword()));
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Bloom filter 가 모르는 아이디(다른 노드에서 방금 가입 등)는 unique 제약에서 걸림
+            throw new IllegalArgumentException("이미 사용 중인 아이디입니다.");
+        }
+        usernameIndex.registered(user.getUsername());
     }
 
-    public boolean login(String username, String rawPassword) {
+    // 로그인 성공 시 사용자 반환 (토큰에 id 를 넣기 위해), 실패 시 null
+    // 시도 제한에 걸리면 TooManyRequestsException
+    public User login(String username, String rawPassword, String clientIp) {
+        loginAttemptLimiter.checkAllowed(username, clientIp);
+
         Optional<User> userOpt = userRepository.findByUsername(username);
-        return userOpt.isPresent() && passwordEncoder.matches(rawPassword, userOpt.get().getPassword());
+        if (userOpt.isPresent() && passwordHasher.matches(rawPassword, userOpt.get().getPassword())) {
+            loginAttemptLimiter.recordSuccess(username);
+            return userOpt.get();
+        }
+        loginAttemptLimiter.recordFailure(username, clientIp);
+        return null;
     }
 
     public boolean isUsernameAvailable(String username) {
-        return userRepository.findByUsername(username).isEmpty();
+        return !isUsernameTaken(username);
+    }
+
+    // Bloom filter 에서 "확실히 없음" 이면 DB 조회 생략
+    private boolean isUsernameTaken(String username) {
+        if (!usernameIndex.mightExist(username)) {
+            return false;
+        }
+        boolean taken = userRepository.findByUsername(username).isPresent();
+        if (!taken) {
+            usernameIndex.recordFalsePositive();
+        }
+        return taken;
     }
 
     public boolean updateProfile(String username, String name, String univ, String major) {
@@ -50,25 +93,36 @@ public class UserService {
         user.setUniv(univ);
         user.setMajor(major);
         userRepository.save(user);
+        userCache.evict(username);
         return true;
     }
 
-    public void changePassword(String username, String currentPassword, String newPassword, String confirmPassword) {
+    // 비밀번호 변경 + 토큰 버전 증가 (기존 토큰 폐기). 새 토큰 발급용으로 사용자 반환
+    public User changePassword(String username, String currentPassword, String newPassword, String confirmPassword) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isEmpty()) throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
         User user = userOpt.get();
-        if (!passwordEncoder.matches(currentPassword, user.getPassword()))
+        // 현재 비밀번호 대입 시도도 로그인과 같은 아이디별 제한을 받음
+        loginAttemptLimiter.checkAllowed(username, null);
+        if (!passwordHasher.matches(currentPassword, user.getPassword())) {
+            loginAttemptLimiter.recordFailure(username);
             throw new SecurityException("비밀번호가 틀렸습니다.");
+        }
         if (!newPassword.equals(confirmPassword))
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         if (!PASSWORD_PATTERN.matcher(newPassword).matches())
             throw new IllegalArgumentException("새 비밀번호 형식이 올바르지 않습니다.");
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
+        user.increaseTokenVersion();
         userRepository.save(user);
+        tokenVersionCache.evict(user.getId());
+        userCache.evict(username);
+        return user;
     }
 
+    // 내 정보 조회 (캐시, 수정 시 evict)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username).orElse(null);
+        return userCache.get(username, userRepository::findByUsername);
     }
 }
 
@@ -0,0 +1,161 @@
+package com.jobbuddy.backend.service;
+
+import com.jobbuddy.backend.cache.CacheInvalidationBus;
+import com.jobbuddy.backend.repository.UserRepository;
+import com.jobbuddy.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * 가입된 아이디 Bloom filter.
+ *  - "확실히 없음" 이면 DB 조회 없이 바로 사용 가능 응답 (아이디 중복 체크는 타자마다 호출됨)
+ *  - "아마 있음" 일 때만 findByUsername
+ *  - 시작 시 전체 아이디를 스트리밍으로 읽어 구축, 주기적으로 재구축
+ *  - 가입은 CacheInvalidationBus 로 전달해서 커밋 후 이 노드와 다른 노드 필터에 모두 추가
+ *    (다른 노드는 폴링 주기만큼 늦게 알 수 있음 → 가입 자체는 unique 제약이 최종 방어)
+ *  - 구축 전에는 항상 "아마 있음" 으로 답해서 DB 로 넘김
+ */
+@Component
+public class UsernameIndex {
+
+    public static final String NAME = "usernames";
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final TransactionTemplate readOnlyTx;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+    // 재구축 중에 들어온 가입도 새 필터에 반영되도록
+    private volatile BloomFilter building;
+
+    private final Counter negativeCounter;
+    private final Counter positiveCounter;
+    private final Counter falsePositiveCounter;
+    private final AtomicLong memoryBytes = new AtomicLong();
+
+    public UsernameIndex(UserRepository userRepository,
+                         CacheInvalidationBus invalidationBus,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${users.bloom.expected-insertions:5000000}") long expectedInsertions,
+                         @Value("${users.bloom.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+
+        this.negativeCounter = Counter.builder("users.bloom.lookups")
+                .tag("result", "absent")
+                .description("Username checks answered by the Bloom filter without a DB query")
+                .register(meterRegistry);
+        this.positiveCounter = Counter.builder("users.bloom.lookups")
+                .tag("result", "maybe")
+                .description("Username checks that fell through to the DB")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("users.bloom.false-positives")
+                .description("Probable positives the DB reported as absent")
+                .register(meterRegistry);
+        meterRegistry.gauge("users.bloom.memory.bytes", memoryBytes);
+        meterRegistry.gauge("users.bloom.expected.fpp", filter,
+                ref -> ref.get() != null ? ref.get().expectedFpp() : Double.NaN);
+    }
+
+    // 구축보다 먼저 등록 → 구축 중에 다른 노드에서 들어온 가입도 building 에 반영됨
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        invalidationBus.register(NAME, this::add);
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${users.bloom.rebuild-interval:PT6H}",
+            fixedDelayString = "${users.bloom.rebuild-interval:PT6H}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedInsertions, fpp);
+        building = next;
+        long started = System.nanoTime();
+        Long count;
+        try {
+            count = readOnlyTx.execute(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    long n = 0;
+                    for (String username : (Iterable<String>) usernames::iterator) {
+                        next.put(username);
+                        n++;
+                    }
+                    return n;
+                }
+            });
+        } catch (RuntimeException e) {
+            building = null;
+            log.warn("Username Bloom filter rebuild failed, keeping previous filter", e);
+            return;
+        }
+
+        // 새 필터를 먼저 공개한 뒤 building 을 비움 (add 가 둘 다 놓치는 틈이 없도록)
+        filter.set(next);
+        building = null;
+        memoryBytes.set(next.memoryBytes());
+        log.info("Username Bloom filter built: {} usernames in {} ms, {} KiB, k={}, expected fpp={}",
+                count, (System.nanoTime() - started) / 1_000_000,
+                next.memoryBytes() / 1024, next.hashCount(), String.format("%.5f", next.expectedFpp()));
+        if (count != null && count > expectedInsertions) {
+            log.warn("Username count {} exceeds users.bloom.expected-insertions={}, false-positive rate will rise",
+                    count, expectedInsertions);
+        }
+    }
+
+    // false 면 확실히 없는 아이디 (DB 조회 불필요)
+    public boolean mightExist(String username) {
+        BloomFilter current = filter.get();
+        if (current == null || username == null) {
+            return true;
+        }
+        if (current.mightContain(username)) {
+            positiveCounter.increment();
+            return true;
+        }
+        negativeCounter.increment();
+        return false;
+    }
+
+    // "아마 있음" 이었는데 DB 에 없었던 경우 (실측 오탐률 = false-positives / lookups{maybe})
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    // 가입 트랜잭션이 커밋되면 모든 노드 필터에 추가 (트랜잭션 밖이면 바로)
+    public void registered(String username) {
+        invalidationBus.invalidate(NAME, username);
+    }
+
+    // building 을 먼저 읽음: null 이면 재구축 전(스트림이 이 아이디를 읽음)이거나 이미 filter 가 새 것으로 바뀐 뒤
+    void add(String username) {
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(username);
+        }
+        BloomFilter current = filter.get();
+        if (current != null) {
+            current.put(username);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jobbuddy.backend.tiering;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobbuddy.util.DictionaryDeflate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 오래된 자소서 sections(JSON) 의 cold tier 압축 형식.
+ *  - 모든 자소서가 공유하는 사전(자주 나오는 키 + 자소서 상투 문구)으로 deflate
+ *  - 엔티티에서 바로 풀 수 있도록 static (스프링 빈 아님)
+ * 사전을 바꾸려면 새 id 로 하나 더 만들고 CURRENT 를 바꿀 것 (예전 것은 풀기용으로 남김).
+ */
+public final class ColdSections {
+
+    // 뒤쪽일수록 가까운 거리로 참조되므로 가장 흔한 문자열을 마지막에 둠
+    private static final String DICTIONARY_V1 = String.join("",
+            "\"technicalSkills\":[\"skills\":[\"awards\":[{\"activities\":[{\"projects\":[{\"experiences\":[{",
+            "\"profile\":{\"name\":\"\"email\":\"\"phone\":\"\"period\":\"\"role\":\"\"description\":\"",
+            "\"title\":\"\"company\":\"\"organization\":\"\"startDate\":\"\"endDate\":\"",
+            "이를 통해 배운 점은 협업 과정에서 문제를 해결하기 위해 프로젝트를 진행하며 ",
+            "귀사에 입사하게 된다면 지원하게 된 동기는 경험을 바탕으로 역량을 발휘하여 ",
+            "성장할 수 있었습니다. 기여하고 싶습니다. 생각합니다. 하였습니다. 했습니다. ",
+            "\"},{\"", "\"],\"", "\"},\"", "\",\"",
+            "\"generatedCoverLetter\":\"");
+
+    private static final DictionaryDeflate V1 = new DictionaryDeflate(1,
+            DICTIONARY_V1.getBytes(StandardCharsets.UTF_8), Deflater.BEST_COMPRESSION);
+
+    private static final DictionaryDeflate CURRENT = V1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private ColdSections() {
+    }
+
+    public static byte[] compress(String json) {
+        return CURRENT.compress(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decompressToJson(byte[] data) {
+        return new String(codecFor(data).decompress(data), StandardCharsets.UTF_8);
+    }
+
+    public static Map<String, Object> decompress(byte[] data) {
+        try {
+            return MAPPER.readValue(codecFor(data).decompress(data), MAP_TYPE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Compressed sections are not valid JSON", e);
+        }
+    }
+
+    private static DictionaryDeflate codecFor(byte[] data) {
+        int id = DictionaryDeflate.dictionaryIdOf(data);
+        if (id == V1.id()) {
+            return V1;
+        }
+        throw new IllegalStateException("Unknown sections dictionary id: " + id);
+    }
+}
@@ -0,0 +1,158 @@
+package com.jobbuddy.backend.tiering;
+
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.datasource.ShardContextHolder;
+import com.jobbuddy.backend.repository.CoverLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 오래 수정되지 않은 보관함 자소서의 sections(JSON, 생성 본문 포함)를 압축 컬럼으로 옮긴다.
+ *  - cold-after 동안 수정 안 된 자소서만, 샤드마다 id 순으로 배치 (배치 하나 = 트랜잭션 하나)
+ *  - 읽을 때는 엔티티가 알아서 풀고(CoverLetter.getSections), 수정하면 다시 hot 으로 저장됨
+ *  - 그 사이 수정된 자소서는 version 이 달라서 건너뜀
+ * 줄어든 용량은 cover_letter.tier.* 지표와 실행 로그로 확인.
+ */
+@Component
+public class ColdTierJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdTierJob.class);
+
+    private final CoverLetterRepository coverLetterRepository;
+    private final ShardBinding shardBinding;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration coldAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter rowsCounter;
+    private final Counter savedBytesCounter;
+    private final DistributionSummary ratioSummary;
+    private final Timer batchTimer;
+
+    public ColdTierJob(CoverLetterRepository coverLetterRepository,
+                       ShardBinding shardBinding,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${cover-letter.tier.enabled:true}") boolean enabled,
+                       @Value("${cover-letter.tier.cold-after:P90D}") Duration coldAfter,
+                       @Value("${cover-letter.tier.batch-size:200}") int batchSize,
+                       @Value("${cover-letter.tier.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.coverLetterRepository = coverLetterRepository;
+        this.shardBinding = shardBinding;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.coldAfter = coldAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.rowsCounter = Counter.builder("cover_letter.tier.cold.rows")
+                .description("Cover letters moved to the compressed cold tier")
+                .register(meterRegistry);
+        this.savedBytesCounter = Counter.builder("cover_letter.tier.saved.bytes")
+                .description("Bytes saved by compressing sections (JSON size minus compressed size)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.ratioSummary = DistributionSummary.builder("cover_letter.tier.compression.ratio")
+                .description("Compressed size divided by JSON size per cover letter")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("cover_letter.tier.batch")
+                .description("Time spent per cold-tier batch")
+                .register(meterRegistry);
+    }
+
+    // 기본: 매일 새벽 4시 30분 (서울 기준, purge 와 겹치지 않게)
+    @Scheduled(cron = "${cover-letter.tier.cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard : shardBinding.shards()) {
+            ShardContextHolder.set(shard);
+            try {
+                tierCurrentShard(shard);
+            } catch (RuntimeException e) {
+                log.warn("Cold tier job failed on shard {}", shard, e);
+            } finally {
+                ShardContextHolder.clear();
+            }
+        }
+    }
+
+    private void tierCurrentShard(int shard) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(coldAfter);
+        long afterId = 0;
+        long rows = 0;
+        long jsonBytes = 0;
+        long coldBytes = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = coverLetterRepository.findColdCandidates(cutoff, afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            long[] stats = batchTimer.record(() -> transactionTemplate.execute(status -> compressBatch(ids)));
+            if (stats != null) {
+                rows += stats[0];
+                jsonBytes += stats[1];
+                coldBytes += stats[2];
+            }
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (rows > 0) {
+            log.info("Moved {} cover letters to cold tier on shard {}: {} KiB -> {} KiB ({}%)",
+                    rows, shard, jsonBytes / 1024, coldBytes / 1024,
+                    jsonBytes > 0 ? Math.round(coldBytes * 100.0 / jsonBytes) : 0);
+        }
+    }
+
+    // [옮긴 row 수, JSON 바이트, 압축 바이트]
+    private long[] compressBatch(List<Long> ids) {
+        long[] stats = new long[3];
+        for (Object[] row : coverLetterRepository.findHotSections(ids)) {
+            Long id = ((Number) row[0]).longValue();
+            Long version = ((Number) row[1]).longValue();
+            String json = (String) row[2];
+
+            byte[] cold = ColdSections.compress(json);
+            int jsonSize = json.getBytes(StandardCharsets.UTF_8).length;
+            // 아주 짧은 문서는 압축해도 이득이 없음
+            if (cold.length >= jsonSize) {
+                continue;
+            }
+            if (coverLetterRepository.moveToCold(id, version, cold) == 0) {
+                continue;
+            }
+
+            stats[0]++;
+            stats[1] += jsonSize;
+            stats[2] += cold.length;
+            rowsCounter.increment();
+            savedBytesCounter.increment(jsonSize - cold.length);
+            ratioSummary.record((double) cold.length / jsonSize);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,116 @@
+package com.jobbuddy.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom filter (thread-safe, lock-free).
+ *  - mightContain 이 false 면 "확실히 없음", true 면 "아마 있음" (오탐 가능)
+ *  - 비트 배열은 AtomicLongArray, 비트 세팅은 CAS
+ *  - 해시 k 개는 64bit 해시 두 개로 만든다 (h1 + i * h2, Kirsch–Mitzenmacher)
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    // expectedInsertions 개를 넣었을 때 오탐률이 fpp 가 되도록 크기 결정
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact((bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L; // 홀수로 만들어 주기가 짧아지지 않게
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(h1 + i * h2, bitSize));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                setBits.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    // ===== 상태 리포트 =====
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    // 현재 채워진 비트 비율로 계산한 실제 오탐 확률 추정치
+    public double expectedFpp() {
+        return Math.pow((double) setBits.get() / bitSize, hashCount);
+    }
+
+    // 채워진 비트 수로 추정한 들어간 원소 수
+    public long approximateElementCount() {
+        double fraction = (double) setBits.get() / bitSize;
+        if (fraction >= 1.0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-Math.log1p(-fraction) * bitSize / hashCount);
+    }
+
+    // FNV-1a 64 + murmur3 finalizer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
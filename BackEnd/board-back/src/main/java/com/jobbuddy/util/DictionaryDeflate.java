@@ -0,0 +1,103 @@
+package com.jobbuddy.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 미리 정한 사전(preset dictionary)을 쓰는 deflate.
+ *  - 짧은 문서가 많을 때 문서마다 같은 키/문구를 처음부터 다시 배우지 않아도 돼서 압축률이 크게 오름
+ *  - 형식: [magic 1바이트][사전 id 1바이트][원본 길이 4바이트][raw deflate]
+ *  - 사전을 바꿀 때는 id 를 올리고, 예전 id 로 압축된 데이터를 풀 수 있도록 예전 인스턴스도 남겨 둘 것
+ * 인스턴스는 불변이라 여러 스레드에서 같이 써도 된다 (Deflater/Inflater 는 호출마다 새로 만듦).
+ */
+public final class DictionaryDeflate {
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final int HEADER_BYTES = 6;
+
+    private final byte id;
+    private final byte[] dictionary;
+    private final int level;
+
+    public DictionaryDeflate(int id, byte[] dictionary, int level) {
+        if (id < 0 || id > 255) {
+            throw new IllegalArgumentException("Dictionary id must fit in one byte: " + id);
+        }
+        this.id = (byte) id;
+        this.dictionary = dictionary.clone();
+        this.level = level;
+    }
+
+    public int id() {
+        return id & 0xFF;
+    }
+
+    public byte[] compress(byte[] input) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            out.write(MAGIC);
+            out.write(id);
+            out.write(input.length >>> 24);
+            out.write(input.length >>> 16);
+            out.write(input.length >>> 8);
+            out.write(input.length);
+
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public byte[] decompress(byte[] data) {
+        if (data.length < HEADER_BYTES || data[0] != MAGIC) {
+            throw new IllegalArgumentException("Not a dictionary-deflated payload.");
+        }
+        if (data[1] != id) {
+            throw new IllegalArgumentException("Payload was compressed with dictionary " + (data[1] & 0xFF)
+                    + ", expected " + id());
+        }
+        int length = ((data[2] & 0xFF) << 24) | ((data[3] & 0xFF) << 16) | ((data[4] & 0xFF) << 8) | (data[5] & 0xFF);
+
+        Inflater inflater = new Inflater(true);
+        try {
+            // raw deflate 는 사전 요청 신호가 없으므로 처음부터 넣어 둠
+            inflater.setDictionary(dictionary);
+            inflater.setInput(data, HEADER_BYTES, data.length - HEADER_BYTES);
+
+            byte[] result = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int n = inflater.inflate(result, offset, length - offset);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                offset += n;
+            }
+            if (offset != length) {
+                throw new IllegalArgumentException("Truncated payload: " + offset + " of " + length + " bytes.");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed payload.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // 압축된 데이터의 사전 id (형식이 아니면 -1)
+    public static int dictionaryIdOf(byte[] data) {
+        return data != null && data.length >= HEADER_BYTES && data[0] == MAGIC ? data[1] & 0xFF : -1;
+    }
+}
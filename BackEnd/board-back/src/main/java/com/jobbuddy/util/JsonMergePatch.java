@@ -0,0 +1,43 @@
+package com.jobbuddy.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * RFC 7396 JSON Merge Patch.
+ *  - patch 가 객체가 아니면 target 을 통째로 patch 로 교체
+ *  - 객체면 멤버별로: null → 삭제, 그 외 → 재귀적으로 병합
+ * MySQL 의 JSON_MERGE_PATCH 와 같은 결과 (DB 에서 바로 못 할 때의 대체 경로).
+ */
+public final class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    // target 은 건드리지 않고 결과를 새로 만들어 반환
+    public static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch != null ? patch.deepCopy() : null;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), value));
+            }
+        }
+        return result;
+    }
+}
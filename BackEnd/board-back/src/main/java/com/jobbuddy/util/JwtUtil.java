@@ -1,12 +1,21 @@
 package com.jobbuddy.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jobbuddy.backend.config.JwtUserPrincipal;
+import com.jobbuddy.backend.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtUtil {
@@ -15,39 +24,145 @@ public class JwtUtil {
     private static final String SECRET = "jobbuddy-secret-key-jobbuddy-secret-key-1234";
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
+    // 파서는 불변 + thread-safe → 요청마다 새로 만들지 않고 하나를 재사용
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
     private static final long EXPIRATION_MS = 1000L * 60 * 60; // 1시간
 
-    // ✅ username 을 subject 로 넣는다
-    public String generateToken(String username) {
+    // 토큰에 넣는 사용자 id / 토큰 버전 claim 이름
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+
+    // 최근 검증한 토큰 캐시 (key = 토큰 SHA-256, 토큰 만료 시각에 맞춰 제거). 크기 0 이면 사용 안 함
+    private final Cache<String, Verified> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+    }
+
+    // ✅ username 을 subject 로, 사용자 id 와 토큰 버전을 claim 으로 넣는다
+    public String generateToken(User user) {
         Date now = new Date();
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + EXPIRATION_MS))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // ✅ 서명/만료 검증 + claim 파싱을 한 번에 (실패 시 JwtException / IllegalArgumentException)
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * ✅ 필터용 단일 검증 경로: 토큰을 한 번만 파싱/검증해서 로그인 사용자 정보를 돌려준다.
+     * 서명이 틀리거나 만료됐거나, id claim 이 없는 예전 토큰이면 null.
+     * 캐시에 있으면 HMAC 검증 없이 해시 비교만으로 끝난다.
+     */
+    public JwtUserPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        if (verifiedTokens == null) {
+            return verifyUncached(token);
+        }
+
+        String hash = sha256(token);
+        Verified cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            // 만료 직후 아직 제거되지 않은 항목이 보일 수 있어 한 번 더 확인
+            return cached.expiresAtMillis > System.currentTimeMillis() ? cached.principal : null;
+        }
+
+        Claims claims = parseOrNull(token);
+        JwtUserPrincipal principal = claims != null ? toPrincipal(claims) : null;
+        if (principal != null && claims.getExpiration() != null) {
+            verifiedTokens.put(hash, new Verified(principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+
+    private JwtUserPrincipal verifyUncached(String token) {
+        Claims claims = parseOrNull(token);
+        return claims != null ? toPrincipal(claims) : null;
+    }
+
+    private Claims parseOrNull(String token) {
+        try {
+            return parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     // ✅ 토큰에서 username 꺼내기
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    // ✅ 토큰에서 로그인 사용자 정보 꺼내기 (id claim 이 없는 예전 토큰이면 null)
+    public JwtUserPrincipal getPrincipal(String token) {
+        return toPrincipal(parseClaims(token));
     }
 
     // ✅ 토큰 검증
     public boolean validateToken(String token) {
+        return parseOrNull(token) != null;
+    }
+
+    private static JwtUserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            return null;
+        }
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return new JwtUserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                tokenVersion != null ? tokenVersion.intValue() : 0);
+    }
+
+    // 토큰 원문 대신 해시를 키로 (메모리에 토큰 자체를 들고 있지 않도록)
+    private static String sha256(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Verified(JwtUserPrincipal principal, long expiresAtMillis) {
+    }
+
+    // 캐시 항목 수명 = 토큰 남은 유효 시간 (만료된 토큰이 캐시로 통과되지 않도록)
+    private static final class UntilTokenExpiry implements Expiry<String, Verified> {
+
+        @Override
+        public long expireAfterCreate(String key, Verified value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return Math.max(0L, remainingMillis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verified value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verified value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,107 @@
+package com.jobbuddy.backend.cache;
+
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.dto.CoverLetterPreviewResponse;
+import com.jobbuddy.backend.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// 트랜잭션 밖에서 evict → 바로 이 노드에 적용 (다른 노드 메시지도 같은 경로)
+class CoverLetterPreviewCacheTest {
+
+    private static final Long ID = 10L;
+    private static final Long OWNER = 1L;
+
+    private CoverLetterPreviewCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(mock(CacheInvalidationRepository.class),
+                mock(ShardBinding.class), mock(PlatformTransactionManager.class), false,
+                Duration.ofMinutes(10), Duration.ofSeconds(30));
+        cache = new CoverLetterPreviewCache(bus, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    private Supplier<CoverLetterPreviewResponse> loader(long version) {
+        return () -> {
+            loads.incrementAndGet();
+            return preview(version);
+        };
+    }
+
+    private static CoverLetterPreviewResponse preview(long version) {
+        CoverLetterPreviewResponse response = new CoverLetterPreviewResponse();
+        response.setVersion(version);
+        return response;
+    }
+
+    @Test
+    void loadThatRacesWithEvictIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = new Thread(() -> cache.get(ID, OWNER, () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            loads.incrementAndGet();
+            return preview(1); // 무효화 전에 읽은 값
+        }));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // 로딩 중에 version 2 커밋의 무효화 도착 (진행 중인 로딩이 끝날 때까지 기다릴 수 있음)
+        Thread writer = new Thread(() -> cache.evict(ID, OWNER, 2L));
+        writer.start();
+        while (writer.getState() == Thread.State.NEW || writer.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        reader.join(5000);
+        writer.join(5000);
+
+        // 오래된 값은 담기지 않았으므로 다시 로딩, 새 값은 담김
+        assertEquals(2, cache.get(ID, OWNER, loader(2)).getVersion());
+        assertEquals(2, cache.get(ID, OWNER, loader(2)).getVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void staleLoadAfterEvictIsServedButNotCached() {
+        assertEquals(4, cache.get(ID, OWNER, loader(4)).getVersion());
+
+        cache.evict(ID, OWNER, 5L);
+
+        // 지연된 replica 처럼 예전 값을 읽으면 응답은 하지만 담지 않음
+        assertEquals(4, cache.get(ID, OWNER, loader(4)).getVersion());
+        assertEquals(5, cache.get(ID, OWNER, loader(5)).getVersion());
+        assertEquals(5, cache.get(ID, OWNER, loader(5)).getVersion());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evictWithoutVersionOnlyRemoves() {
+        cache.get(ID, OWNER, loader(3));
+
+        cache.evict(ID, OWNER, null);
+
+        cache.get(ID, OWNER, loader(3));
+        cache.get(ID, OWNER, loader(3));
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.jobbuddy.backend.controller;
+
+import com.jobbuddy.backend.config.JwtUserPrincipal;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.document.ArchiveExporter;
+import com.jobbuddy.backend.document.DocumentKey;
+import com.jobbuddy.backend.document.DocumentRenderers;
+import com.jobbuddy.backend.document.RenderedDocument;
+import com.jobbuddy.backend.document.TextDocumentRenderer;
+import com.jobbuddy.backend.document.ThumbnailStore;
+import com.jobbuddy.backend.service.CoverLetterService;
+import com.jobbuddy.backend.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 다운로드 조건부 요청 / Range 처리 (렌더링 결과는 메모리 문서로 대신함)
+class CoverLetterDownloadTest {
+
+    private static final Long USER = 7L;
+    private static final Long ID = 42L;
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 1, 10, 30, 15);
+
+    private final CoverLetterService coverLetterService = mock(CoverLetterService.class);
+    private final DocumentKey key = new DocumentKey(ID, UPDATED_AT, null, "txt");
+    private final byte[] body = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        CoverLetterController controller = new CoverLetterController(coverLetterService, mock(ShardBinding.class),
+                mock(IdempotencyService.class), mock(ThumbnailStore.class), mock(ArchiveExporter.class),
+                new DocumentRenderers(List.of(new TextDocumentRenderer())));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(coverLetterService.describeDownload(eq(ID), any(), any(), eq(USER))).thenReturn(key);
+        when(coverLetterService.downloadCoverLetter(key, USER)).thenAnswer(inv ->
+                CompletableFuture.completedFuture(new RenderedDocument(key, body, null, body.length)));
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        TestingAuthenticationToken auth = new TestingAuthenticationToken(new JwtUserPrincipal(USER, "alice", 0), null);
+        auth.setAuthenticated(true);
+        MvcResult result = mvc.perform(request.principal(auth)).andReturn();
+        // CompletableFuture → ResponseEntity<StreamingResponseBody> → 본문 쓰기, 비동기 단계마다 dispatch
+        while (result.getRequest().isAsyncStarted()) {
+            result.getAsyncResult();
+            result = mvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+
+    private static MockHttpServletRequestBuilder download() {
+        return get("/api/cover-letters/{id}/download", ID).param("format", "txt");
+    }
+
+    private static String httpDate(LocalDateTime time) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    @Test
+    void fullDownloadCarriesValidators() throws Exception {
+        MvcResult result = perform(download());
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertArrayEquals(body, result.getResponse().getContentAsByteArray());
+        assertEquals(key.eTag(), result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("bytes", result.getResponse().getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(String.valueOf(body.length), result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("attachment; filename=\"cover-letter-42.txt\"",
+                result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    void matchingIfNoneMatchIs304WithoutRendering() throws Exception {
+        MvcResult result = perform(download().header(HttpHeaders.IF_NONE_MATCH, key.eTag()));
+
+        assertEquals(304, result.getResponse().getStatus());
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        assertEquals(key.eTag(), result.getResponse().getHeader(HttpHeaders.ETAG));
+        verify(coverLetterService, never()).downloadCoverLetter(any(), any());
+
+        MvcResult stale = perform(download().header(HttpHeaders.IF_NONE_MATCH, "\"something-else\""));
+        assertEquals(200, stale.getResponse().getStatus());
+    }
+
+    @Test
+    void singleRangeIs206() throws Exception {
+        MvcResult result = perform(download().header(HttpHeaders.RANGE, "bytes=5-9"));
+
+        assertEquals(206, result.getResponse().getStatus());
+        assertEquals("bytes 5-9/20", result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("5", result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(Arrays.copyOfRange(body, 5, 10), result.getResponse().getContentAsByteArray());
+
+        MvcResult suffix = perform(download().header(HttpHeaders.RANGE, "bytes=-4"));
+        assertEquals(206, suffix.getResponse().getStatus());
+        assertEquals("bytes 16-19/20", suffix.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(body, 16, 20), suffix.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void multipleOrMalformedRangesFallBackToFullBody() throws Exception {
+        for (String range : List.of("bytes=0-1,5-6", "bytes=x-y", "items=0-1")) {
+            MvcResult result = perform(download().header(HttpHeaders.RANGE, range));
+            assertEquals(200, result.getResponse().getStatus(), range);
+            assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertArrayEquals(body, result.getResponse().getContentAsByteArray(), range);
+        }
+    }
+
+    @Test
+    void rangeBeyondTheFileIs416() throws Exception {
+        MvcResult result = perform(download().header(HttpHeaders.RANGE, "bytes=20-30"));
+
+        assertEquals(416, result.getResponse().getStatus());
+        assertEquals("bytes */20", result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void ifRangeMustMatchCurrentETagOrDate() throws Exception {
+        MvcResult matching = perform(download()
+                .header(HttpHeaders.RANGE, "bytes=10-")
+                .header(HttpHeaders.IF_RANGE, key.eTag()));
+        assertEquals(206, matching.getResponse().getStatus());
+        assertArrayEquals(Arrays.copyOfRange(body, 10, 20), matching.getResponse().getContentAsByteArray());
+
+        MvcResult byDate = perform(download()
+                .header(HttpHeaders.RANGE, "bytes=10-")
+                .header(HttpHeaders.IF_RANGE, httpDate(UPDATED_AT)));
+        assertEquals(206, byDate.getResponse().getStatus());
+
+        // 그 사이 문서가 바뀜 → 이어받지 않고 전체
+        for (String stale : List.of("\"old-etag\"", "W/" + key.eTag(), httpDate(UPDATED_AT.minusMinutes(1)))) {
+            MvcResult result = perform(download()
+                    .header(HttpHeaders.RANGE, "bytes=10-")
+                    .header(HttpHeaders.IF_RANGE, stale));
+            assertEquals(200, result.getResponse().getStatus(), stale);
+            assertArrayEquals(body, result.getResponse().getContentAsByteArray(), stale);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jobbuddy.backend.controller;
+
+import com.jobbuddy.backend.config.JwtUserPrincipal;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.document.ArchiveExporter;
+import com.jobbuddy.backend.document.DocumentRenderers;
+import com.jobbuddy.backend.document.TextDocumentRenderer;
+import com.jobbuddy.backend.document.ThumbnailStore;
+import com.jobbuddy.backend.service.CoverLetterService;
+import com.jobbuddy.backend.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// 템플릿 / 설정 / 보관함 저장도 If-Match 버전이 다르면 412
+class CoverLetterIfMatchTest {
+
+    private static final Long USER = 7L;
+    private static final Long ID = 42L;
+
+    private final CoverLetterService coverLetterService = mock(CoverLetterService.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        CoverLetterController controller = new CoverLetterController(coverLetterService, mock(ShardBinding.class),
+                mock(IdempotencyService.class), mock(ThumbnailStore.class), mock(ArchiveExporter.class),
+                new DocumentRenderers(List.of(new TextDocumentRenderer())));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        TestingAuthenticationToken auth = new TestingAuthenticationToken(new JwtUserPrincipal(USER, "alice", 0), null);
+        auth.setAuthenticated(true);
+        return mvc.perform(request.principal(auth)).andReturn();
+    }
+
+    private static MockHttpServletRequestBuilder template() {
+        return put("/api/cover-letters/{id}/template", ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"templateId\":\"modern\"}");
+    }
+
+    private static MockHttpServletRequestBuilder settings() {
+        return post("/api/cover-letters/{id}/settings", ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"questions\":[\"지원 동기\"],\"tone\":\"formal\",\"lengthPerQuestion\":500}");
+    }
+
+    private static MockHttpServletRequestBuilder archive() {
+        return post("/api/cover-letters/{id}/archive", ID);
+    }
+
+    @Test
+    void templateWithMatchingVersionReturnsNewETag() throws Exception {
+        when(coverLetterService.updateTemplate(USER, ID, "modern", 3L)).thenReturn(4L);
+
+        MvcResult result = perform(template().header(HttpHeaders.IF_MATCH, "\"3\""));
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("\"4\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void templateWithStaleVersionIsPreconditionFailed() throws Exception {
+        when(coverLetterService.updateTemplate(USER, ID, "modern", 2L))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertEquals(412, perform(template().header(HttpHeaders.IF_MATCH, "\"2\"")).getResponse().getStatus());
+    }
+
+    @Test
+    void settingsWithStaleVersionIsPreconditionFailed() throws Exception {
+        when(coverLetterService.updateSettings(eq(USER), eq(ID), any(), eq("formal"), eq(500), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertEquals(412, perform(settings().header(HttpHeaders.IF_MATCH, "W/\"2\"")).getResponse().getStatus());
+    }
+
+    @Test
+    void settingsWithoutIfMatchSkipsVersionCheck() throws Exception {
+        when(coverLetterService.updateSettings(eq(USER), eq(ID), any(), eq("formal"), eq(500), isNull()))
+                .thenReturn(9L);
+
+        MvcResult result = perform(settings());
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("\"9\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void archiveWithStaleVersionIsPreconditionFailed() throws Exception {
+        when(coverLetterService.archiveCoverLetter(ID, USER, 5L))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertEquals(412, perform(archive().header(HttpHeaders.IF_MATCH, "\"5\"")).getResponse().getStatus());
+    }
+
+    @Test
+    void malformedIfMatchIsBadRequest() throws Exception {
+        assertEquals(400, perform(archive().header(HttpHeaders.IF_MATCH, "\"abc\"")).getResponse().getStatus());
+        verify(coverLetterService, never()).archiveCoverLetter(anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,130 @@
+package com.jobbuddy.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 실제 primary / replica MySQL 두 대로 ReadWriteRoutingTest 와 같은 구성을 확인.
+ * 복제가 설정된 두 인스턴스를 환경 변수로 지정했을 때만 실행 (없으면 건너뜀):
+ *   ROUTING_IT_PRIMARY_URL, ROUTING_IT_REPLICA_URL, ROUTING_IT_USERNAME, ROUTING_IT_PASSWORD
+ * 어느 DB 가 응답했는지는 @@server_id 로 구분.
+ */
+@EnabledIfEnvironmentVariable(named = "ROUTING_IT_PRIMARY_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "ROUTING_IT_REPLICA_URL", matches = ".+")
+class ReadWriteRoutingMysqlTest {
+
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+    private JdbcTemplate primaryJdbc;
+    private long primaryServerId;
+    private long replicaServerId;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routingJdbc;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    private static DataSource connect(String urlVariable) {
+        return new DriverManagerDataSource(System.getenv(urlVariable),
+                System.getenv("ROUTING_IT_USERNAME"), System.getenv("ROUTING_IT_PASSWORD"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = connect("ROUTING_IT_PRIMARY_URL");
+        DataSource replica = connect("ROUTING_IT_REPLICA_URL");
+        primaryJdbc = new JdbcTemplate(primary);
+        primaryServerId = serverId(primaryJdbc);
+        replicaServerId = serverId(new JdbcTemplate(replica));
+        assumeTrue(primaryServerId != replicaServerId, "primary and replica must be different servers");
+
+        lagMonitor = new ReplicaLagMonitor(replica, 3, readYourWrites);
+        lagMonitor.check();
+
+        ReadWriteRoutingDataSource readWrite = new ReadWriteRoutingDataSource(lagMonitor, readYourWrites);
+        readWrite.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primary,
+                ReadWriteRoutingDataSource.REPLICA, replica));
+        readWrite.setDefaultTargetDataSource(primary);
+        readWrite.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(readWrite);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        routingJdbc = new JdbcTemplate(lazy);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+
+        primaryJdbc.execute("create table if not exists routing_it_marker (id bigint primary key)");
+        login("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (primaryJdbc != null) {
+            primaryJdbc.execute("drop table if exists routing_it_marker");
+        }
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    private static long serverId(JdbcTemplate jdbc) {
+        Long id = jdbc.queryForObject("select @@server_id", Long.class);
+        return id != null ? id : -1;
+    }
+
+    private long answeredBy(TransactionTemplate tx) {
+        Long id = tx.execute(status -> serverId(routingJdbc));
+        return id != null ? id : -1;
+    }
+
+    @Test
+    void replicaIsHealthy() {
+        assertTrue(lagMonitor.isReplicaUsable(), "replication stopped or lagging");
+        assertTrue(lagMonitor.getLastLagSeconds() >= 0);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertEquals(replicaServerId, answeredBy(readTx));
+        assertEquals(primaryServerId, answeredBy(writeTx));
+    }
+
+    @Test
+    void writerReadsOwnWriteFromPrimaryWhileOthersStayOnReplica() {
+        long id = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        writeTx.executeWithoutResult(status -> routingJdbc.update("insert into routing_it_marker (id) values (?)", id));
+
+        // 복제가 따라잡기 전이라도 방금 쓴 사용자는 primary 에서 읽음
+        Integer seen = readTx.execute(status -> routingJdbc.queryForObject(
+                "select count(*) from routing_it_marker where id = ?", Integer.class, id));
+        assertEquals(1, seen);
+        assertEquals(primaryServerId, answeredBy(readTx));
+
+        login("bob");
+        assertEquals(replicaServerId, answeredBy(readTx));
+    }
+}
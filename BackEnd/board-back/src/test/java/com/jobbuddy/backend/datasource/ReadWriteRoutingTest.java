@@ -0,0 +1,208 @@
+package com.jobbuddy.backend.datasource;
+
+import com.jobbuddy.backend.service.AutosaveBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// primary / replica 두 DB(mock DataSource)를 ReadWriteRoutingConfig 와 같은 방식으로 묶어서 트랜잭션별 라우팅 확인
+class ReadWriteRoutingTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        ReadWriteRoutingDataSource readWrite = new ReadWriteRoutingDataSource(lagMonitor, readYourWrites);
+        readWrite.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primary,
+                ReadWriteRoutingDataSource.REPLICA, replica));
+        readWrite.setDefaultTargetDataSource(primary);
+        readWrite.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(readWrite);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        routing = lazy;
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+
+        login("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    // 트랜잭션에 묶인 커넥션으로 statement 를 만들 때 (LazyConnectionDataSourceProxy) 실제 DB 가 정해짐
+    private void query() {
+        Connection connection = DataSourceUtils.getConnection(routing);
+        try {
+            connection.createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, routing);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() throws SQLException {
+        readTx.executeWithoutResult(status -> query());
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void writeTransactionGoesToPrimaryAndMakesOnlyThatUserStickyAfterCommit() throws SQLException {
+        writeTx.executeWithoutResult(status -> {
+            query();
+            assertFalse(readYourWrites.isSticky("alice"), "marked before commit");
+        });
+        verify(primary).getConnection();
+        assertTrue(readYourWrites.isSticky("alice"));
+
+        clearInvocations(primary, replica);
+        readTx.executeWithoutResult(status -> query());
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+
+        login("bob");
+        readTx.executeWithoutResult(status -> query());
+        verify(replica).getConnection();
+    }
+
+    @Test
+    void rolledBackWriteDoesNotMakeUserSticky() {
+        assertThrows(IllegalStateException.class, () -> writeTx.executeWithoutResult(status -> {
+            query();
+            throw new IllegalStateException("rollback");
+        }));
+        assertFalse(readYourWrites.isSticky("alice"));
+
+        writeTx.executeWithoutResult(status -> {
+            query();
+            status.setRollbackOnly();
+        });
+        assertFalse(readYourWrites.isSticky("alice"));
+    }
+
+    @Test
+    void backgroundAutosaveFlushMakesOwnerSticky() throws Exception {
+        AutosaveBuffer buffer = new AutosaveBuffer(new SimpleMeterRegistry(), true,
+                Duration.ofHours(1), Duration.ofHours(1), 1_000_000, Duration.ofHours(1));
+        buffer.setFlusher(p -> writeTx.executeWithoutResult(status -> query()));
+        buffer.bufferContent(10L, 1L, "body");
+
+        // autosave-flusher 처럼 인증 정보가 없는 스레드에서 반영
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture.runAsync(() -> buffer.flush(10L), flusher).get();
+            assertNull(CompletableFuture.supplyAsync(
+                    () -> SecurityContextHolder.getContext().getAuthentication(), flusher).get());
+        } finally {
+            flusher.shutdown();
+        }
+        verify(primary).getConnection();
+
+        clearInvocations(primary, replica);
+        readTx.executeWithoutResult(status -> query());
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void laggingReplicaSendsReadsToPrimary() throws SQLException {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        readTx.executeWithoutResult(status -> query());
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void outsideTransactionUsesPrimary() throws SQLException {
+        query();
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void lagMonitorFallsBackToShowSlaveStatusOnOldMysql() throws SQLException {
+        DataSource oldReplica = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rows = mock(ResultSet.class);
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(oldReplica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS"))
+                .thenThrow(new SQLSyntaxErrorException("You have an error in your SQL syntax", "42000", 1064));
+        when(statement.executeQuery("SHOW SLAVE STATUS")).thenReturn(rows);
+        when(rows.next()).thenReturn(true, false);
+        when(rows.getMetaData()).thenReturn(meta);
+        when(meta.getColumnCount()).thenReturn(1);
+        when(meta.getColumnLabel(1)).thenReturn("Seconds_Behind_Master");
+        when(rows.getObject(1)).thenReturn(2L);
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(oldReplica, 3, readYourWrites);
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(2, monitor.getLastLagSeconds());
+
+        // 다음 확인부터는 바로 SHOW SLAVE STATUS
+        when(rows.next()).thenReturn(true, false);
+        monitor.check();
+        verify(statement).executeQuery("SHOW REPLICA STATUS");
+    }
+}
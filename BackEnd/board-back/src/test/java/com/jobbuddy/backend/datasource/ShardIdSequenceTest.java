@@ -0,0 +1,145 @@
+package com.jobbuddy.backend.datasource;
+
+import org.hibernate.engine.config.internal.ConfigurationServiceImpl;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardIdSequenceTest {
+
+    private static final long JS_SAFE_LIMIT = 1L << 53;
+
+    @BeforeEach
+    void setUp() {
+        ShardIdSequence.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShardIdSequence.reset();
+    }
+
+    private static void register(int node, long highWater) {
+        ShardIdSequence.configureNode(node, highWater);
+        ShardIdSequence.extendReservation(ShardIdSequence.reservationFrom(60));
+    }
+
+    @Test
+    void idCarriesShardAndNodeAndStaysBelow2To53() {
+        register(5, -1);
+        long previous = 0;
+        for (int shard = 0; shard < 64; shard++) {
+            long id = ShardIdSequence.next(shard);
+            assertEquals(shard, ShardIdSequence.shardOf(id));
+            assertEquals(5, ShardIdSequence.nodeOf(id));
+            assertTrue(id > previous && id < JS_SAFE_LIMIT);
+            previous = id;
+        }
+        assertThrows(IllegalArgumentException.class, () -> ShardIdSequence.next(64));
+    }
+
+    @Test
+    void borrowsNextSecondsWhenSequenceOverflows() {
+        register(1, -1);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = ShardIdSequence.next(1);
+            assertTrue(id > previous);
+            assertTrue(ids.add(id));
+            previous = id;
+        }
+        assertTrue(ShardIdSequence.secondOf(previous) >= ShardIdSequence.secondOf(ids.iterator().next()));
+    }
+
+    @Test
+    void differentNodesNeverShareIds() {
+        register(2, -1);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(ShardIdSequence.next(0));
+        }
+        ShardIdSequence.reset();
+        register(3, -1);
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(ids.add(ShardIdSequence.next(0)));
+        }
+    }
+
+    @Test
+    void restartResumesAfterStoredHighWaterMark() {
+        register(4, -1);
+        long reserved = ShardIdSequence.reservationFrom(60);
+        ShardIdSequence.extendReservation(reserved);
+        long last = 0;
+        for (int i = 0; i < 9000; i++) { // 다음 초를 당겨 쓴 상태
+            last = ShardIdSequence.next(0);
+        }
+
+        // 새 프로세스: 디렉터리에 남은 예약 상한부터 이어감
+        ShardIdSequence.reset();
+        register(4, reserved);
+        long first = ShardIdSequence.next(0);
+        assertTrue(first > last);
+        assertEquals(reserved + 1, ShardIdSequence.secondOf(first));
+    }
+
+    @Test
+    void refusesIdsBeyondTheReservation() {
+        long highWater = ShardIdSequence.currentSecond() + 100;
+        ShardIdSequence.configureNode(0, highWater);
+        ShardIdSequence.extendReservation(highWater);
+
+        assertThrows(IllegalStateException.class, () -> ShardIdSequence.next(0));
+        assertThrows(IllegalStateException.class, () -> ShardIdSequence.next(0));
+
+        // 거절된 뒤에도 이전 실행의 초(highWater)로 돌아가지 않음
+        ShardIdSequence.extendReservation(highWater + 1);
+        assertEquals(highWater + 1, ShardIdSequence.secondOf(ShardIdSequence.next(0)));
+    }
+
+    @Test
+    void refusesIdsWithoutRegisteredNode() {
+        assertThrows(IllegalStateException.class, () -> ShardIdSequence.next(0));
+
+        register(0, -1);
+        ShardIdSequence.next(0);
+        ShardIdSequence.revoke();
+        assertThrows(IllegalStateException.class, () -> ShardIdSequence.next(0));
+        assertThrows(IllegalArgumentException.class, () -> ShardIdSequence.configureNode(16, -1));
+    }
+
+    @Test
+    void generatorUsesIdentityUnlessShardingIsEnabled() {
+        assertTrue(generator(null).generatedOnExecution());
+        assertTrue(generator("false").generatedOnExecution());
+        assertFalse(generator("true").generatedOnExecution());
+    }
+
+    private static ShardAwareIdGenerator generator(String shardingEnabled) {
+        Map<String, Object> settings = new HashMap<>();
+        if (shardingEnabled != null) {
+            settings.put(ShardAwareIdGenerator.SHARDING_ENABLED, shardingEnabled);
+        }
+        ServiceRegistry registry = mock(ServiceRegistry.class);
+        when(registry.requireService(ConfigurationService.class)).thenReturn(new ConfigurationServiceImpl(settings));
+        CustomIdGeneratorCreationContext context = mock(CustomIdGeneratorCreationContext.class);
+        when(context.getServiceRegistry()).thenReturn(registry);
+        return new ShardAwareIdGenerator(null, null, context);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobbuddy.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 샤드 DB 두 개(mock DataSource)를 ShardingConfig 와 같은 방식으로 묶어서 사용자별로 어느 DB 에 붙는지 확인
+class ShardRouterTest {
+
+    private final DataSource shard0 = mock(DataSource.class);
+    private final DataSource shard1 = mock(DataSource.class);
+    private final Connection connection0 = mock(Connection.class);
+    private final Connection connection1 = mock(Connection.class);
+
+    private ShardRouter router;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(shard0.getConnection()).thenReturn(connection0);
+        when(shard1.getConnection()).thenReturn(connection1);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeUpdate()).thenReturn(1);
+        when(connection0.prepareStatement(anyString())).thenReturn(statement);
+
+        router = new ShardRouter(2, 128, shard0);
+
+        ShardRoutingDataSource shardRouting = new ShardRoutingDataSource();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, shard0);
+        targets.put(1, shard1);
+        shardRouting.setTargetDataSources(targets);
+        shardRouting.setDefaultTargetDataSource(shard0);
+        shardRouting.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(shardRouting);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        routing = lazy;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShardContextHolder.clear();
+    }
+
+    // LazyConnectionDataSourceProxy 라 실제 커넥션은 첫 statement 에서 얻음
+    private void touch(long userId) throws SQLException {
+        ShardContextHolder.set(router.shardFor(userId));
+        try (Connection connection = routing.getConnection()) {
+            connection.createStatement();
+        }
+    }
+
+    private long firstUserOn(int shard) {
+        for (long userId = 1; ; userId++) {
+            if (router.shardFor(userId) == shard) {
+                return userId;
+            }
+        }
+    }
+
+    @Test
+    void connectsToTheOwnersShard() throws SQLException {
+        long onShard0 = firstUserOn(0);
+        long onShard1 = firstUserOn(1);
+
+        touch(onShard1);
+        verify(shard1).getConnection();
+        verify(shard0, never()).getConnection();
+
+        touch(onShard0);
+        verify(shard0).getConnection();
+        verify(shard1, times(1)).getConnection();
+    }
+
+    @Test
+    void withoutBoundUserUsesDirectoryShard() throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            connection.createStatement();
+        }
+        verify(shard0).getConnection();
+        verify(shard1, never()).getConnection();
+    }
+
+    @Test
+    void pinnedUserMovesToTheTargetShard() throws SQLException {
+        long userId = firstUserOn(0);
+
+        router.pin(userId, 1);
+        clearInvocations(shard0);
+
+        assertEquals(1, router.shardFor(userId));
+        touch(userId);
+        verify(shard1).getConnection();
+        verify(shard0, never()).getConnection();
+    }
+
+    @Test
+    void spreadsUsersEvenlyAndMovesFewWhenAShardIsAdded() {
+        ShardRouter three = new ShardRouter(3, 128, shard0);
+        int users = 20_000;
+        int onShard1 = 0;
+        int moved = 0;
+        for (long userId = 1; userId <= users; userId++) {
+            int before = router.shardFor(userId);
+            int after = three.shardFor(userId);
+            if (before == 1) {
+                onShard1++;
+            }
+            if (before != after) {
+                moved++;
+                // 새 샤드로만 옮겨 가고, 기존 샤드끼리는 섞이지 않음
+                assertEquals(2, after);
+            }
+        }
+        double share = (double) onShard1 / users;
+        double movedShare = (double) moved / users;
+        assertTrue(share > 0.4 && share < 0.6, "shard 1 share " + share);
+        assertTrue(movedShare > 0.2 && movedShare < 0.45, "moved share " + movedShare);
+    }
+}
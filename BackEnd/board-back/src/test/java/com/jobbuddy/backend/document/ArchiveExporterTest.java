@@ -0,0 +1,121 @@
+package com.jobbuddy.backend.document;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 렌더링 풀: 스레드 1개 + 대기열 1칸 → 내보내기는 풀 크기 이상 동시에 렌더링하지 않아야 함
+class ArchiveExporterTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DocumentRenderExecutor renderExecutor =
+            new DocumentRenderExecutor(meterRegistry, 1, 1, 2, Duration.ofSeconds(1));
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.stop();
+    }
+
+    private ArchiveExporter exporter(int window) {
+        RenderedDocumentCache cache = new RenderedDocumentCache(
+                meterRegistry, 1 << 20, 1 << 16, 1 << 20, dir.toString(), Duration.ofHours(1));
+        return new ArchiveExporter(cache, renderExecutor, meterRegistry, window);
+    }
+
+    private static ArchiveExporter.Entry entry(long id, DocumentWriter writer) {
+        return new ArchiveExporter.Entry("letter-" + id + ".txt", new DocumentKey(id, UPDATED_AT, null, "txt"), writer);
+    }
+
+    private static List<String> names(byte[] zip) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                names.add(e.getName());
+            }
+        }
+        return names;
+    }
+
+    @Test
+    void rendersOnSharedPoolWithoutExceedingItOrCountingRejections() throws IOException {
+        renderExecutor.start();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<ArchiveExporter.Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            long current = id;
+            entries.add(entry(id, out -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write(("letter " + current).getBytes(StandardCharsets.UTF_8));
+                running.decrementAndGet();
+            }));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter(4).export(entries.iterator(), out);
+
+        assertEquals(entries.stream().map(ArchiveExporter.Entry::name).toList(), names(out.toByteArray()));
+        assertEquals(1, maxRunning.get());
+        assertEquals(8, meterRegistry.get("document.export.entries").counter().count());
+        assertEquals(0, meterRegistry.get("document.render.rejected").counter().count());
+    }
+
+    @Test
+    void refusesToStartWhileRenderQueueIsFull() throws InterruptedException {
+        renderExecutor.start();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        renderExecutor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        renderExecutor.submit(() -> true); // 대기열 1칸을 채움
+
+        try {
+            RenderOverloadedException e = assertThrows(RenderOverloadedException.class, () -> exporter(2).ensureCapacity());
+            assertEquals(2, e.getRetryAfterSeconds());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void stopsWhenRenderPoolShutsDown() {
+        ArchiveExporter exporter = exporter(2);
+        // 시작하지 않은(또는 종료 중인) 풀 → 내보내기 전에도, 도중에도 RenderOverloadedException
+        assertThrows(RenderOverloadedException.class, exporter::ensureCapacity);
+        assertThrows(RenderOverloadedException.class, () -> exporter.export(
+                List.of(entry(1, out -> out.write('x'))).iterator(), new ByteArrayOutputStream()));
+    }
+}
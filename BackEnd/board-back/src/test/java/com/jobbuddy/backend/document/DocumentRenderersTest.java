@@ -0,0 +1,97 @@
+package com.jobbuddy.backend.document;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// pdf 는 렌더링 없이 형식 정보만 있는 stub
+class DocumentRenderersTest {
+
+    private static DocumentRenderer stub(String format, MediaType mediaType, String... aliases) {
+        return new DocumentRenderer() {
+            @Override
+            public String format() {
+                return format;
+            }
+
+            @Override
+            public List<String> aliases() {
+                return List.of(aliases);
+            }
+
+            @Override
+            public MediaType mediaType() {
+                return mediaType;
+            }
+
+            @Override
+            public String extension() {
+                return "." + format;
+            }
+
+            @Override
+            public void render(String templateId, DocumentContent content, OutputStream out) {
+            }
+        };
+    }
+
+    private final DocumentRenderers renderers = new DocumentRenderers(List.of(
+            stub("pdf", MediaType.APPLICATION_PDF),
+            new HtmlDocumentRenderer(),
+            new MarkdownDocumentRenderer(),
+            new TextDocumentRenderer()));
+
+    private String resolve(String format, String accept) {
+        return renderers.resolve(format, accept).format();
+    }
+
+    @Test
+    void formatParameterWinsAndMatchesAliasesCaseInsensitively() {
+        assertEquals("md", resolve("MarkDown", "application/pdf"));
+        assertEquals("txt", resolve("text", null));
+        assertEquals("pdf", resolve("PDF", null));
+        assertThrows(IllegalArgumentException.class, () -> resolve("rtf", "text/html"));
+    }
+
+    @Test
+    void acceptPicksHighestQualityThenHeaderOrder() {
+        assertEquals("html", resolve(null, "text/html"));
+        assertEquals("md", resolve(null, "text/html;q=0.5, text/markdown;q=0.9"));
+        assertEquals("txt", resolve(null, "text/plain, text/html"));
+        assertEquals("html", resolve(null, "text/html;q=0.8, text/plain;q=0.8"));
+        // 모르는 형식은 건너뜀
+        assertEquals("pdf", resolve(null, "application/rtf, application/pdf;q=0.1"));
+    }
+
+    @Test
+    void wildcardsAndQZeroDoNotChooseAFormat() {
+        assertEquals("pdf", resolve(null, "*/*, application/pdf;q=0.2"));
+        assertEquals("md", resolve(null, "text/*;q=1, text/markdown;q=0.3"));
+        assertEquals("txt", resolve(null, "text/html;q=0, text/plain;q=0.1"));
+
+        // 브라우저 기본 Accept 처럼 정할 수 없으면 ?format= 이 필요
+        assertThrows(IllegalArgumentException.class, () -> resolve(null, "*/*"));
+        assertThrows(IllegalArgumentException.class, () -> resolve(null, "text/*"));
+        assertThrows(IllegalArgumentException.class, () -> resolve(null, "application/pdf;q=0"));
+        assertThrows(IllegalArgumentException.class, () -> resolve(null, null));
+    }
+
+    @Test
+    void malformedAcceptIsRejected() {
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> resolve(null, "text/html;q=x"));
+        assertEquals("Invalid Accept header.", e.getMessage());
+    }
+
+    @Test
+    void duplicateFormatNamesFailAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new DocumentRenderers(List.of(
+                new TextDocumentRenderer(),
+                stub("plain", MediaType.TEXT_PLAIN, "TXT"))));
+    }
+}
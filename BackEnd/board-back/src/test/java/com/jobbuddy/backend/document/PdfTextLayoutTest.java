@@ -0,0 +1,98 @@
+package com.jobbuddy.backend.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 모든 글자 폭 1em, 10pt, 줄 폭 100pt → 한 줄에 10글자
+class PdfTextLayoutTest {
+
+    private static final PdfTextLayout.GlyphMetrics MONO = cp -> 1000f;
+
+    private static List<String> lines(String text) {
+        return lines(PdfTextLayout.layout(text, MONO, 10f, 100f, 1000));
+    }
+
+    private static List<String> lines(PdfTextLayout layout) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < layout.lineCount(); i++) {
+            result.add(layout.line(i));
+        }
+        return result;
+    }
+
+    @Test
+    void wrapsAtWordBoundaries() {
+        assertEquals(List.of("가나다 라마바", "사아자 차카타"), lines("가나다 라마바 사아자 차카타"));
+    }
+
+    @Test
+    void breaksInsideWordLongerThanLine() {
+        assertEquals(List.of("가나다라마바사아자차", "카타파하"), lines("가나다라마바사아자차카타파하"));
+    }
+
+    @Test
+    void keepsClosingPunctuationOffLineStart() {
+        assertEquals(List.of("가나다라마바사아자", "차."), lines("가나다라마바사아자차."));
+        assertEquals(List.of("지원했습니다", "(2024년)."), lines("지원했습니다 (2024년)."));
+    }
+
+    @Test
+    void keepsOpeningBracketOffLineEnd() {
+        assertEquals(List.of("가나다라마바사아자", "(차카"), lines("가나다라마바사아자(차카"));
+    }
+
+    @Test
+    void keepsParagraphsAndBlankLines() {
+        assertEquals(List.of("첫 문단", "", "둘째 문단"), lines("첫 문단\r\n\r\n둘째 문단"));
+    }
+
+    @Test
+    void treatsLoneCarriageReturnAsLineBreak() {
+        assertEquals(List.of("첫 줄", "둘째 줄", "", "셋째"), lines("첫 줄\r둘째 줄\r\r셋째"));
+        assertEquals(List.of("가", "나", "다"), lines("가\r\n나\r다"));
+    }
+
+    @Test
+    void dropsSpacesAtWrappedLineStart() {
+        assertEquals(List.of("가나다라마", "바사"), lines("가나다라마     바사"));
+    }
+
+    @Test
+    void flowsAcrossPages() {
+        PdfTextLayout layout = PdfTextLayout.layout("1\n2\n3\n4\n5", MONO, 10f, 100f, 2);
+
+        assertEquals(3, layout.pageCount());
+        assertEquals(4, layout.firstLineOfPage(2));
+        assertEquals(5, layout.endLineOfPage(2));
+    }
+
+    @Test
+    void lineWidthsNeverExceedLimitForLongLetter() {
+        StringBuilder letter = new StringBuilder();
+        for (int q = 1; q <= 5; q++) {
+            letter.append(q).append(". 지원 동기와 입사 후 포부를 작성해 주십시오.\n");
+            while (letter.length() < q * 1000) {
+                letter.append("저는 팀 프로젝트(백엔드)에서 API 응답 시간을 줄이는 작업을 맡았습니다. ");
+            }
+            letter.append('\n');
+        }
+        String text = letter.toString();
+
+        PdfTextLayout layout = PdfTextLayout.layout(text, MONO, 10f, 100f, 50);
+
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < layout.lineCount(); i++) {
+            String line = layout.line(i);
+            assertTrue(line.codePointCount(0, line.length()) <= 10, line);
+            assertFalse(line.startsWith(".") || line.startsWith(")"), line);
+            joined.append(line);
+        }
+        assertEquals(text.replaceAll("\\s", ""), joined.toString().replaceAll("\\s", ""));
+    }
+}
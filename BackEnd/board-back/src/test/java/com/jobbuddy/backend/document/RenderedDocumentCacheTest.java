@@ -0,0 +1,165 @@
+package com.jobbuddy.backend.document;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 메모리 tier 는 1000 바이트, 항목 하나는 최대 800 바이트
+class RenderedDocumentCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private RenderedDocumentCache cache() {
+        return new RenderedDocumentCache(meterRegistry, 1000, 800, 1 << 20, dir.toString(), Duration.ofHours(1));
+    }
+
+    private static DocumentKey key(long id) {
+        return new DocumentKey(id, UPDATED_AT, null, "pdf");
+    }
+
+    private static byte[] content(long id, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (id + i);
+        }
+        return bytes;
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static byte[] read(RenderedDocument document) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(out, 0, document.length());
+        return out.toByteArray();
+    }
+
+    @Test
+    void concurrentRequestsForOneKeyRenderOnce() throws Exception {
+        RenderedDocumentCache cache = cache();
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger renders = new AtomicInteger();
+        DocumentWriter slow = out -> {
+            renders.incrementAndGet();
+            rendering.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write(content(1, 500));
+        };
+
+        List<Future<RenderedDocument>> results = new ArrayList<>();
+        results.add(callers.submit(() -> cache.get(key(1), slow)));
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            results.add(callers.submit(() -> cache.get(key(1), slow)));
+        }
+        Thread.sleep(50); // 나머지 요청이 렌더링 중인 결과를 기다리게
+        release.countDown();
+
+        byte[] first = results.get(0).get(5, TimeUnit.SECONDS).bytes();
+        for (Future<RenderedDocument> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS).bytes());
+        }
+        assertEquals(1, renders.get());
+        assertEquals(1.0, count("document.cache.renders"));
+    }
+
+    @Test
+    void renderFailureIsNotCachedAndReachesWaiters() {
+        RenderedDocumentCache cache = cache();
+        assertThrows(IllegalStateException.class, () -> cache.get(key(1), out -> {
+            throw new IllegalStateException("font missing");
+        }));
+
+        RenderedDocument document = cache.get(key(1), out -> out.write(content(1, 100)));
+        assertEquals(100, document.length());
+        assertEquals(2.0, count("document.cache.renders"));
+    }
+
+    @Test
+    void entryEvictedFromMemoryIsServedFromDisk() throws Exception {
+        RenderedDocumentCache cache = cache();
+        cache.get(key(1), out -> out.write(content(1, 600)));
+        cache.get(key(2), out -> out.write(content(2, 600)));
+
+        // 크기 초과로 하나가 밀려나면 removal listener 가 디스크로 옮김 (비동기)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("document.cache.disk.spills") < 1) {
+            assertTrue(System.nanoTime() < deadline, "nothing was spilled");
+            Thread.sleep(10);
+        }
+
+        DocumentWriter mustNotRender = out -> {
+            throw new AssertionError("re-rendered a cached document");
+        };
+        RenderedDocument one = cache.get(key(1), mustNotRender);
+        RenderedDocument two = cache.get(key(2), mustNotRender);
+        assertArrayEquals(content(1, 600), read(one));
+        assertArrayEquals(content(2, 600), read(two));
+        assertTrue(one.inMemory() != two.inMemory(), "one tier each");
+        assertEquals(1.0, count("document.cache.disk.hits"));
+        assertEquals(2.0, count("document.cache.renders"));
+    }
+
+    @Test
+    void largeDocumentGoesStraightToDiskAndEvictDeletesIt() throws Exception {
+        RenderedDocumentCache cache = cache();
+        RenderedDocument big = cache.get(key(1), out -> out.write(content(1, 5_000)));
+
+        assertFalse(big.inMemory());
+        assertTrue(Files.exists(big.file()));
+        assertArrayEquals(content(1, 5_000), read(big));
+        RenderedDocument again = cache.get(key(1), out -> {
+            throw new AssertionError("re-rendered");
+        });
+        assertEquals(big.file(), again.file());
+        assertEquals(1.0, count("document.cache.disk.hits"));
+
+        cache.evict(1L);
+        assertFalse(cache.contains(key(1)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Files.exists(big.file())) {
+            assertTrue(System.nanoTime() < deadline, "spill file was not deleted");
+            Thread.sleep(10);
+        }
+    }
+}
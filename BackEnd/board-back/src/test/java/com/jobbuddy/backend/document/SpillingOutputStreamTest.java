@@ -0,0 +1,110 @@
+package com.jobbuddy.backend.document;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpillingOutputStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] data(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+
+    private long filesInDir() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void staysInMemoryUpToThresholdWithExactSizedArray() throws IOException {
+        byte[] data = data(20_000);
+        SpillingOutputStream out = new SpillingOutputStream(dir, data.length);
+        out.write(data, 0, 12_000);
+        out.write(data, 12_000, 8_000);
+        out.close();
+
+        assertFalse(out.spilled());
+        assertEquals(data.length, out.size());
+        assertEquals(data.length, out.bytes().length);
+        assertArrayEquals(data, out.bytes());
+        assertEquals(0, filesInDir());
+    }
+
+    @Test
+    void spillsToFileWhenThresholdIsCrossed() throws IOException {
+        byte[] data = data(50_000);
+        SpillingOutputStream out = new SpillingOutputStream(dir, 10_000);
+        out.write(data, 0, 10_000);
+        assertFalse(out.spilled());
+        out.write(data, 10_000, 1);
+        assertTrue(out.spilled());
+        out.write(data, 10_001, data.length - 10_001);
+        out.close();
+
+        assertEquals(data.length, out.size());
+        assertTrue(out.file().startsWith(dir));
+        assertArrayEquals(data, Files.readAllBytes(out.file()));
+    }
+
+    @Test
+    void singleByteWritesUseTheBufferUntilTheThreshold() throws IOException {
+        byte[] data = data(9_000);
+        SpillingOutputStream out = new SpillingOutputStream(dir, 8_999);
+        for (int i = 0; i < 8_999; i++) {
+            out.write(data[i]);
+        }
+        // 버퍼(8192)를 넘어 자라는 경로도 write(int) 로 확인
+        assertFalse(out.spilled());
+        assertArrayEquals(Arrays.copyOf(data, 8_999), out.bytes());
+
+        out.write(data[8_999]);
+        out.close();
+        assertTrue(out.spilled());
+        assertEquals(9_000, out.size());
+        assertArrayEquals(data, Files.readAllBytes(out.file()));
+    }
+
+    @Test
+    void neverSpillsWithoutDirectory() throws IOException {
+        byte[] data = data(30_000);
+        SpillingOutputStream out = new SpillingOutputStream(null, 1_000);
+        out.write(data, 0, data.length);
+        out.close();
+
+        assertFalse(out.spilled());
+        assertNull(out.file());
+        assertArrayEquals(data, out.bytes());
+    }
+
+    @Test
+    void discardRemovesTheTempFileAndRejectsFurtherWrites() throws IOException {
+        SpillingOutputStream out = new SpillingOutputStream(dir, 100);
+        out.write(data(500), 0, 500);
+        assertTrue(out.spilled());
+        assertEquals(1, filesInDir());
+
+        out.discard();
+        assertEquals(0, filesInDir());
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IOException.class, () -> out.write(new byte[4], 0, 4));
+    }
+}
@@ -0,0 +1,90 @@
+package com.jobbuddy.backend.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// HTML / Markdown 렌더러가 사용자 입력을 서식이나 태그로 해석되지 않게 쓰는지
+class TextDocumentEscapingTest {
+
+    private static String render(DocumentRenderer renderer, String templateId, DocumentContent content)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(templateId, content, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static DocumentContent content(String title, String question, String answer) {
+        return new DocumentContent(title, null, null, List.of(new DocumentContent.Section(question, answer)));
+    }
+
+    // ===== HTML =====
+
+    @Test
+    void htmlEscapesMarkupAmpersandsAndQuotes() throws IOException {
+        String html = render(new HtmlDocumentRenderer(), "t\"1",
+                content("<script>alert('x')</script>", "A & B?", "\"따옴표\" <b>굵게</b> & 'it'"));
+
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("<title>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;</title>"));
+        assertTrue(html.contains("<h2>A &amp; B?</h2>"));
+        assertTrue(html.contains("<p>&quot;따옴표&quot; &lt;b&gt;굵게&lt;/b&gt; &amp; &#39;it&#39;</p>"));
+        assertTrue(html.contains("data-template=\"t&quot;1\""));
+    }
+
+    @Test
+    void htmlTurnsBlankLinesIntoParagraphsAndLineBreaksIntoBr() throws IOException {
+        String html = render(new HtmlDocumentRenderer(), null,
+                content("제목", "", "첫 줄\r\n둘째 줄\n\n\n새 문단"));
+
+        assertTrue(html.contains("<p>첫 줄<br>\n둘째 줄</p>\n<p>새 문단</p>"));
+        assertFalse(html.contains("<h2>"));
+        assertFalse(html.contains("data-template"));
+    }
+
+    // ===== Markdown =====
+
+    @Test
+    void markdownEscapesBlockMarkersAtLineStart() throws IOException {
+        String md = render(new MarkdownDocumentRenderer(), null, content("제목", "문항",
+                "# 제목 아님\n> 인용 아님\n- 목록 아님\n+ 목록 아님\n  1. 번호 아님\n2) 역시\n=\n2024년 3월"));
+
+        assertTrue(md.contains("\\# 제목 아님\n"));
+        assertTrue(md.contains("\\> 인용 아님\n"));
+        assertTrue(md.contains("\\- 목록 아님\n"));
+        assertTrue(md.contains("\\+ 목록 아님\n"));
+        assertTrue(md.contains("  1\\. 번호 아님\n"));
+        assertTrue(md.contains("2\\) 역시\n"));
+        assertTrue(md.contains("\\=\n"));
+        // 줄 머리가 아닌 숫자는 그대로
+        assertTrue(md.contains("2024년 3월"));
+    }
+
+    @Test
+    void markdownEscapesInlineFormattingAndHtml() throws IOException {
+        String md = render(new MarkdownDocumentRenderer(), null, content("*강조* 제목", "[링크](x) `코드`",
+                "a_b * c <div> | ~~취소~~ \\ 끝"));
+
+        assertTrue(md.startsWith("# \\*강조\\* 제목\n\n"));
+        assertTrue(md.contains("## \\[링크\\](x) \\`코드\\`\n\n"));
+        assertTrue(md.contains("a\\_b \\* c \\<div\\> \\| \\~\\~취소\\~\\~ \\\\ 끝"));
+    }
+
+    @Test
+    void markdownKeepsHeadingsOnOneLine() throws IOException {
+        String md = render(new MarkdownDocumentRenderer(), null,
+                new DocumentContent("두 줄\n제목", "회사", "직무",
+                        List.of(new DocumentContent.Section("문항\n# 둘째 줄", "답"))));
+
+        assertTrue(md.startsWith("# 두 줄 제목\n\n회사 / 직무\n\n"));
+        assertTrue(md.contains("## 문항 # 둘째 줄\n\n답"));
+        assertEquals(2, md.lines().filter(line -> line.startsWith("#")).count());
+    }
+}
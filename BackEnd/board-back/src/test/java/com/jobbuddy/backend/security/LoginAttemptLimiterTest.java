@@ -0,0 +1,77 @@
+package com.jobbuddy.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 아이디별 실패 3번 / IP 별 실패 5번
+class LoginAttemptLimiterTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginAttemptLimiter(meterRegistry, 3, Duration.ofMinutes(5), 5, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void blocksUsernameAfterFailuresUntilSuccess() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("alice", IP);
+            limiter.recordFailure("alice", IP);
+        }
+        TooManyRequestsException blocked =
+                assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("alice", "10.0.0.2"));
+        assertEquals(300, blocked.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> limiter.checkAllowed("bob", "10.0.0.2"));
+
+        limiter.recordSuccess("alice");
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").counter().count());
+    }
+
+    @Test
+    void successfulLoginsFromOneIpAreNeverThrottled() {
+        // NAT 뒤 여러 사용자: 성공은 IP 한도에 들어가지 않음
+        for (int i = 0; i < 100; i++) {
+            String username = "user" + i;
+            limiter.checkAllowed(username, IP);
+            limiter.recordSuccess(username);
+        }
+        assertDoesNotThrow(() -> limiter.checkAllowed("last", IP));
+    }
+
+    @Test
+    void blocksIpAfterFailuresAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkAllowed("user" + i, IP);
+            limiter.recordFailure("user" + i, IP);
+        }
+        TooManyRequestsException blocked =
+                assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("fresh", IP));
+        assertEquals(60, blocked.getRetryAfterSeconds());
+
+        // 한 번 성공해도 IP 실패 수는 그대로
+        limiter.recordSuccess("user0");
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("fresh", IP));
+        assertDoesNotThrow(() -> limiter.checkAllowed("fresh", "10.0.0.2"));
+    }
+
+    @Test
+    void failuresWithoutIpOnlyCountPerUsername() {
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailure("user" + i);
+        }
+        assertDoesNotThrow(() -> limiter.checkAllowed("fresh", IP));
+    }
+}
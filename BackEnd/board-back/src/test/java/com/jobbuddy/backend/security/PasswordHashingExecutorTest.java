@@ -0,0 +1,146 @@
+package com.jobbuddy.backend.security;
+
+import com.jobbuddy.backend.controller.AuthController;
+import com.jobbuddy.backend.dto.AuthDto;
+import com.jobbuddy.backend.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 해싱은 latch 가 열릴 때까지 막히는 encoder 로 대신해서 풀 포화 / timeout 을 만든다
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHashingExecutor hasher;
+
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        hasher.shutdown();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("auth.password.rejected").counter().count();
+    }
+
+    @Test
+    void runsOnThePoolAndReturnsTheResult() {
+        hasher = new PasswordHashingExecutor(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+        release.countDown();
+
+        assertEquals("hashed:pw", hasher.encode("pw"));
+        assertTrue(hasher.matches("pw", "hashed:pw"));
+        assertEquals(0.0, rejected());
+    }
+
+    @Test
+    void rejectsWith429WhenWorkerAndQueueAreFull() throws Exception {
+        hasher = new PasswordHashingExecutor(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+        Future<String> running = callers.submit(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> hasher.encode("b"));
+        waitForQueue(1);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> hasher.encode("c"));
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1.0, rejected());
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timesOutWith429AndCancelsTheTask() throws Exception {
+        hasher = new PasswordHashingExecutor(blockingEncoder, meterRegistry, 1, 4, Duration.ofMillis(100));
+
+        assertThrows(TooManyRequestsException.class, () -> hasher.matches("pw", "hashed:pw"));
+        assertEquals(1.0, rejected());
+
+        // 취소(interrupt)된 작업이 워커를 놓아 주므로 다음 요청은 처리됨
+        release.countDown();
+        assertTrue(hasher.matches("pw", "hashed:pw"));
+    }
+
+    @Test
+    void saturatedPoolSurfacesAs429WithRetryAfterOnLogin() throws Exception {
+        hasher = new PasswordHashingExecutor(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+        callers.submit(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> hasher.encode("b"));
+        waitForQueue(1);
+
+        UserService userService = mock(UserService.class);
+        when(userService.login(anyString(), anyString(), any())).thenAnswer(inv -> {
+            hasher.matches(inv.getArgument(1), "hashed:x");
+            return null;
+        });
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "userService", userService);
+
+        AuthDto.LoginRequest request = new AuthDto.LoginRequest();
+        request.setUsername("alice");
+        request.setPassword("pw");
+        ResponseEntity<?> response = controller.login(request, new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    // 풀 대기열 크기는 지표(auth.password.queue.size)로만 보임
+    private void waitForQueue(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < size) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached " + size);
+            Thread.sleep(5);
+        }
+    }
+}
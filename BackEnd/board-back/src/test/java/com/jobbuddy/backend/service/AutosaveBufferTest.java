@@ -0,0 +1,174 @@
+package com.jobbuddy.backend.service;
+
+import com.jobbuddy.backend.dto.CoverLetterReqDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 주기 flush 는 quiet-period / max-delay 를 길게 잡아 끄고, flush 시점을 테스트에서 직접 정함
+class AutosaveBufferTest {
+
+    private static final Long ID = 10L;
+    private static final Long OWNER = 1L;
+    private static final Long OTHER = 2L;
+
+    private AutosaveBuffer buffer;
+    private final List<AutosaveBuffer.Pending> written = new ArrayList<>();
+    private Consumer<AutosaveBuffer.Pending> onWrite;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new AutosaveBuffer(new SimpleMeterRegistry(), true,
+                Duration.ofHours(1), Duration.ofHours(1), 1_000_000, Duration.ofHours(1));
+        onWrite = written::add;
+        buffer.setFlusher(p -> onWrite.accept(p));
+    }
+
+    private static CoverLetterReqDto.SaveRequest save(String title) {
+        CoverLetterReqDto.SaveRequest request = new CoverLetterReqDto.SaveRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    @Test
+    void coalescesRepeatedEditsIntoOneWrite() {
+        buffer.bufferContent(ID, OWNER, "a");
+        buffer.bufferContent(ID, OWNER, "ab");
+        buffer.bufferContent(ID, OWNER, "abc");
+
+        buffer.flush(ID);
+
+        assertEquals(1, written.size());
+        assertEquals("abc", written.get(0).getContent());
+    }
+
+    @Test
+    void contentAfterSaveKeepsBothButSaveReplacesEarlierContent() {
+        CoverLetterReqDto.SaveRequest first = save("t1");
+        buffer.bufferSave(ID, OWNER, first);
+        buffer.bufferContent(ID, OWNER, "body");
+        buffer.flush(ID);
+        assertSame(first, written.get(0).getSave());
+        assertEquals("body", written.get(0).getContent());
+
+        buffer.bufferContent(ID, OWNER, "old body");
+        CoverLetterReqDto.SaveRequest second = save("t2");
+        buffer.bufferSave(ID, OWNER, second);
+        buffer.flush(ID);
+        assertSame(second, written.get(1).getSave());
+        assertNull(written.get(1).getContent());
+    }
+
+    @Test
+    void flushBeforeReadWritesOnceAndIsNoOpWhenEmpty() {
+        buffer.flush(ID);
+        assertTrue(written.isEmpty());
+
+        buffer.bufferContent(ID, OWNER, "x");
+        assertTrue(buffer.isPendingFor(ID, OWNER));
+        assertFalse(buffer.isPendingFor(ID, OTHER));
+
+        buffer.flush(ID);
+        buffer.flush(ID);
+        assertEquals(1, written.size());
+        assertFalse(buffer.isPendingFor(ID, OWNER));
+    }
+
+    @Test
+    void failedWriteIsKeptUnderNewerEdits() {
+        CoverLetterReqDto.SaveRequest olderSave = save("older");
+        buffer.bufferSave(ID, OWNER, olderSave);
+        buffer.bufferContent(ID, OWNER, "older body");
+
+        // 반영하는 동안 새 본문이 들어오고, 반영은 실패
+        onWrite = p -> {
+            buffer.bufferContent(ID, OWNER, "newer body");
+            throw new IllegalStateException("db down");
+        };
+        assertThrows(IllegalStateException.class, () -> buffer.flush(ID));
+
+        // 새 본문은 유지, 새 항목에 없는 전체 저장은 실패한 이전 항목에서
+        onWrite = written::add;
+        buffer.flush(ID);
+        assertEquals(1, written.size());
+        assertSame(olderSave, written.get(0).getSave());
+        assertEquals("newer body", written.get(0).getContent());
+    }
+
+    @Test
+    void failedWriteIsDroppedWhenNewerSaveReplacesIt() {
+        buffer.bufferContent(ID, OWNER, "older body");
+        CoverLetterReqDto.SaveRequest newerSave = save("newer");
+        onWrite = p -> {
+            buffer.bufferSave(ID, OWNER, newerSave);
+            throw new IllegalStateException("db down");
+        };
+        assertThrows(IllegalStateException.class, () -> buffer.flush(ID));
+
+        onWrite = written::add;
+        buffer.flush(ID);
+        assertSame(newerSave, written.get(0).getSave());
+        assertNull(written.get(0).getContent());
+    }
+
+    @Test
+    void deletedCoverLetterIsNotRetried() {
+        buffer.bufferContent(ID, OWNER, "x");
+        onWrite = p -> {
+            throw new NoSuchElementException("gone");
+        };
+        assertThrows(NoSuchElementException.class, () -> buffer.flush(ID));
+        assertFalse(buffer.isPendingFor(ID, OWNER));
+    }
+
+    @Test
+    void discardOnlyRemovesTheOwnersEntry() {
+        buffer.bufferContent(ID, OWNER, "x");
+
+        buffer.discard(ID, OTHER);
+        assertTrue(buffer.isPendingFor(ID, OWNER));
+
+        buffer.discard(ID, OWNER);
+        assertFalse(buffer.isPendingFor(ID, OWNER));
+    }
+
+    @Test
+    void flushOwnerWritesOnlyThatUsersEntries() {
+        buffer.bufferContent(1L, OWNER, "a");
+        buffer.bufferContent(2L, OTHER, "b");
+
+        buffer.flushOwner(OWNER);
+
+        assertEquals(1, written.size());
+        assertEquals(1L, written.get(0).getCoverLetterId());
+        assertTrue(buffer.isPendingFor(2L, OTHER));
+    }
+
+    @Test
+    void stopFlushesEverythingAndStopsAccepting() {
+        buffer.start();
+        assertTrue(buffer.isAccepting());
+        buffer.bufferContent(1L, OWNER, "a");
+        buffer.bufferContent(2L, OTHER, "b");
+
+        buffer.stop();
+
+        assertFalse(buffer.isAccepting());
+        assertEquals(2, written.size());
+        assertFalse(buffer.isPendingFor(1L, OWNER));
+        assertFalse(buffer.isPendingFor(2L, OTHER));
+    }
+}
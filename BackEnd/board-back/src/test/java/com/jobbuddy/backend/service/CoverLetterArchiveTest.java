@@ -0,0 +1,116 @@
+package com.jobbuddy.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobbuddy.backend.ai.AiCoverLetterClient;
+import com.jobbuddy.backend.cache.CoverLetterPreviewCache;
+import com.jobbuddy.backend.document.DocumentPrerenderer;
+import com.jobbuddy.backend.document.DocumentRenderExecutor;
+import com.jobbuddy.backend.document.DocumentRenderers;
+import com.jobbuddy.backend.document.RenderedDocumentCache;
+import com.jobbuddy.backend.document.ThumbnailWorker;
+import com.jobbuddy.backend.dto.BulkOperationResponse;
+import com.jobbuddy.backend.model.CoverLetter;
+import com.jobbuddy.backend.repository.CoverLetterRepository;
+import com.jobbuddy.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 보관함 목록과 일괄 삭제가 저장소에 넘기는 값 확인 (저장소는 mock)
+class CoverLetterArchiveTest {
+
+    private static final Long USER = 1L;
+
+    private final CoverLetterRepository repository = mock(CoverLetterRepository.class);
+    private final AutosaveBuffer autosaveBuffer = mock(AutosaveBuffer.class);
+    private CoverLetterServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CoverLetterServiceImpl(repository, mock(UserRepository.class), mock(AiCoverLetterClient.class),
+                mock(CoverLetterPreviewCache.class), autosaveBuffer, mock(ResumeSnapshotStore.class),
+                mock(DocumentRenderers.class), mock(RenderedDocumentCache.class), mock(DocumentPrerenderer.class),
+                mock(DocumentRenderExecutor.class), mock(ThumbnailWorker.class), mock(PlatformTransactionManager.class),
+                new ObjectMapper(), Duration.ofDays(7), true);
+        Page<CoverLetter> empty = new PageImpl<>(List.of());
+        when(repository.findByOwnerIdAndArchivedTrue(any(), any(Pageable.class))).thenReturn(empty);
+    }
+
+    @Test
+    void archiveListIsNewestFirstByDefault() {
+        service.getArchivedCoverLetters(USER, null, null, null, 0, 20);
+        verify(repository).findByOwnerIdAndArchivedTrue(
+                USER, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "updatedAt")));
+    }
+
+    @Test
+    void archiveListFlushesOwnersAutosavesBeforeQuerying() {
+        service.getArchivedCoverLetters(USER, null, null, null, 0, 20);
+
+        InOrder order = inOrder(autosaveBuffer, repository);
+        order.verify(autosaveBuffer).flushOwner(USER);
+        order.verify(repository).findByOwnerIdAndArchivedTrue(eq(USER), any(Pageable.class));
+    }
+
+    @Test
+    void archiveWithStaleVersionIsConflictNotNotFound() {
+        when(repository.archive(eq(10L), eq(USER), eq(3L), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.existsByIdAndOwnerId(10L, USER)).thenReturn(true);
+        when(repository.existsByIdAndOwnerId(11L, USER)).thenReturn(false);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.archiveCoverLetter(10L, USER, 3L));
+        assertThrows(NoSuchElementException.class, () -> service.archiveCoverLetter(11L, USER, 3L));
+    }
+
+    @Test
+    void archiveWithMatchingVersionReturnsNextVersion() {
+        when(repository.archive(eq(10L), eq(USER), eq(3L), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(4L, service.archiveCoverLetter(10L, USER, 3L));
+    }
+
+    @Test
+    void bulkDeleteStampsUpdatedAtAndReportsEachId() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 600).boxed().toList());
+        ids.add(5L); // 중복은 한 번만
+        when(repository.findOwnedIds(eq(USER), anyCollection())).thenAnswer(inv -> {
+            Collection<Long> chunk = inv.getArgument(1);
+            return chunk.stream().filter(id -> id % 100 != 0).toList(); // 100 의 배수는 남의 것
+        });
+
+        BulkOperationResponse response = service.deleteCoverLetters(USER, ids);
+
+        assertEquals(600, response.getResults().size());
+        assertEquals(594, response.getSucceeded());
+        assertEquals(6, response.getFailed());
+        assertEquals(BulkOperationResponse.NOT_FOUND, response.getResults().get(99).getResult());
+        // 500 개씩 두 번, 같은 시각으로
+        verify(repository, times(2)).softDeleteOwned(eq(USER), anyCollection(), any(LocalDateTime.class));
+    }
+}
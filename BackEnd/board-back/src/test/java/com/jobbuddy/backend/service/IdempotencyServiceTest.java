@@ -0,0 +1,208 @@
+package com.jobbuddy.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.model.IdempotencyRecord;
+import com.jobbuddy.backend.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 저장소는 unique 제약만 흉내 낸 메모리 Map (DB 에는 저장 시점의 복사본이 남음), 트랜잭션은 mock
+class IdempotencyServiceTest {
+
+    private static final Long USER = 1L;
+    private static final String SCOPE = "create";
+
+    private final Map<String, IdempotencyRecord> rows = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByUserIdAndScopeAndIdempotencyKey(any(), anyString(), anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(rows.get(rowKey(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)))));
+        when(repository.saveAndFlush(any())).thenAnswer(inv -> {
+            IdempotencyRecord record = inv.getArgument(0);
+            String key = rowKey(record);
+            if (rows.containsKey(key)) {
+                throw new DataIntegrityViolationException("uk_idempotency_user_scope_key");
+            }
+            ReflectionTestUtils.setField(record, "id", ids.incrementAndGet());
+            rows.put(key, copy(record));
+            return record;
+        });
+        when(repository.save(any())).thenAnswer(inv -> {
+            IdempotencyRecord record = inv.getArgument(0);
+            rows.put(rowKey(record), copy(record));
+            return record;
+        });
+        doAnswer(inv -> rows.remove(rowKey(inv.getArgument(0)))).when(repository).delete(any());
+        doAnswer(inv -> rows.values().removeIf(r -> r.getId().equals(inv.getArgument(0))))
+                .when(repository).deleteById(anyLong());
+
+        service = newService();
+    }
+
+    // 캐시가 비어 있는 다른 인스턴스 (같은 DB)
+    private IdempotencyService newService() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        return new IdempotencyService(repository, objectMapper, mock(ShardBinding.class), transactionManager,
+                new SimpleMeterRegistry(), Duration.ofHours(24), Duration.ofMinutes(5), 1000);
+    }
+
+    private static String rowKey(Long userId, String scope, String key) {
+        return userId + ":" + scope + ":" + key;
+    }
+
+    private static String rowKey(IdempotencyRecord record) {
+        return rowKey(record.getUserId(), record.getScope(), record.getIdempotencyKey());
+    }
+
+    private static IdempotencyRecord copy(IdempotencyRecord source) {
+        IdempotencyRecord copy = new IdempotencyRecord(source.getUserId(), source.getScope(),
+                source.getIdempotencyKey(), source.getRequestHash(), source.getExpiresAt());
+        ReflectionTestUtils.setField(copy, "id", source.getId());
+        ReflectionTestUtils.setField(copy, "createdAt", source.getCreatedAt());
+        if (source.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+            copy.complete(source.getResponseStatus(), source.getResponseBody());
+        }
+        return copy;
+    }
+
+    private ResponseEntity<?> create(IdempotencyService target, String key, Map<String, Object> body, AtomicInteger calls) {
+        return target.execute(USER, SCOPE, key, body, () -> {
+            int n = calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", n));
+        });
+    }
+
+    @Test
+    void firstRequestRunsOnceAndRetryReplaysStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> body = Map.of("title", "a", "tone", "formal");
+
+        ResponseEntity<?> first = create(service, "k1", body, calls);
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(IdempotencyRecord.Status.COMPLETED, rows.get(rowKey(USER, SCOPE, "k1")).getStatus());
+
+        // 필드 순서가 달라도 같은 요청, 캐시에서 재전송
+        ResponseEntity<?> replay = create(service, "k1", Map.of("tone", "formal", "title", "a"), calls);
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(1, ((JsonNode) replay.getBody()).get("id").asInt());
+
+        // 캐시가 없는 인스턴스는 DB 에서 재전송
+        ResponseEntity<?> fromDb = create(newService(), "k1", body, calls);
+        assertEquals(1, calls.get());
+        assertEquals("true", fromDb.getHeaders().getFirst("Idempotent-Replayed"));
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIs422() {
+        AtomicInteger calls = new AtomicInteger();
+        create(service, "k1", Map.of("title", "a"), calls);
+
+        ResponseEntity<?> mismatch = create(service, "k1", Map.of("title", "b"), calls);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatch.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void retryWhileFirstRequestRunsIs409() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> body = Map.of("title", "a");
+        ResponseEntity<?>[] inner = new ResponseEntity<?>[1];
+
+        ResponseEntity<?> outer = service.execute(USER, SCOPE, "k1", body, () -> {
+            inner[0] = create(service, "k1", body, calls);
+            return ResponseEntity.ok(Map.of("id", 1));
+        });
+
+        assertEquals(HttpStatus.OK, outer.getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, inner[0].getStatusCode());
+        assertEquals("1", inner[0].getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void failedActionReleasesKey() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> body = Map.of("title", "a");
+
+        assertThrows(IllegalStateException.class, () -> service.execute(USER, SCOPE, "k1", body, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertNull(rows.get(rowKey(USER, SCOPE, "k1")));
+
+        assertEquals(HttpStatus.CREATED, create(service, "k1", body, calls).getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void expiredRecordIsTreatedAsAbsent() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> body = Map.of("title", "a");
+        create(service, "k1", body, calls);
+
+        // 정리 배치가 아직 지우지 못한 만료 기록 - 다른 본문으로 와도 422 가 아니라 새로 실행
+        ReflectionTestUtils.setField(rows.get(rowKey(USER, SCOPE, "k1")), "expiresAt", LocalDateTime.now().minusSeconds(1));
+        ResponseEntity<?> again = create(newService(), "k1", Map.of("title", "b"), calls);
+
+        assertEquals(HttpStatus.CREATED, again.getStatusCode());
+        assertNull(again.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(2, calls.get());
+        assertTrue(rows.get(rowKey(USER, SCOPE, "k1")).getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void storeFailureAfterSuccessKeepsKey() {
+        doThrow(new QueryTimeoutException("timeout")).when(repository).save(any());
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> body = Map.of("title", "a");
+
+        assertEquals(HttpStatus.CREATED, create(service, "k1", body, calls).getStatusCode());
+        verify(repository, never()).deleteById(anyLong());
+
+        // 같은 인스턴스는 캐시에서 재전송, 다른 인스턴스는 처리 중(409) - 어느 쪽도 다시 실행하지 않음
+        assertEquals("true", create(service, "k1", body, calls).getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(HttpStatus.CONFLICT, create(newService(), "k1", body, calls).getStatusCode());
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobbuddy.backend.service;
+
+import com.jobbuddy.backend.cache.CacheInvalidationBus;
+import com.jobbuddy.backend.datasource.ShardBinding;
+import com.jobbuddy.backend.repository.CacheInvalidationRepository;
+import com.jobbuddy.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 버스는 단일 서버 모드(cluster 꺼짐)라 registered() 가 바로 이 노드 필터에 추가됨
+class UsernameIndexTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UsernameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        CacheInvalidationBus bus = new CacheInvalidationBus(mock(CacheInvalidationRepository.class),
+                mock(ShardBinding.class), transactionManager, false, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        index = new UsernameIndex(userRepository, bus, transactionManager, new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    void answersMaybeUntilBuiltThenOnlyForKnownNames() {
+        assertTrue(index.mightExist("alice"));
+
+        when(userRepository.streamAllUsernames()).thenAnswer(inv -> Stream.of("alice", "bob"));
+        index.buildOnStartup();
+
+        assertTrue(index.mightExist("alice"));
+        assertFalse(index.mightExist("carol"));
+    }
+
+    @Test
+    void signupIsAddedThroughTheBus() {
+        when(userRepository.streamAllUsernames()).thenAnswer(inv -> Stream.of("alice"));
+        index.buildOnStartup();
+
+        index.registered("carol");
+        assertTrue(index.mightExist("carol"));
+    }
+
+    @Test
+    void signupDuringRebuildSurvivesThePublish() {
+        when(userRepository.streamAllUsernames()).thenAnswer(inv -> Stream.of("alice"));
+        index.buildOnStartup();
+
+        // 스트림이 이미 지나간 뒤 커밋된 가입 (새 필터 스냅샷에는 없음)
+        when(userRepository.streamAllUsernames()).thenAnswer(inv -> Stream.of("alice")
+                .onClose(() -> index.registered("dave")));
+        index.rebuild();
+
+        assertTrue(index.mightExist("dave"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobbuddy.backend.tiering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobbuddy.backend.model.CoverLetter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColdSectionsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Map<String, Object> sections() {
+        Map<String, Object> sections = new LinkedHashMap<>();
+        sections.put("profile", Map.of("name", "홍길동", "email", "hong@example.com"));
+        sections.put("projects", List.of(
+                Map.of("title", "주문 서버", "role", "백엔드", "description", "응답 시간을 40% 줄였습니다."),
+                Map.of("title", "사내 위키", "role", "풀스택", "description", "검색 기능을 만들었습니다.")));
+        sections.put("skills", List.of("Java", "Spring", "MySQL"));
+        sections.put("generatedCoverLetter",
+                "지원하게 된 동기는 협업 과정에서 문제를 해결하기 위해 프로젝트를 진행하며 성장할 수 있었습니다.\n\"따옴표\" 와 \\ 도 그대로");
+        return sections;
+    }
+
+    @Test
+    void roundTripsSectionsJson() throws Exception {
+        String json = objectMapper.writeValueAsString(sections());
+
+        byte[] cold = ColdSections.compress(json);
+
+        assertEquals(json, ColdSections.decompressToJson(cold));
+        assertEquals(sections(), ColdSections.decompress(cold));
+        assertTrue(cold.length < json.getBytes(StandardCharsets.UTF_8).length,
+                cold.length + " >= " + json.length());
+    }
+
+    @Test
+    void roundTripsEmptyObject() {
+        assertEquals(Map.of(), ColdSections.decompress(ColdSections.compress("{}")));
+    }
+
+    @Test
+    void rejectsUnknownDictionaryAndCorruptPayloads() {
+        byte[] cold = ColdSections.compress("{\"skills\":[\"Java\"]}");
+
+        byte[] otherDictionary = cold.clone();
+        otherDictionary[1] = 9;
+        assertThrows(IllegalStateException.class, () -> ColdSections.decompress(otherDictionary));
+        assertThrows(IllegalStateException.class,
+                () -> ColdSections.decompress("{\"skills\":[]}".getBytes(StandardCharsets.UTF_8)));
+
+        byte[] truncated = Arrays.copyOf(cold, cold.length - 3);
+        assertThrows(IllegalArgumentException.class, () -> ColdSections.decompress(truncated));
+    }
+
+    @Test
+    void coverLetterThawsOnceAndGoesHotOnWrite() throws Exception {
+        CoverLetter coverLetter = new CoverLetter();
+        ReflectionTestUtils.setField(coverLetter, "sectionsCold",
+                ColdSections.compress(objectMapper.writeValueAsString(sections())));
+        assertTrue(coverLetter.isCold());
+
+        Map<String, Object> thawed = coverLetter.getSections();
+        assertEquals(sections(), thawed);
+        assertSame(thawed, coverLetter.getSections());
+
+        Map<String, Object> edited = new LinkedHashMap<>(thawed);
+        edited.put("skills", List.of("Kotlin"));
+        coverLetter.setSections(edited);
+        assertFalse(coverLetter.isCold());
+        assertNull(ReflectionTestUtils.getField(coverLetter, "sectionsCold"));
+        assertEquals(edited, coverLetter.getSections());
+    }
+}
@@ -0,0 +1,68 @@
+package com.jobbuddy.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void sizesBitsAndHashesForExpectedInsertionsAndFpp() {
+        // m = -n ln p / (ln 2)^2 ≈ 9.59 bit/원소, k = m/n ln 2 ≈ 7 (p = 1%)
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+        assertTrue(filter.bitSize() >= 9_585_059 && filter.bitSize() < 9_585_059 + 64, "bits " + filter.bitSize());
+        assertEquals(0, filter.bitSize() % 64);
+        assertEquals(7, filter.hashCount());
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+
+        BloomFilter strict = new BloomFilter(1_000_000, 0.001);
+        assertEquals(10, strict.hashCount());
+        assertTrue(strict.bitSize() > filter.bitSize() * 1.4);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    @Test
+    void neverMissesInsertedValuesAndKeepsFalsePositivesNearFpp() {
+        int n = 100_000;
+        BloomFilter filter = new BloomFilter(n, 0.01);
+        for (int i = 0; i < n; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < n; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate > 0.005 && rate < 0.015, "false-positive rate " + rate);
+        assertTrue(Math.abs(filter.expectedFpp() - 0.01) < 0.002, "expected fpp " + filter.expectedFpp());
+        assertTrue(Math.abs(filter.approximateElementCount() - n) < n * 0.02,
+                "approximate count " + filter.approximateElementCount());
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        assertFalse(filter.mightContain("alice"));
+        assertEquals(0.0, filter.expectedFpp());
+        filter.put("alice");
+        filter.put("alice");
+        assertTrue(filter.mightContain("alice"));
+        assertEquals(1, filter.approximateElementCount());
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobbuddy.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// RFC 7396 Appendix A 예제
+class JsonMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{\"a\":\"b\"}               | {\"a\":\"c\"}             | {\"a\":\"c\"}",
+            "{\"a\":\"b\"}               | {\"b\":\"c\"}             | {\"a\":\"b\",\"b\":\"c\"}",
+            "{\"a\":\"b\"}               | {\"a\":null}              | {}",
+            "{\"a\":\"b\",\"b\":\"c\"}   | {\"a\":null}              | {\"b\":\"c\"}",
+            "{\"a\":[\"b\"]}             | {\"a\":\"c\"}             | {\"a\":\"c\"}",
+            "{\"a\":\"c\"}               | {\"a\":[\"b\"]}           | {\"a\":[\"b\"]}",
+            "{\"a\":{\"b\":\"c\"}}       | {\"a\":{\"b\":\"d\",\"c\":null}} | {\"a\":{\"b\":\"d\"}}",
+            "{\"a\":[{\"b\":\"c\"}]}     | {\"a\":[1]}               | {\"a\":[1]}",
+            "[\"a\",\"b\"]               | [\"c\",\"d\"]             | [\"c\",\"d\"]",
+            "{\"a\":\"b\"}               | [\"c\"]                   | [\"c\"]",
+            "{\"a\":\"foo\"}             | null                      | null",
+            "{\"a\":\"foo\"}             | \"bar\"                   | \"bar\"",
+            "{\"e\":null}                | {\"a\":1}                 | {\"e\":null,\"a\":1}",
+            "[1,2]                       | {\"a\":\"b\",\"c\":null}  | {\"a\":\"b\"}",
+            "{}                          | {\"a\":{\"bb\":{\"ccc\":null}}} | {\"a\":{\"bb\":{}}}"
+    })
+    void appliesRfc7396Examples(String target, String patch, String expected) throws Exception {
+        JsonNode result = JsonMergePatch.apply(objectMapper.readTree(target), objectMapper.readTree(patch));
+
+        assertEquals(objectMapper.readTree(expected), result);
+    }
+}